@@ -0,0 +1,96 @@
+package com.proyecto.EscrituraRapida.bench;
+
+import com.proyecto.EscrituraRapida.model.corpus.WordCorpus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+// Corpus fijos para los benchmarks.
+// Las listas salen de sílabas en español con una semilla fija, así que cada ejecución y cada
+// versión escriben las mismas entradas sin tener que distribuir listas grandes. Más o menos
+// una entrada de cada cinco lleva tilde o ñ, y una de cada diez es una frase de dos a seis
+// palabras: todos los cubos del índice y todas las consultas de nivel tienen entradas.
+final class BenchmarkCorpora {
+
+    // Tamaño del corpus de los benchmarks por palabra
+    static final int SMALL = 10_000;
+
+    private static final long SEED = 48;
+    private static final String[] ONSETS = {
+            "", "b", "c", "d", "f", "g", "l", "m", "n", "p", "r", "s", "t", "v", "ch", "ll", "br", "tr", "pl", "ñ"
+    };
+    private static final String[] VOWELS = {"a", "e", "i", "o", "u"};
+    private static final String[] ACCENTED = {"á", "é", "í", "ó", "ú"};
+    private static final String[] CODAS = {"", "", "", "n", "s", "r", "l"};
+
+    private BenchmarkCorpora() {
+    }
+
+    // Escribe la lista en un directorio temporal nuevo; el índice se crea a su lado al abrirla
+    static Path write(int entries) {
+        try {
+            Path dir = Files.createTempDirectory("escritura-jmh-");
+            Path list = dir.resolve("corpus-" + entries + ".txt");
+            SplittableRandom random = new SplittableRandom(SEED);
+            try (BufferedWriter out = Files.newBufferedWriter(list, StandardCharsets.UTF_8)) {
+                for (int i = 0; i < entries; i++) {
+                    out.write(entry(random));
+                    out.newLine();
+                }
+            }
+            return list;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static WordCorpus open(Path list) {
+        try {
+            return WordCorpus.open(List.of(list));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Borra el directorio de una lista escrita por write
+    static void delete(Path list) {
+        try (Stream<Path> files = Files.walk(list.getParent())) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String entry(SplittableRandom random) {
+        if (random.nextInt(10) > 0) return word(random);
+        StringBuilder phrase = new StringBuilder(word(random));
+        int words = 2 + random.nextInt(5);
+        for (int w = 1; w < words; w++) phrase.append(' ').append(word(random));
+        return phrase.toString();
+    }
+
+    private static String word(SplittableRandom random) {
+        StringBuilder word = new StringBuilder();
+        int syllables = 1 + random.nextInt(4);
+        int accent = random.nextInt(5) == 0 ? random.nextInt(syllables) : -1;
+        for (int s = 0; s < syllables; s++) {
+            word.append(ONSETS[random.nextInt(ONSETS.length)]);
+            int vowel = random.nextInt(VOWELS.length);
+            word.append(s == accent ? ACCENTED[vowel] : VOWELS[vowel]);
+            word.append(CODAS[random.nextInt(CODAS.length)]);
+        }
+        // Algunos nombres propios, para los modos que ignoran mayúsculas
+        if (random.nextInt(20) == 0) word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+}
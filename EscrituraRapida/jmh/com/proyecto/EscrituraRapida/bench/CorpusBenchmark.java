@@ -0,0 +1,139 @@
+package com.proyecto.EscrituraRapida.bench;
+
+import com.proyecto.EscrituraRapida.model.corpus.BigramIndex;
+import com.proyecto.EscrituraRapida.model.corpus.CorpusQuery;
+import com.proyecto.EscrituraRapida.model.corpus.WordCorpus;
+import com.proyecto.EscrituraRapida.model.folding.MatchMode;
+import com.proyecto.EscrituraRapida.race.RaceSequence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Carga y lectura de los corpus fijos: compilar las listas en el índice, abrir (mapear) un
+// índice existente, sortear por consulta de nivel, decodificar y plegar entradas, armar las
+// palabras de una carrera y construir y consultar el índice de bigramas.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CorpusBenchmark {
+
+    @Param({"10000", "500000"})
+    public int entradas;
+
+    private Path lista;
+    private Path indice;
+    private WordCorpus corpus;
+    private BigramIndex bigramas;
+    private int[] claves;
+    private final Random random = new Random(48);
+    private int siguiente;
+    private int nivel;
+
+    @Setup(Level.Trial)
+    public void abrir() throws IOException {
+        lista = BenchmarkCorpora.write(entradas);
+        indice = lista.resolveSibling(lista.getFileName() + ".idx");
+        corpus = WordCorpus.open(List.of(lista), indice);
+        bigramas = BigramIndex.build(corpus.size(), corpus::get);
+        // Bigramas frecuentes y raros de los corpus fijos
+        claves = new int[] {
+                BigramIndex.key('d', 'e'), BigramIndex.key('r', 'a'), BigramIndex.key('ñ', 'o'),
+                BigramIndex.key('t', 'r'), BigramIndex.key('l', 'l'), BigramIndex.key('ó', 'n')
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws IOException {
+        corpus.close();
+        BenchmarkCorpora.delete(lista);
+    }
+
+    // Compila las listas en un índice nuevo y lo mapea (el primer arranque con un corpus)
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public int construirIndice() throws IOException {
+        Path nuevo = Files.createTempFile(lista.getParent(), "build-", ".idx");
+        Files.delete(nuevo);
+        try (WordCorpus construido = WordCorpus.open(List.of(lista), nuevo)) {
+            return construido.size();
+        } finally {
+            Files.deleteIfExists(nuevo);
+        }
+    }
+
+    // Mapea un índice al día (los arranques siguientes)
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int abrirIndice() throws IOException {
+        try (WordCorpus abierto = WordCorpus.open(List.of(lista), indice)) {
+            return abierto.size();
+        }
+    }
+
+    // Una entrada al azar de un nivel, rotando entre las cuatro consultas
+    @Benchmark
+    public String muestrear() {
+        nivel = (nivel + 5) % 20;
+        return corpus.sample(CorpusQuery.forLevel(nivel + 1), random);
+    }
+
+    @Benchmark
+    public String leerEntrada() {
+        siguiente = (siguiente + 7919) % entradas;
+        return corpus.get(siguiente);
+    }
+
+    // Forma plegada de una entrada, de la FoldCache ya caliente
+    @Benchmark
+    public String leerPlegada() {
+        siguiente = (siguiente + 7919) % entradas;
+        return corpus.getFolded(siguiente, MatchMode.FOLD_ALL);
+    }
+
+    // Las palabras de una carrera, que cada jugador arma con la semilla de la sala
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int[] secuenciaCarrera() {
+        return RaceSequence.ids(corpus, random.nextLong(), 30);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public BigramIndex construirIndiceBigramas() {
+        return BigramIndex.build(corpus.size(), corpus::get);
+    }
+
+    // Una entrada del nivel con un bigrama dado, como pide la elección dirigida de palabras
+    @Benchmark
+    public int elegirPorBigrama() {
+        nivel = (nivel + 5) % 20;
+        siguiente = (siguiente + 1) % claves.length;
+        return bigramas.pick(claves[siguiente], corpus.entryRanges(CorpusQuery.forLevel(nivel + 1)), random);
+    }
+}
@@ -0,0 +1,130 @@
+package com.proyecto.EscrituraRapida.bench;
+
+import com.proyecto.EscrituraRapida.model.TypingMatcher;
+import com.proyecto.EscrituraRapida.model.folding.MatchMode;
+import com.proyecto.EscrituraRapida.model.words;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Compara validar con Normalizer (como hacía LogicGame.validar) contra las tablas de
+// plegado de MatchMode.
+// Las entradas son las palabras internas escritas tal cual, en mayúsculas, sin tildes y con
+// una errata, en un orden fijo; cada operación valida la siguiente. Con -prof gc se ven los
+// bytes reservados por validación.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FoldingBenchmark {
+
+    @Param({"EXACT", "CASE_FOLD", "ACCENT_FOLD", "FOLD_ALL"})
+    public MatchMode mode;
+
+    private String[] targets;
+    private String[] typed;
+    private int[] ids;
+    private int next;
+
+    private final TypingMatcher matcher = new TypingMatcher();
+    private final StringBuilder buffer = new StringBuilder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] lista = words.getLista();
+        int n = lista.length * 4;
+        targets = new String[n];
+        typed = new String[n];
+        ids = new int[n];
+        Random random = new Random(46);
+        for (int i = 0; i < lista.length; i++) {
+            String word = lista[i];
+            for (int k = 0; k < 4; k++) {
+                targets[i * 4 + k] = word;
+                ids[i * 4 + k] = i;
+            }
+            typed[i * 4] = word;
+            typed[i * 4 + 1] = word.toUpperCase(Locale.ROOT);
+            typed[i * 4 + 2] = stripAccents(word);
+            char[] typo = word.toCharArray();
+            typo[random.nextInt(typo.length)] = 'x';
+            typed[i * 4 + 3] = new String(typo);
+        }
+        matcher.setMode(mode);
+    }
+
+    private int nextCase() {
+        int i = next;
+        next = (i + 1) % targets.length;
+        return i;
+    }
+
+    // La comparación exacta de antes: los dos textos normalizados en cada validación
+    @Benchmark
+    public boolean normalizerExact() {
+        int i = nextCase();
+        String e = Normalizer.normalize(typed[i].trim(), Normalizer.Form.NFKC);
+        String o = Normalizer.normalize(targets[i].trim(), Normalizer.Form.NFKC);
+        return e.equals(o);
+    }
+
+    // Sin distinguir mayúsculas ni tildes, solo con Normalizer
+    @Benchmark
+    public boolean normalizerFold() {
+        int i = nextCase();
+        return foldWithNormalizer(typed[i]).equals(foldWithNormalizer(targets[i]));
+    }
+
+    // Lo que hace validar: el matcher compara lo escrito con el objetivo ya plegado
+    @Benchmark
+    public boolean matcher() {
+        int i = nextCase();
+        matcher.resetFolded(words.getPlegada(ids[i], mode));
+        matcher.update(typed[i]);
+        return matcher.isComplete();
+    }
+
+    // Lo que recibe el puntaje parcial cuando no coincide
+    @Benchmark
+    public int foldToBuffer() {
+        int i = nextCase();
+        CharSequence e = mode.fold(typed[i], buffer) ? buffer : mode.normalizeAndFold(typed[i]);
+        return e.length();
+    }
+
+    private static String foldWithNormalizer(String text) {
+        String nfd = Normalizer.normalize(text.trim(), Normalizer.Form.NFKD);
+        StringBuilder out = new StringBuilder(nfd.length());
+        for (int i = 0; i < nfd.length(); i++) {
+            char c = nfd.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) out.append(c);
+        }
+        return Normalizer.normalize(out, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    private static String stripAccents(String word) {
+        String nfd = Normalizer.normalize(word, Normalizer.Form.NFD);
+        StringBuilder out = new StringBuilder(nfd.length());
+        for (int i = 0; i < nfd.length(); i++) {
+            char c = nfd.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) out.append(c);
+        }
+        return out.toString();
+    }
+}
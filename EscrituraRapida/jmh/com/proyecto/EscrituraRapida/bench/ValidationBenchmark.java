@@ -0,0 +1,140 @@
+package com.proyecto.EscrituraRapida.bench;
+
+import com.proyecto.EscrituraRapida.model.LogicGame;
+import com.proyecto.EscrituraRapida.model.TimeControl;
+import com.proyecto.EscrituraRapida.model.corpus.WordCorpus;
+import com.proyecto.EscrituraRapida.model.folding.MatchMode;
+import com.proyecto.EscrituraRapida.model.scoring.ScoringPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Los caminos por palabra y por pulsación de LogicGame, sobre el corpus fijo de
+// BenchmarkCorpora.SMALL entradas.
+// La partida juega una secuencia fija de entradas (LogicGame.setSecuencia), así que cada
+// ejecución ve las mismas palabras. validar incluye nuevaPalabra, que una partida real
+// también hace una vez por palabra; WordSelectionBenchmark la mide sola. Lo escrito es la
+// entrada tal cual, en mayúsculas, con un carácter mal o cortada a la mitad (lo que se
+// valida cuando se acaba el tiempo).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final int WORDS = 4096;
+
+    @Param({"EXACT", "FOLD_ALL"})
+    public MatchMode mode;
+
+    @Param({"exacto", "mayusculas", "error", "mitad"})
+    public String escritura;
+
+    private Path lista;
+    private WordCorpus corpus;
+    private LogicGame logica;
+    private int[] ids;
+    private String[] objetivos;
+    private String[] escritos;
+    // Cada prefijo de cada texto escrito, como los va dando el campo de texto
+    private String[][] pulsaciones;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void abrir() {
+        lista = BenchmarkCorpora.write(BenchmarkCorpora.SMALL);
+        corpus = BenchmarkCorpora.open(lista);
+        SplittableRandom random = new SplittableRandom(48);
+        ids = new int[WORDS];
+        objetivos = new String[WORDS];
+        escritos = new String[WORDS];
+        pulsaciones = new String[WORDS][];
+        for (int i = 0; i < WORDS; i++) {
+            ids[i] = random.nextInt(corpus.size());
+            objetivos[i] = corpus.get(ids[i]);
+            escritos[i] = escribir(objetivos[i], random);
+            pulsaciones[i] = new String[escritos[i].length()];
+            for (int k = 0; k < escritos[i].length(); k++) pulsaciones[i][k] = escritos[i].substring(0, k + 1);
+        }
+        // Reloj fijo: se mide la partida, no System.nanoTime
+        logica = new LogicGame(corpus, TimeControl.NORMAL, ScoringPolicy.DEFAULT, new Random(48), () -> 0L);
+        logica.setModo(mode);
+        siguiente = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws IOException {
+        corpus.close();
+        BenchmarkCorpora.delete(lista);
+    }
+
+    private String escribir(String objetivo, SplittableRandom random) {
+        return switch (escritura) {
+            case "mayusculas" -> objetivo.toUpperCase(Locale.ROOT);
+            case "error" -> {
+                char[] chars = objetivo.toCharArray();
+                chars[random.nextInt(chars.length)] = 'x';
+                yield new String(chars);
+            }
+            case "mitad" -> objetivo.substring(0, (objetivo.length() + 1) / 2);
+            default -> objetivo;
+        };
+    }
+
+    // La secuencia se acaba tras WORDS palabras: se vuelve a empezar
+    private int siguientePalabra() {
+        int i = siguiente;
+        if (i == 0) logica.setSecuencia(ids);
+        siguiente = (i + 1) % WORDS;
+        logica.nuevaPalabra();
+        return i;
+    }
+
+    // Una palabra: elegirla y validar todo el texto escrito
+    @Benchmark
+    public boolean validar() {
+        int i = siguientePalabra();
+        return logica.validar(escritos[i], objetivos[i]);
+    }
+
+    // Una palabra tecla a tecla: cada prefijo pasa por el matcher y las estadísticas
+    @Benchmark
+    public int teclear() {
+        int i = siguientePalabra();
+        String[] prefijos = pulsaciones[i];
+        int correctos = 0;
+        for (String prefijo : prefijos) {
+            logica.actualizarEscritura(prefijo);
+            correctos += logica.getPrefijoCorrecto();
+        }
+        logica.ignorarEscritura("");
+        return correctos;
+    }
+
+    // Validar contra un texto que no es la palabra actual (sin objetivo plegado en caché)
+    @Benchmark
+    public boolean validarOtroObjetivo() {
+        int i = siguiente;
+        siguiente = (i + 1) % WORDS;
+        return logica.validar(escritos[i], objetivos[i]);
+    }
+}
@@ -0,0 +1,75 @@
+package com.proyecto.EscrituraRapida.bench;
+
+import com.proyecto.EscrituraRapida.model.LogicGame;
+import com.proyecto.EscrituraRapida.model.TimeControl;
+import com.proyecto.EscrituraRapida.model.corpus.WordCorpus;
+import com.proyecto.EscrituraRapida.model.scoring.ScoringPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// LogicGame.nuevaPalabra con el sorteo por pesos, sobre la lista interna y los corpus fijos,
+// en el primer nivel (palabras cortas sin tildes) y en uno avanzado (palabras largas y
+// frases). Cada palabra se valida como fallada o acertada por turnos, así que los pesos
+// cambian como en una partida real.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WordSelectionBenchmark {
+
+    // 0 = la lista interna
+    @Param({"0", "10000", "500000"})
+    public int entradas;
+
+    @Param({"1", "20"})
+    public int nivel;
+
+    private Path lista;
+    private WordCorpus corpus;
+    private LogicGame logica;
+    private boolean acierto;
+
+    @Setup(Level.Trial)
+    public void abrir() {
+        if (entradas > 0) {
+            lista = BenchmarkCorpora.write(entradas);
+            corpus = BenchmarkCorpora.open(lista);
+        }
+        logica = new LogicGame(corpus, TimeControl.NORMAL, ScoringPolicy.DEFAULT, new Random(48), () -> 0L);
+        for (int n = 1; n < nivel; n++) logica.subirNivel();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws IOException {
+        if (corpus == null) return;
+        corpus.close();
+        BenchmarkCorpora.delete(lista);
+    }
+
+    @Benchmark
+    public String nuevaPalabra() {
+        String palabra = logica.nuevaPalabra();
+        // Alterna acierto y fallo para que cambien los pesos de las palabras elegidas
+        acierto = !acierto;
+        logica.validar(acierto ? palabra : "", palabra);
+        return palabra;
+    }
+}
@@ -0,0 +1,303 @@
+package com.proyecto.EscrituraRapida.race;
+
+import com.proyecto.EscrituraRapida.metrics.TypingMetrics;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+// Generador de carga para RaceServer: miles de bots corriendo en una sola máquina.
+// Los bots comparten un hilo y un Selector, así que el generador apenas cuesta. Cada bot
+// entra en una sala y manda su progreso a ritmo de tecleo (--cps caracteres por segundo,
+// con variación). La latencia se mide de punta a punta en el generador: desde que un bot
+// manda un progreso hasta que lo lee de vuelta en un lote de la sala, intervalo del lote
+// incluido.
+//   mvn -Pjmh clean package
+//   java -cp target/benchmarks.jar com.proyecto.EscrituraRapida.race.RaceLoadTest --bots 4000 --room-size 20 --seconds 20
+// Sin --port se arranca un servidor embebido en el mismo proceso.
+// Opciones: --host, --port, --bots, --room-size, --seconds, --cps, --batch-ms, --seed.
+public final class RaceLoadTest {
+
+    private static final int MAX_SAMPLES = 4_000_000;
+    private static final int CONNECTS_PER_ROUND = 100;
+
+    private final Selector selector;
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private final byte[] chunk = new byte[64 * 1024];
+    private final PriorityQueue<Bot> typing = new PriorityQueue<>((a, b) -> Long.compare(a.nextKey, b.nextKey));
+    private final SplittableRandom random;
+    private final long nanosPerChar;
+
+    private final long[] latencies = new long[MAX_SAMPLES];
+    private int samples;
+    private long sent;
+    private long batches;
+    private long bytesIn;
+    private int joined;
+    private int failed;
+    private boolean measuring;
+
+    private static final class Bot {
+        final int index;
+        final String room;
+        SocketChannel channel;
+        SelectionKey key;
+        int id = -1;
+        int progress;
+        int acked;
+        long nextKey;
+        final long[] sentAt = new long[64];
+        byte[] carry = new byte[0];
+        ByteBuffer pending;
+
+        Bot(int index, String room) {
+            this.index = index;
+            this.room = room;
+        }
+    }
+
+    private RaceLoadTest(long seed, double charsPerSecond) throws IOException {
+        this.selector = Selector.open();
+        this.random = new SplittableRandom(seed);
+        this.nanosPerChar = (long) (1e9 / charsPerSecond);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = "127.0.0.1";
+        int port = -1;
+        int bots = 2000;
+        int roomSize = 20;
+        int seconds = 20;
+        double cps = 5;
+        int batchMillis = RaceServer.DEFAULT_BATCH_MILLIS;
+        long seed = 47;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--host" -> host = args[++i];
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--bots" -> bots = Integer.parseInt(args[++i]);
+                case "--room-size" -> roomSize = Integer.parseInt(args[++i]);
+                case "--seconds" -> seconds = Integer.parseInt(args[++i]);
+                case "--cps" -> cps = Double.parseDouble(args[++i]);
+                case "--batch-ms" -> batchMillis = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+
+        RaceServer embedded = null;
+        if (port < 0) {
+            embedded = RaceServer.start(0, batchMillis, seed);
+            port = embedded.getPort();
+        }
+        try {
+            RaceLoadTest test = new RaceLoadTest(seed, cps);
+            test.run(new InetSocketAddress(host, port), bots, roomSize, seconds);
+            if (embedded != null) {
+                System.out.printf("server players=%.0f batch-rounds=%d%n",
+                        TypingMetrics.RACE_PLAYERS.get(), TypingMetrics.RACE_BATCH_LATENCY.getCount());
+            }
+        } finally {
+            if (embedded != null) embedded.close();
+        }
+    }
+
+    private void run(InetSocketAddress address, int count, int roomSize, int seconds) throws IOException {
+        List<Bot> bots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bots.add(new Bot(i, "sala" + i / roomSize));
+        }
+
+        // Se conecta por tandas para no desbordar la cola de aceptación
+        long rampStart = System.nanoTime();
+        int connecting = 0;
+        while (joined + failed < count) {
+            for (int k = 0; k < CONNECTS_PER_ROUND && connecting < count; k++) {
+                connect(bots.get(connecting++), address);
+            }
+            poll(10);
+            if (System.nanoTime() - rampStart > 60_000_000_000L) break;
+        }
+        long rampMillis = (System.nanoTime() - rampStart) / 1_000_000;
+        System.out.printf("bots=%d joined=%d failed=%d rooms=%d ramp-ms=%d%n",
+                count, joined, failed, (count + roomSize - 1) / roomSize, rampMillis);
+
+        // Un calentamiento corto y luego la medición
+        long warmupEnd = System.nanoTime() + Math.min(5, Math.max(1, seconds / 5)) * 1_000_000_000L;
+        while (System.nanoTime() < warmupEnd) tick();
+        measuring = true;
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        while (System.nanoTime() < end) tick();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        measuring = false;
+
+        report(elapsed);
+        for (Bot bot : bots) {
+            if (bot.channel != null) bot.channel.close();
+        }
+        selector.close();
+    }
+
+    private void connect(Bot bot, InetSocketAddress address) throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        bot.channel = channel;
+        if (channel.connect(address)) {
+            bot.key = channel.register(selector, SelectionKey.OP_READ, bot);
+            write(bot, RaceProtocol.JOIN + bot.room + " bot" + bot.index + "\n");
+        } else {
+            bot.key = channel.register(selector, SelectionKey.OP_CONNECT, bot);
+        }
+    }
+
+    // Manda el progreso de los bots a los que les toca pulsar y luego lee
+    private void tick() throws IOException {
+        long now = System.nanoTime();
+        Bot bot;
+        while ((bot = typing.peek()) != null && bot.nextKey <= now) {
+            typing.poll();
+            bot.progress++;
+            bot.sentAt[bot.progress & 63] = now;
+            write(bot, RaceProtocol.PROGRESS + bot.progress + "\n");
+            sent += measuring ? 1 : 0;
+            bot.nextKey = now + (long) (nanosPerChar * (0.5 + random.nextDouble()));
+            typing.add(bot);
+        }
+        Bot next = typing.peek();
+        long waitMillis = next == null ? 10 : Math.max(0, (next.nextKey - System.nanoTime()) / 1_000_000);
+        poll(Math.max(1, Math.min(10, waitMillis)));
+    }
+
+    private void poll(long timeoutMillis) throws IOException {
+        selector.select(key -> {
+            Bot bot = (Bot) key.attachment();
+            try {
+                if (key.isConnectable()) {
+                    bot.channel.finishConnect();
+                    key.interestOps(SelectionKey.OP_READ);
+                    write(bot, RaceProtocol.JOIN + bot.room + " bot" + bot.index + "\n");
+                    return;
+                }
+                if (key.isWritable()) {
+                    bot.channel.write(bot.pending);
+                    if (!bot.pending.hasRemaining()) {
+                        bot.pending = null;
+                        key.interestOps(SelectionKey.OP_READ);
+                    }
+                }
+                if (key.isReadable()) read(bot);
+            } catch (IOException e) {
+                failed++;
+                key.cancel();
+            }
+        }, timeoutMillis);
+    }
+
+    private void write(Bot bot, String message) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(message.getBytes(StandardCharsets.US_ASCII));
+        if (bot.pending != null) {
+            // Aún bloqueado en una escritura anterior: se junta, al servidor solo le sirve el último progreso
+            ByteBuffer merged = ByteBuffer.allocate(bot.pending.remaining() + buffer.remaining());
+            merged.put(bot.pending).put(buffer).flip();
+            bot.pending = merged;
+            return;
+        }
+        bot.channel.write(buffer);
+        if (buffer.hasRemaining()) {
+            bot.pending = buffer;
+            bot.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    private void read(Bot bot) throws IOException {
+        readBuffer.clear();
+        int n = bot.channel.read(readBuffer);
+        if (n < 0) {
+            failed++;
+            bot.key.cancel();
+            return;
+        }
+        readBuffer.flip();
+        if (measuring) bytesIn += n;
+        int carried = bot.carry.length;
+        byte[] data;
+        if (carried == 0) {
+            readBuffer.get(chunk, 0, n);
+            data = chunk;
+        } else {
+            data = Arrays.copyOf(bot.carry, carried + n);
+            readBuffer.get(data, carried, n);
+        }
+        int length = carried + n;
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (data[i] == '\n') {
+                line(bot, data, start, i);
+                start = i + 1;
+            }
+        }
+        bot.carry = start == length ? new byte[0] : Arrays.copyOfRange(data, start, length);
+    }
+
+    private void line(Bot bot, byte[] data, int start, int end) {
+        long now = System.nanoTime();
+        if (data[start] == 'B' && (end - start == 1 || data[start + 1] == ' ')) {
+            if (measuring) batches++;
+            // Pares "id progreso"; solo interesa la entrada de este bot
+            int i = start + 2;
+            while (i < end) {
+                int idEnd = i;
+                while (idEnd < end && data[idEnd] != ' ') idEnd++;
+                int valueEnd = idEnd + 1;
+                while (valueEnd < end && data[valueEnd] != ' ') valueEnd++;
+                if (RaceProtocol.parseInt(data, i, idEnd) == bot.id) {
+                    int value = RaceProtocol.parseInt(data, idEnd + 1, Math.min(valueEnd, end));
+                    if (value > bot.acked && value <= bot.progress && bot.progress - value < 64) {
+                        if (measuring && samples < MAX_SAMPLES) latencies[samples++] = now - bot.sentAt[value & 63];
+                        bot.acked = value;
+                    }
+                }
+                i = valueEnd + 1;
+            }
+        } else if (RaceProtocol.startsWith(data, start, end, RaceProtocol.WELCOME)) {
+            String[] parts = new String(data, start, end - start, StandardCharsets.US_ASCII).split(" ");
+            bot.id = Integer.parseInt(parts[1]);
+            joined++;
+            bot.nextKey = now + (long) (random.nextDouble() * 1e9);
+            typing.add(bot);
+        } else if (RaceProtocol.startsWith(data, start, end, RaceProtocol.ERROR)) {
+            failed++;
+        }
+    }
+
+    private void report(double elapsed) {
+        long[] sorted = Arrays.copyOf(latencies, samples);
+        Arrays.sort(sorted);
+        System.out.printf("seconds=%.1f progress-msgs/s=%.0f batches-in/s=%.0f MB-in/s=%.2f%n",
+                elapsed, sent / elapsed, batches / elapsed, bytesIn / elapsed / 1e6);
+        if (samples == 0) {
+            System.out.println("no latency samples");
+            return;
+        }
+        System.out.printf("broadcast latency ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f (samples=%d)%n",
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.90) / 1e6,
+                percentile(sorted, 0.99) / 1e6, sorted[sorted.length - 1] / 1e6, samples);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -1,20 +1,43 @@
 package com.proyecto.EscrituraRapida;
 
+import com.example.metrics.MetricsRegistry;
+import com.example.metrics.MetricsServer;
+import com.proyecto.EscrituraRapida.controller.GameController;
+import com.proyecto.EscrituraRapida.metrics.TypingMetrics;
+import com.proyecto.EscrituraRapida.race.RaceServer;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 public class Main extends Application {
+    private MetricsServer metricsServer;
+    private RaceServer raceServer;
+    private GameController controller;
+
     @Override
     public void start(Stage stage) throws Exception {
+        // Endpoint de métricas solo si se pasa -Descritura.metrics.port=<puerto>
+        metricsServer = MetricsServer.startFromProperty(MetricsRegistry.getDefault(),
+                TypingMetrics.PORT_PROPERTY, "escritura-metrics");
+        // Servidor de carreras en la red local solo si se pasa -Descritura.race.port=<puerto>
+        raceServer = RaceServer.startFromProperty();
+
         FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("view/juego.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 600, 400);
+        controller = fxmlLoader.getController();
         stage.setTitle("Escritura Rápida");
         stage.setScene(scene);
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        if (controller != null) controller.detener();
+        if (metricsServer != null) metricsServer.stop();
+        if (raceServer != null) raceServer.close();
+    }
+
     public static void main(String[] args) {
         launch();
     }
@@ -1,59 +1,280 @@
 package com.proyecto.EscrituraRapida.controller;
 
+import com.proyecto.EscrituraRapida.metrics.TypingMetrics;
+import com.proyecto.EscrituraRapida.model.LevelClock;
 import com.proyecto.EscrituraRapida.model.LogicGame;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import com.proyecto.EscrituraRapida.model.corpus.BigramIndex;
+import com.proyecto.EscrituraRapida.model.folding.MatchMode;
+import com.proyecto.EscrituraRapida.model.scoring.ScoringPolicy;
+import com.proyecto.EscrituraRapida.model.stats.SessionStore;
+import com.proyecto.EscrituraRapida.model.stats.SessionSummary;
+import com.proyecto.EscrituraRapida.race.RaceClient;
+import com.proyecto.EscrituraRapida.race.RaceSequence;
+import com.proyecto.EscrituraRapida.view.TargetWordView;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.util.Duration;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextFlow;
+import javafx.util.StringConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class GameController {
 
     @FXML private Label labelNivel;
-    @FXML private Label labelPalabra;
+    @FXML private TextFlow vistaPalabra;
     @FXML private Label labelTiempo;
+    @FXML private Label labelCarrera;
     @FXML private Label labelMensaje;
     @FXML private TextField campoTexto;
     @FXML private Button btnValidar;
+    @FXML private ChoiceBox<MatchMode> selectorModo;
 
     private LogicGame logica;
-    private Timeline timeline;
-    private int tiempoRestante;
+    // Palabra objetivo letra a letra; cada pulsación solo recolorea las letras que cambian
+    private TargetWordView palabraVista;
+    // Un solo AnimationTimer para todos los niveles; lee el reloj del nivel en cada pulso
+    private final AnimationTimer temporizador = new AnimationTimer() {
+        @Override
+        public void handle(long ahora) {
+            actualizarReloj(ahora);
+        }
+    };
+    // Décimas de segundo mostradas; la etiqueta solo cambia cuando cambia este valor
+    private long decimasMostradas = -1;
     private String palabraObjetivo;
+    // Evita programar dos veces el avance automático de la misma palabra
+    private boolean avanceProgramado;
+    // true mientras el propio juego cambia el texto (no son pulsaciones del jugador)
+    private boolean limpiando;
+    private boolean sesionActiva;
+    private final SessionStore sesiones = new SessionStore();
+
+    // Carrera en red (-Descritura.carrera=host:puerto/sala); null si se juega solo
+    private RaceClient carrera;
+    private int miId = -1;
+    private int largoCarrera;
+    // Rivales por id; el hilo lector los actualiza y la etiqueta se refresca una vez por lote
+    private final Map<Integer, Rival> rivales = new ConcurrentHashMap<>();
+    private final AtomicBoolean refrescoProgramado = new AtomicBoolean();
+
+    private static final int RIVALES_MOSTRADOS = 4;
+
+    private static final class Rival {
+        final String nombre;
+        volatile int caracteres;
+        volatile int puesto;
+
+        Rival(String nombre) {
+            this.nombre = nombre;
+        }
+    }
+
+    private static final String ESTILO_ERROR = "-fx-border-color: red; -fx-border-width: 2;";
 
     @FXML
     public void initialize() {
         logica = new LogicGame();
+        palabraVista = new TargetWordView(vistaPalabra, Font.font(null, FontWeight.BOLD, 30));
+        TypingMetrics.GAMES_STARTED.inc();
+        TypingMetrics.ACTIVE_SESSIONS.inc();
+        sesionActiva = true;
+        campoTexto.textProperty().addListener((obs, anterior, actual) -> actualizarProgreso(actual));
+        configurarSelectorModo();
         iniciarNivel();
+        conectarCarrera();
+    }
+
+    private void conectarCarrera() {
+        try {
+            carrera = RaceClient.connectFromProperty(new OyenteCarrera());
+        } catch (IllegalArgumentException e) {
+            labelMensaje.setText("No se pudo unir a la carrera: " + e.getMessage());
+            return;
+        }
+        if (carrera == null) return;
+        labelCarrera.setManaged(true);
+        labelCarrera.setVisible(true);
+        labelCarrera.setText("Esperando la carrera...");
+    }
+
+    // La semilla de la sala fija las palabras: todos los jugadores escriben las mismas
+    private void empezarCarrera(int id, long semilla, int palabras) {
+        miId = id;
+        logica.setSecuencia(RaceSequence.ids(logica.getCorpus(), semilla, palabras));
+        largoCarrera = logica.getLargoSecuencia();
+        iniciarNivel();
+        labelMensaje.setText("¡Empieza la carrera!");
+        refrescarCarrera();
+    }
+
+    private void programarRefresco() {
+        if (refrescoProgramado.compareAndSet(false, true)) Platform.runLater(this::refrescarCarrera);
+    }
+
+    private void refrescarCarrera() {
+        refrescoProgramado.set(false);
+        if (carrera == null || miId < 0) return;
+        List<Map.Entry<Integer, Rival>> orden = new ArrayList<>(rivales.entrySet());
+        orden.sort((a, b) -> Integer.compare(b.getValue().caracteres, a.getValue().caracteres));
+        StringBuilder texto = new StringBuilder("Carrera:");
+        for (int i = 0; i < orden.size() && i < RIVALES_MOSTRADOS; i++) {
+            Map.Entry<Integer, Rival> entrada = orden.get(i);
+            Rival rival = entrada.getValue();
+            texto.append(i == 0 ? "  " : "  ·  ").append(entrada.getKey() == miId ? "Tú" : rival.nombre).append(' ');
+            if (rival.puesto > 0) {
+                texto.append(rival.puesto).append('º');
+            } else {
+                texto.append(largoCarrera == 0 ? 0 : Math.min(100, rival.caracteres * 100 / largoCarrera)).append('%');
+            }
+        }
+        labelCarrera.setText(texto.toString());
+    }
+
+    // Mensajes del servidor; llegan en el hilo lector del cliente
+    private final class OyenteCarrera implements RaceClient.Listener {
+        @Override
+        public void onWelcome(int id, long seed, int words) {
+            Platform.runLater(() -> empezarCarrera(id, seed, words));
+        }
+
+        @Override
+        public void onJoined(int id, String nombre) {
+            rivales.putIfAbsent(id, new Rival(nombre));
+            programarRefresco();
+        }
+
+        @Override
+        public void onLeft(int id) {
+            rivales.remove(id);
+            programarRefresco();
+        }
+
+        @Override
+        public void onProgress(int id, int chars) {
+            Rival rival = rivales.get(id);
+            if (rival != null) rival.caracteres = chars;
+            programarRefresco();
+        }
+
+        @Override
+        public void onFinished(int id, int puesto) {
+            Rival rival = rivales.get(id);
+            if (rival != null) rival.puesto = puesto;
+            programarRefresco();
+        }
+
+        @Override
+        public void onError(String mensaje) {
+            Platform.runLater(() -> labelMensaje.setText("Carrera: " + mensaje));
+        }
+
+        @Override
+        public void onClosed() {
+            Platform.runLater(() -> labelCarrera.setText("Conexión con la carrera perdida."));
+        }
+    }
+
+    // Modo de comparación elegido por el jugador; se aplica también a la palabra en curso
+    private void configurarSelectorModo() {
+        selectorModo.getItems().setAll(MatchMode.values());
+        selectorModo.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(MatchMode modo) {
+                if (modo == null) return "";
+                return switch (modo) {
+                    case EXACT -> "Exacto";
+                    case CASE_FOLD -> "Sin distinguir mayúsculas";
+                    case ACCENT_FOLD -> "Sin distinguir acentos";
+                    case FOLD_ALL -> "Sin mayúsculas ni acentos";
+                };
+            }
+
+            @Override
+            public MatchMode fromString(String texto) {
+                return null;
+            }
+        });
+        selectorModo.setValue(logica.getModo());
+        selectorModo.valueProperty().addListener((obs, anterior, actual) -> {
+            if (actual == null) return;
+            logica.setModo(actual);
+            if (palabraObjetivo != null && !campoTexto.isDisabled()) {
+                // Cambiar de modo no es una pulsación: solo se vuelve a comparar lo escrito
+                logica.ignorarEscritura(campoTexto.getText());
+                campoTexto.setStyle(logica.getPrimerError() >= 0 ? ESTILO_ERROR : "");
+                palabraVista.actualizar(logica.getPrefijoCorrecto(), logica.getPrimerError());
+            }
+            campoTexto.requestFocus();
+        });
+    }
+
+    // Retroalimentación en vivo: borde rojo al primer error y avance automático al completar
+    private void actualizarProgreso(String escrito) {
+        if (palabraObjetivo == null || campoTexto.isDisabled()) return;
+        if (limpiando) {
+            logica.ignorarEscritura(escrito);
+            palabraVista.actualizar(logica.getPrefijoCorrecto(), logica.getPrimerError());
+            return;
+        }
+        logica.actualizarEscritura(escrito);
+        campoTexto.setStyle(logica.getPrimerError() >= 0 ? ESTILO_ERROR : "");
+        palabraVista.actualizar(logica.getPrefijoCorrecto(), logica.getPrimerError());
+        if (carrera != null && miId >= 0 && !logica.isSecuenciaTerminada()) {
+            carrera.enviarProgreso(logica.getProgresoSecuencia());
+        }
+        if (logica.isPalabraCompleta() && !avanceProgramado) {
+            avanceProgramado = true;
+            Platform.runLater(this::validarPalabra);
+        }
     }
 
     private void iniciarNivel() {
+        palabraObjetivo = null;
+        avanceProgramado = false;
         campoTexto.clear();
+        campoTexto.setStyle("");
         campoTexto.setDisable(false);
         btnValidar.setDisable(false);
         campoTexto.requestFocus();
 
         palabraObjetivo = logica.nuevaPalabra();
-        labelPalabra.setText(palabraObjetivo);
+        palabraVista.mostrar(palabraObjetivo);
         labelNivel.setText("Nivel: " + logica.getNivel());
 
-        tiempoRestante = logica.getTiempoNivel();
-        labelTiempo.setText("Tiempo: " + tiempoRestante);
         labelMensaje.setText("");
 
-        if (timeline != null) timeline.stop();
+        long ahora = System.nanoTime();
+        logica.getReloj().start(logica.getTiempoNivelMillis(), ahora);
+        decimasMostradas = -1;
+        actualizarReloj(ahora);
+        temporizador.start();
+    }
 
-        timeline = new Timeline(new KeyFrame(Duration.seconds(1), e -> {
-            tiempoRestante--;
-            labelTiempo.setText("Tiempo: " + tiempoRestante);
+    private void actualizarReloj(long ahora) {
+        LevelClock reloj = logica.getReloj();
+        if (!reloj.isRunning()) return;
+        if (reloj.isExpired(ahora)) {
+            reloj.stop(ahora);
+            mostrarTiempo(0);
+            finDelTiempo();
+            return;
+        }
+        mostrarTiempo(reloj.remainingMillis(ahora));
+    }
 
-            if (tiempoRestante <= 0) {
-                timeline.stop();
-                finDelTiempo();
-            }
-        }));
-        timeline.setCycleCount(Timeline.INDEFINITE);
-        timeline.play();
+    private void mostrarTiempo(long millis) {
+        long decimas = (millis + 99) / 100;
+        if (decimas == decimasMostradas) return;
+        decimasMostradas = decimas;
+        labelTiempo.setText("Tiempo: " + decimas / 10 + "." + decimas % 10);
     }
 
     @FXML
@@ -61,29 +282,87 @@ public class GameController {
         String escrito = campoTexto.getText();
 
         if (logica.validar(escrito, palabraObjetivo)) {
-            labelMensaje.setText("¡Correcto! Nivel superado.");
-            timeline.stop();
-            logica.subirNivel();
+            long millis = logica.getReloj().stop(System.nanoTime());
+            subirNivel();
             iniciarNivel();
+            if (logica.getVeredicto() == ScoringPolicy.Verdict.PASS_WITH_PENALTY) {
+                labelMensaje.setText(String.format("Nivel superado con errores (%.0f%% de precisión): "
+                        + "este nivel tiene menos tiempo.", logica.getPrecision() * 100));
+            } else {
+                labelMensaje.setText(String.format("¡Correcto! Nivel superado en %.2f s.", millis / 1000.0));
+            }
         } else {
 
             labelMensaje.setText("Incorrecto, intenta de nuevo.");
-            campoTexto.clear();
+            avanceProgramado = false;
+            limpiarCampo();
             campoTexto.requestFocus();
         }
     }
 
+    private void subirNivel() {
+        boolean enCarrera = carrera != null && miId >= 0 && !logica.isSecuenciaTerminada();
+        logica.subirNivel();
+        if (enCarrera) {
+            carrera.enviarProgreso(logica.getProgresoSecuencia());
+            if (logica.isSecuenciaTerminada()) carrera.enviarTerminado();
+        }
+    }
+
     private void finDelTiempo() {
         String escrito = campoTexto.getText();
 
         if (logica.validar(escrito, palabraObjetivo)) {
-            labelMensaje.setText("¡Correcto en el último segundo! Nivel superado.");
-            logica.subirNivel();
+            subirNivel();
             iniciarNivel();
+            labelMensaje.setText(logica.getVeredicto() == ScoringPolicy.Verdict.PASS_WITH_PENALTY
+                    ? "Nivel superado con errores en el último segundo: este nivel tiene menos tiempo."
+                    : "¡Correcto en el último segundo! Nivel superado.");
         } else {
-            labelMensaje.setText("Tiempo agotado. Juego terminado.");
+            SessionSummary resumen = logica.cerrarSesion();
+            sesiones.save(resumen);
+            labelMensaje.setText(String.format("Tiempo agotado. Juego terminado. %.0f PPM, %.0f%% de precisión.%s",
+                    resumen.wpm(), resumen.accuracy() * 100, bigramasParaPracticar()));
+            terminarSesion();
+            temporizador.stop();
             campoTexto.setDisable(true);
             btnValidar.setDisable(true);
         }
     }
+
+    // Se llama al cerrar la ventana: la partida en curso deja de contar como activa
+    public void detener() {
+        temporizador.stop();
+        terminarSesion();
+        if (carrera != null) carrera.close();
+    }
+
+    // Una sola baja por sesión, tanto si se acaba el tiempo como si se cierra la ventana
+    private void terminarSesion() {
+        if (!sesionActiva) return;
+        sesionActiva = false;
+        TypingMetrics.ACTIVE_SESSIONS.dec();
+    }
+
+    // Los bigramas que más le cuestan al jugador, para el mensaje final
+    private String bigramasParaPracticar() {
+        int[] claves = new int[3];
+        int n = logica.getBigramas().weakest(claves, new double[claves.length]);
+        if (n == 0) return "";
+        StringBuilder texto = new StringBuilder(" Practica: ");
+        for (int k = 0; k < n; k++) {
+            if (k > 0) texto.append(", ");
+            texto.append('"').append(BigramIndex.text(claves[k])).append('"');
+        }
+        return texto.append('.').toString();
+    }
+
+    private void limpiarCampo() {
+        limpiando = true;
+        try {
+            campoTexto.clear();
+        } finally {
+            limpiando = false;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.proyecto.EscrituraRapida.metrics;
+
+import com.example.metrics.Counter;
+import com.example.metrics.Gauge;
+import com.example.metrics.Histogram;
+import com.example.metrics.MetricsRegistry;
+
+// Métricas de Escritura Rápida, registradas en MetricsRegistry.getDefault()
+public final class TypingMetrics {
+
+    // Sin ella no se arranca el endpoint de métricas
+    public static final String PORT_PROPERTY = "escritura.metrics.port";
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getDefault();
+
+    public static final Counter GAMES_STARTED = REGISTRY.counter(
+            "escritura_games_started_total", "Typing games started.");
+
+    public static final Counter WORDS_CORRECT = REGISTRY.counter(
+            "escritura_words_correct_total", "Words validated as correct.");
+
+    public static final Counter WORDS_FAILED = REGISTRY.counter(
+            "escritura_words_failed_total", "Words validated as incorrect.");
+
+    // También cuentan como correctas
+    public static final Counter WORDS_PENALIZED = REGISTRY.counter(
+            "escritura_words_penalized_total", "Words validated as correct with a penalty.");
+
+    // Se calcula al leer las métricas
+    public static final Gauge TYPING_ACCURACY = REGISTRY.gauge(
+            "escritura_typing_accuracy_ratio", "Correct validations divided by all validations.",
+            () -> {
+                long correct = WORDS_CORRECT.get();
+                long total = correct + WORDS_FAILED.get();
+                return total == 0 ? 0 : (double) correct / total;
+            });
+
+    public static final Histogram VALIDATION_LATENCY = REGISTRY.histogram(
+            "escritura_validation_seconds", "Time to validate a typed word.");
+
+    public static final Gauge ACTIVE_SESSIONS = REGISTRY.gauge(
+            "escritura_active_sessions", "Typing games in progress.");
+
+    public static final Gauge RACE_PLAYERS = REGISTRY.gauge(
+            "escritura_race_players", "Players connected to the race server.");
+
+    // Codificar y escribir una ronda de lotes de todas las salas
+    public static final Histogram RACE_BATCH_LATENCY = REGISTRY.histogram(
+            "escritura_race_batch_seconds", "Time to encode and write the batches of every room.");
+
+    private TypingMetrics() {
+    }
+}
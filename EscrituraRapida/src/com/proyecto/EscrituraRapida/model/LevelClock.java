@@ -0,0 +1,47 @@
+package com.proyecto.EscrituraRapida.model;
+
+// Cuenta atrás de un nivel medida con System.nanoTime().
+// Solo guarda el inicio y el límite, y cada lectura se calcula con el instante que pasa
+// quien llama (el pulso de un AnimationTimer o System.nanoTime()), así que no se desfasa
+// aunque las lecturas lleguen tarde o a destiempo.
+public class LevelClock {
+
+    private long startNanos;
+    private long deadlineNanos;
+    private long stoppedNanos;
+    private boolean running;
+
+    public void start(long durationMillis, long nowNanos) {
+        startNanos = nowNanos;
+        deadlineNanos = nowNanos + durationMillis * 1_000_000L;
+        running = true;
+    }
+
+    // Devuelve los milisegundos transcurridos; las lecturas siguientes se quedan en la parada
+    public long stop(long nowNanos) {
+        if (running) {
+            stoppedNanos = Math.min(nowNanos, deadlineNanos);
+            running = false;
+        }
+        return (stoppedNanos - startNanos) / 1_000_000L;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Redondea hacia arriba: muestra 1 ms hasta que el tiempo se acaba del todo
+    public long remainingMillis(long nowNanos) {
+        long at = running ? nowNanos : stoppedNanos;
+        return Math.max(0, (deadlineNanos - at + 999_999L) / 1_000_000L);
+    }
+
+    public long elapsedMillis(long nowNanos) {
+        long at = running ? Math.min(nowNanos, deadlineNanos) : stoppedNanos;
+        return (at - startNanos) / 1_000_000L;
+    }
+
+    public boolean isExpired(long nowNanos) {
+        return running && nowNanos - deadlineNanos >= 0;
+    }
+}
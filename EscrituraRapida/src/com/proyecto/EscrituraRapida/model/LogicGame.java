@@ -1,51 +1,346 @@
 package com.proyecto.EscrituraRapida.model;
 
-import java.text.Normalizer;
+import com.proyecto.EscrituraRapida.metrics.TypingMetrics;
+import com.proyecto.EscrituraRapida.model.corpus.BigramIndex;
+import com.proyecto.EscrituraRapida.model.corpus.CorpusQuery;
+import com.proyecto.EscrituraRapida.model.corpus.WordCorpus;
+import com.proyecto.EscrituraRapida.model.corpus.WordScheduler;
+import com.proyecto.EscrituraRapida.model.folding.MatchMode;
+import com.proyecto.EscrituraRapida.model.scoring.EditScorer;
+import com.proyecto.EscrituraRapida.model.scoring.ScoringPolicy;
+import com.proyecto.EscrituraRapida.model.stats.BigramStats;
+import com.proyecto.EscrituraRapida.model.stats.KeystrokeStats;
+import com.proyecto.EscrituraRapida.model.stats.SessionSummary;
+
 import java.util.Random;
+import java.util.function.LongSupplier;
 
 public class LogicGame {
     private int nivel;
-    private int tiempoNivel;
-    private final Random random = new Random();
+    // Curva de dificultad y reloj del nivel actual
+    private final TimeControl curva;
+    private final LevelClock reloj = new LevelClock();
+    private final Random random;
+    // Fuente de tiempo del juego (System.nanoTime, o un reloj virtual en simulaciones)
+    private final LongSupplier tiempo;
+    // Corpus externo (-Descritura.corpus=...); null si solo se usa la lista interna
+    private final WordCorpus corpus;
+    // Compara cada tecla con la palabra actual, normalizada una sola vez
+    private final TypingMatcher matcher = new TypingMatcher();
+    private String palabraActual;
+    // Modo de comparación (exacto, sin mayúsculas, sin acentos o ambos)
+    private MatchMode modo;
+    // Texto escrito ya plegado, reutilizado en cada validación
+    private final StringBuilder escritoPlegado = new StringBuilder();
+    // Pesos por palabra: vuelven las falladas y lentas, no se repiten las recientes
+    private final WordScheduler planificador;
+    private int idActual = -1;
+    // Estadísticas de pulsaciones de toda la sesión (memoria fija)
+    private final KeystrokeStats estadisticas = new KeystrokeStats();
+    private int largoAnterior;
+    private int palabrasCompletadas;
+    // Errores y latencia por bigrama; parte de las palabras se eligen por los bigramas más débiles
+    private final BigramStats bigramas = new BigramStats();
+    private long ultimaPulsacion = -1;
+    private final int[] bigramasDebiles = new int[BIGRAMAS_DEBILES];
+    private final double[] debilidades = new double[BIGRAMAS_DEBILES];
+    // Crédito parcial: distancia de edición contra la palabra y umbrales de aprobado
+    private final EditScorer calificador = new EditScorer();
+    private final ScoringPolicy politica;
+    private ScoringPolicy.Verdict veredicto = ScoringPolicy.Verdict.PASS;
+    private double precision = 1.0;
+    // Carrera: palabras fijadas por la semilla de la sala, en orden, en vez del planificador
+    private int[] secuencia;
+    private int posicionSecuencia;
+    private boolean palabraDeSecuencia;
+    private int palabrasSecuencia;
+    private int caracteresSecuencia;
+
+    // Proporción de palabras elegidas por bigramas débiles, candidatas por elección y bigramas considerados
+    private static final double PROPORCION_DIRIGIDA = 0.3;
+    private static final int CANDIDATOS = 8;
+    private static final int BIGRAMAS_DEBILES = 8;
+    // Intentos de bigramas antes de empezar a dirigir la elección
+    private static final int INTENTOS_MINIMOS = 100;
 
     public LogicGame() {
+        this(WordCorpus.fromProperty());
+    }
+
+    public LogicGame(WordCorpus corpus) {
+        this(corpus, TimeControl.fromProperty());
+    }
+
+    public LogicGame(WordCorpus corpus, TimeControl curva) {
+        this(corpus, curva, ScoringPolicy.fromProperties(), new Random(), System::nanoTime);
+    }
+
+    public LogicGame(WordCorpus corpus, TimeControl curva, Random random, LongSupplier tiempo) {
+        this(corpus, curva, ScoringPolicy.fromProperties(), random, tiempo);
+    }
+
+    public LogicGame(WordCorpus corpus, TimeControl curva, ScoringPolicy politica, Random random,
+                     LongSupplier tiempo) {
         nivel = 1;
-        tiempoNivel = TimeControl.TIEMPO_INICIAL;
+        this.politica = politica;
+        this.modo = MatchMode.fromProperty();
+        matcher.setMode(modo);
+        this.random = random;
+        this.tiempo = tiempo;
+        this.corpus = corpus;
+        this.curva = curva;
+        int palabras = corpus != null ? corpus.size() : words.getLista().length;
+        planificador = new WordScheduler(palabras, Math.min(50, palabras / 2));
     }
 
     public String nuevaPalabra() {
-        String[] lista = words.getLista();
-        return lista[random.nextInt(lista.length)];
+        String palabra;
+        palabraDeSecuencia = secuencia != null && posicionSecuencia < secuencia.length;
+        if (palabraDeSecuencia) {
+            idActual = secuencia[posicionSecuencia++];
+            palabra = corpus != null ? corpus.get(idActual) : words.getLista()[idActual];
+        } else if (corpus != null) {
+            int[] rangos = corpus.entryRanges(CorpusQuery.forLevel(nivel));
+            idActual = palabraDirigida(corpus.getBigramIndex(), rangos);
+            if (idActual < 0) idActual = planificador.next(random, rangos);
+            if (idActual < 0) idActual = planificador.next(random);
+            palabra = corpus.get(idActual);
+        } else {
+            idActual = palabraDirigida(words.getIndiceBigramas(), null);
+            if (idActual < 0) idActual = planificador.next(random);
+            palabra = words.getLista()[idActual];
+        }
+        palabraActual = palabra;
+        matcher.resetFolded(plegada(idActual));
+        largoAnterior = 0;
+        return palabra;
     }
 
+    // Con bastantes datos, a veces se elige entre palabras con los bigramas más débiles del jugador:
+    // varias candidatas del índice invertido y se queda la que más debilidad acumula
+    private int palabraDirigida(BigramIndex indice, int[] rangos) {
+        if (indice == null || bigramas.getAttempts() < INTENTOS_MINIMOS) return -1;
+        if (random.nextDouble() >= PROPORCION_DIRIGIDA) return -1;
+        int debiles = bigramas.weakest(bigramasDebiles, debilidades);
+        if (debiles == 0) return -1;
+        double total = 0;
+        for (int k = 0; k < debiles; k++) total += debilidades[k];
 
-    public boolean validar(String escrito, String objetivo) {
-        if (escrito == null || objetivo == null) return false;
+        int mejor = -1;
+        double mejorPuntos = 0;
+        for (int c = 0; c < CANDIDATOS; c++) {
+            // Bigrama al azar, proporcional a su debilidad
+            double r = random.nextDouble() * total;
+            int k = 0;
+            while (k < debiles - 1 && (r -= debilidades[k]) >= 0) k++;
+            int id = indice.pick(bigramasDebiles[k], rangos, random);
+            if (id < 0 || id == idActual || planificador.isRecent(id)) continue;
+            double puntos = puntosDebilidad(corpus != null ? corpus.get(id) : words.getLista()[id]);
+            if (puntos > mejorPuntos) {
+                mejor = id;
+                mejorPuntos = puntos;
+            }
+        }
+        if (mejor >= 0) planificador.markShown(mejor);
+        return mejor;
+    }
+
+    // Suma de la debilidad de cada bigrama débil que aparece en la palabra
+    private double puntosDebilidad(String palabra) {
+        double puntos = 0;
+        for (int i = 1; i < palabra.length(); i++) {
+            int clave = BigramIndex.key(palabra.charAt(i - 1), palabra.charAt(i));
+            if (clave == BigramIndex.NONE) continue;
+            for (int k = 0; k < bigramasDebiles.length; k++) {
+                if (bigramasDebiles[k] == clave) {
+                    puntos += debilidades[k];
+                    break;
+                }
+            }
+        }
+        return puntos;
+    }
+
+    // Forma plegada de la palabra, cacheada en el corpus o en la lista interna
+    private String plegada(int id) {
+        return corpus != null ? corpus.getFolded(id, modo) : words.getPlegada(id, modo);
+    }
+
+    public WordCorpus getCorpus() {
+        return corpus;
+    }
+
+    // Fija las próximas palabras (ids del corpus o de la lista interna); null vuelve al planificador
+    public void setSecuencia(int[] ids) {
+        secuencia = ids;
+        posicionSecuencia = 0;
+        palabraDeSecuencia = false;
+        palabrasSecuencia = 0;
+        caracteresSecuencia = 0;
+    }
+
+    // Caracteres correctos desde el inicio de la secuencia (palabras superadas + prefijo actual)
+    public int getProgresoSecuencia() {
+        return caracteresSecuencia + (palabraDeSecuencia ? matcher.getCorrectPrefix() : 0);
+    }
+
+    // Caracteres de toda la secuencia, en la forma plegada que compara el juego
+    public int getLargoSecuencia() {
+        int largo = 0;
+        if (secuencia != null) {
+            for (int id : secuencia) largo += plegada(id).length();
+        }
+        return largo;
+    }
+
+    public boolean isSecuenciaTerminada() {
+        return secuencia != null && palabrasSecuencia == secuencia.length;
+    }
+
+    public MatchMode getModo() {
+        return modo;
+    }
 
+    // Cambia el modo de comparación; la palabra actual se vuelve a comparar con el nuevo modo
+    public void setModo(MatchMode modo) {
+        this.modo = modo;
+        matcher.setMode(modo);
+        if (palabraActual != null) matcher.resetFolded(plegada(idActual));
+    }
 
-        String e = escrito.trim();
-        String o = objetivo.trim();
+    // Se llama en cada pulsación con todo el texto escrito hasta ahora
+    public void actualizarEscritura(String escrito) {
+        int prefijoAntes = matcher.getCorrectPrefix();
+        boolean bienAntes = matcher.isOnTrack();
+        matcher.update(escrito);
 
+        // Un carácter añadido al final es una pulsación; cualquier borrado cuenta como uno
+        long ahora = tiempo.getAsLong();
+        int largo = escrito == null ? 0 : escrito.length();
+        if (largo == largoAnterior + 1) {
+            estadisticas.record(ahora, escrito.charAt(largo - 1), matcher.isOnTrack());
+            if (bienAntes) registrarBigrama(prefijoAntes, ahora);
+            ultimaPulsacion = ahora;
+        } else if (largo < largoAnterior) {
+            estadisticas.record(ahora, KeystrokeStats.DELETE, false);
+            ultimaPulsacion = ahora;
+        }
+        largoAnterior = largo;
+    }
 
-        e = Normalizer.normalize(e, Normalizer.Form.NFKC);
-        o = Normalizer.normalize(o, Normalizer.Form.NFKC);
+    // La pulsación debía escribir la letra objetivo[prefijoAntes]: acierto si el prefijo avanzó
+    private void registrarBigrama(int prefijoAntes, long ahora) {
+        String objetivo = matcher.getTarget();
+        if (prefijoAntes < 1 || prefijoAntes >= objetivo.length()) return;
+        int clave = BigramIndex.key(objetivo.charAt(prefijoAntes - 1), objetivo.charAt(prefijoAntes));
+        if (!matcher.isOnTrack()) {
+            bigramas.record(clave, true, -1);
+        } else if (matcher.getCorrectPrefix() == prefijoAntes + 1) {
+            bigramas.record(clave, false, ultimaPulsacion < 0 ? -1 : ahora - ultimaPulsacion);
+        }
+    }
 
+    // Para cambios del texto que no hizo el jugador (p. ej. limpiar el campo)
+    public void ignorarEscritura(String escrito) {
+        matcher.update(escrito);
+        largoAnterior = escrito == null ? 0 : escrito.length();
+    }
+
+    public BigramStats getBigramas() {
+        return bigramas;
+    }
 
-        return e.equals(o);
+    public KeystrokeStats getEstadisticas() {
+        return estadisticas;
+    }
+
+    // Resumen de la sesión; reinicia las estadísticas para la siguiente
+    public SessionSummary cerrarSesion() {
+        SessionSummary resumen = estadisticas.summary(palabrasCompletadas, nivel);
+        estadisticas.reset();
+        palabrasCompletadas = 0;
+        return resumen;
+    }
+
+    public int getPrefijoCorrecto() {
+        return matcher.getCorrectPrefix();
+    }
+
+    // Posición del primer carácter incorrecto, o -1 si todo va bien
+    public int getPrimerError() {
+        return matcher.getFirstError();
+    }
+
+    public boolean isPalabraCompleta() {
+        return matcher.isComplete();
+    }
+
+
+    // true si el texto aprueba, limpio o con penalización (ver getVeredicto)
+    public boolean validar(String escrito, String objetivo) {
+        if (escrito == null || objetivo == null) return false;
+
+        long inicio = System.nanoTime();
+        if (objetivo.equals(palabraActual)) {
+            // La palabra actual ya está normalizada y plegada en el matcher
+            matcher.update(escrito);
+            if (matcher.isComplete()) {
+                veredicto = ScoringPolicy.Verdict.PASS;
+                precision = 1.0;
+            } else {
+                calificador.score(plegar(escrito), matcher.getTarget());
+                veredicto = politica.verdict(calificador);
+                precision = calificador.getAccuracy();
+            }
+            planificador.record(idActual, veredicto == ScoringPolicy.Verdict.PASS,
+                    reloj.elapsedMillis(tiempo.getAsLong()), matcher.getTarget().length());
+        } else {
+            calificador.score(plegar(escrito), modo.normalizeAndFold(objetivo));
+            veredicto = politica.verdict(calificador);
+            precision = calificador.getAccuracy();
+        }
+        boolean aprobado = veredicto != ScoringPolicy.Verdict.FAIL;
+        TypingMetrics.VALIDATION_LATENCY.observeNanos(System.nanoTime() - inicio);
+        (aprobado ? TypingMetrics.WORDS_CORRECT : TypingMetrics.WORDS_FAILED).inc();
+        if (veredicto == ScoringPolicy.Verdict.PASS_WITH_PENALTY) TypingMetrics.WORDS_PENALIZED.inc();
+        return aprobado;
+    }
+
+    // Pliega con la tabla del modo; solo se normaliza (y se reserva memoria) si hace falta
+    private CharSequence plegar(String escrito) {
+        return modo.fold(escrito, escritoPlegado) ? escritoPlegado : modo.normalizeAndFold(escrito);
+    }
+
+    // Resultado de la última validación
+    public ScoringPolicy.Verdict getVeredicto() {
+        return veredicto;
+    }
+
+    // Precisión de la última validación (1 = exacta)
+    public double getPrecision() {
+        return precision;
     }
 
     public void subirNivel() {
-        nivel++;
-        if (nivel % 5 == 0 && tiempoNivel > TimeControl.TIEMPO_MINIMO) {
-            tiempoNivel -= TimeControl.REDUCCION_TIEMPO;
+        if (palabraDeSecuencia) {
+            palabraDeSecuencia = false;
+            palabrasSecuencia++;
+            caracteresSecuencia += matcher.getTarget().length();
         }
+        palabrasCompletadas++;
+        nivel++;
     }
 
     public int getNivel() {
         return nivel;
     }
 
-    public int getTiempoNivel() {
-        return tiempoNivel;
+    public long getTiempoNivelMillis() {
+        // Un aprobado con penalización acorta el nivel siguiente
+        return politica.tiempoConPenalizacion(curva.tiempoParaNivel(nivel), veredicto);
+    }
+
+    public LevelClock getReloj() {
+        return reloj;
     }
 }
\ No newline at end of file
@@ -1,7 +1,52 @@
 package com.proyecto.EscrituraRapida.model;
 
+// Curva de dificultad: tiempo para escribir la palabra de cada nivel.
+// Empieza en initialMillis y baja reductionMillis cada levelsPerStep niveles, sin pasar
+// de minimumMillis. Los valores clásicos (20 s, 2 s menos cada 5 niveles, mínimo 2 s)
+// siguen en las constantes y en NORMAL.
 public class TimeControl {
     public static final int TIEMPO_INICIAL = 20;
     public static final int TIEMPO_MINIMO = 2;
     public static final int REDUCCION_TIEMPO = 2;
+    public static final int NIVELES_POR_REDUCCION = 5;
+
+    // facil, normal o dificil
+    public static final String DIFICULTAD_PROPERTY = "escritura.dificultad";
+
+    public static final TimeControl FACIL = new TimeControl(30_000, 5_000, 2_000, 5);
+    public static final TimeControl NORMAL = new TimeControl(TIEMPO_INICIAL * 1000L, TIEMPO_MINIMO * 1000L,
+            REDUCCION_TIEMPO * 1000L, NIVELES_POR_REDUCCION);
+    public static final TimeControl DIFICIL = new TimeControl(12_000, 1_500, 1_000, 3);
+
+    private final long initialMillis;
+    private final long minimumMillis;
+    private final long reductionMillis;
+    private final int levelsPerStep;
+
+    public TimeControl(long initialMillis, long minimumMillis, long reductionMillis, int levelsPerStep) {
+        if (minimumMillis <= 0 || initialMillis < minimumMillis || reductionMillis < 0 || levelsPerStep <= 0) {
+            throw new IllegalArgumentException("Curva de dificultad no válida");
+        }
+        this.initialMillis = initialMillis;
+        this.minimumMillis = minimumMillis;
+        this.reductionMillis = reductionMillis;
+        this.levelsPerStep = levelsPerStep;
+    }
+
+    // Sin propiedad o con un nombre desconocido se juega en NORMAL
+    public static TimeControl fromProperty() {
+        String name = System.getProperty(DIFICULTAD_PROPERTY, "normal");
+        return switch (name.trim().toLowerCase()) {
+            case "facil", "fácil" -> FACIL;
+            case "dificil", "difícil" -> DIFICIL;
+            default -> NORMAL;
+        };
+    }
+
+    // En milisegundos; nivel 1 = primero
+    public long tiempoParaNivel(int nivel) {
+        long steps = Math.max(0, nivel) / levelsPerStep;
+        long time = initialMillis - steps * reductionMillis;
+        return Math.max(minimumMillis, time);
+    }
 }
\ No newline at end of file
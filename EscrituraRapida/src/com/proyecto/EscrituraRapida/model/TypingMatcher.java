@@ -0,0 +1,108 @@
+package com.proyecto.EscrituraRapida.model;
+
+import com.proyecto.EscrituraRapida.model.folding.MatchMode;
+
+// Compara lo escrito con la palabra objetivo en cada pulsación, sin crear objetos.
+// El objetivo se normaliza (NFKC) y se pliega una vez por palabra; lo escrito solo
+// se normaliza si trae algo que la tabla del modo no pliega sola, como una tilde
+// tecleada aparte en el modo exacto.
+public class TypingMatcher {
+
+    private MatchMode mode = MatchMode.EXACT;
+    private String target = "";
+
+    private int correctPrefix;
+    private int firstError = -1;
+    private boolean complete;
+
+    // Se aplica a partir del siguiente objetivo
+    public void setMode(MatchMode mode) {
+        this.mode = mode;
+    }
+
+    public MatchMode getMode() {
+        return mode;
+    }
+
+    public void reset(String objetivo) {
+        resetFolded(objetivo == null ? "" : mode.normalizeAndFold(objetivo));
+    }
+
+    // Objetivo ya plegado para el modo actual (p. ej. sacado de una FoldCache)
+    public void resetFolded(String plegado) {
+        target = plegado;
+        correctPrefix = 0;
+        firstError = -1;
+        complete = target.isEmpty();
+    }
+
+    public void update(CharSequence escrito) {
+        if (escrito == null) escrito = "";
+        if (!compare(escrito, false)) {
+            compare(mode.normalizeAndFold(escrito), true);
+        }
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public int getCorrectPrefix() {
+        return correctPrefix;
+    }
+
+    // Posición del primer error en caracteres del objetivo, o -1 si todo va bien
+    public int getFirstError() {
+        return firstError;
+    }
+
+    public boolean isOnTrack() {
+        return firstError < 0;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    // Recorre lo escrito contra el objetivo, ignorando los espacios de los extremos como validar().
+    // Devuelve false si el resultado depende de normalizar antes lo escrito.
+    private boolean compare(CharSequence escrito, boolean normalized) {
+        int length = escrito.length();
+        int start = 0;
+        while (start < length && escrito.charAt(start) <= ' ') start++;
+        int end = length;
+        while (end > start && escrito.charAt(end - 1) <= ' ') end--;
+
+        int matched = 0;
+        int i = start;
+        while (i < end) {
+            // El texto normalizado ya viene plegado por normalizeAndFold
+            char typed = normalized ? escrito.charAt(i) : mode.fold(escrito.charAt(i));
+            if (!normalized && typed == MatchMode.DROP) {
+                i++;
+                continue;
+            }
+            if (!normalized && typed == MatchMode.NORMALIZE) return false;
+            if (matched == target.length() || typed != target.charAt(matched)) {
+                // Una marca combinante justo detrás aún puede convertirlo en el esperado
+                if (!normalized && i + 1 < end && mode.fold(escrito.charAt(i + 1)) == MatchMode.NORMALIZE) {
+                    return false;
+                }
+                break;
+            }
+            matched++;
+            i++;
+        }
+
+        correctPrefix = matched;
+        if (i == end) {
+            // Todo lo escrito coincide (los espacios finales ya se quitaron)
+            firstError = -1;
+            complete = matched == target.length();
+        } else {
+            firstError = matched;
+            complete = false;
+        }
+        return true;
+    }
+}
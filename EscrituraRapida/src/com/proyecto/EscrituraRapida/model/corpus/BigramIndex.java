@@ -0,0 +1,179 @@
+package com.proyecto.EscrituraRapida.model.corpus;
+
+import com.proyecto.EscrituraRapida.model.folding.MatchMode;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+// Índice invertido de bigramas (dos letras seguidas, sin distinguir mayúsculas pero sí
+// acentos) a las entradas que los contienen. Se construye en una pasada y una ordenación
+// por conteo deja un único array de ids, agrupado por bigrama y ordenado dentro de cada
+// grupo; así las entradas de un bigrama dentro de los rangos de un nivel salen con dos
+// búsquedas binarias por rango. Inmutable: se comparte entre hilos.
+public final class BigramIndex {
+
+    // Clave de un par que no se indexa (con espacios o fuera de la tabla de plegado)
+    public static final int NONE = 0;
+
+    private final int[] table;      // direccionamiento abierto: clave del bigrama, o NONE
+    private final int[] tableGroup; // grupo de cada clave de la tabla
+    private final int mask;
+    private final int[] groupStart; // grupos + 1
+    private final int[] postings;
+    private final int entries;
+
+    private BigramIndex(int[] table, int[] tableGroup, int[] groupStart, int[] postings, int entries) {
+        this.table = table;
+        this.tableGroup = tableGroup;
+        this.mask = table.length - 1;
+        this.groupStart = groupStart;
+        this.postings = postings;
+        this.entries = entries;
+    }
+
+    public static int key(char a, char b) {
+        char fa = MatchMode.CASE_FOLD.fold(a);
+        char fb = MatchMode.CASE_FOLD.fold(b);
+        if (fa <= ' ' || fb <= ' ' || fa >= MatchMode.NORMALIZE || fb >= MatchMode.NORMALIZE) return NONE;
+        return fa << 16 | fb;
+    }
+
+    public static String text(int key) {
+        return new String(new char[] {(char) (key >>> 16), (char) key});
+    }
+
+    public static BigramIndex build(int count, IntFunction<? extends CharSequence> entries) {
+        // Clave del bigrama -> grupo; crece a medida que aparecen bigramas nuevos
+        int[] table = new int[1024];
+        int[] tableGroup = new int[1024];
+        int groups = 0;
+
+        int[] pairGroup = new int[Math.max(16, count * 4)];
+        int[] pairId = new int[pairGroup.length];
+        int pairs = 0;
+        int[] seen = new int[32];
+
+        for (int id = 0; id < count; id++) {
+            CharSequence entry = entries.apply(id);
+            int distinct = 0;
+            for (int i = 1; i < entry.length(); i++) {
+                int key = key(entry.charAt(i - 1), entry.charAt(i));
+                if (key == NONE) continue;
+
+                int slot = slot(table, key);
+                if (table[slot] == NONE) {
+                    table[slot] = key;
+                    tableGroup[slot] = groups++;
+                    if (groups * 2 > table.length) {
+                        int[][] grown = rehash(table, tableGroup);
+                        table = grown[0];
+                        tableGroup = grown[1];
+                        slot = slot(table, key);
+                    }
+                }
+                int group = tableGroup[slot];
+
+                // El mismo bigrama dos veces en una entrada cuenta una sola vez
+                boolean repeated = false;
+                for (int k = 0; k < distinct && !repeated; k++) repeated = seen[k] == group;
+                if (repeated) continue;
+                if (distinct == seen.length) seen = Arrays.copyOf(seen, distinct * 2);
+                seen[distinct++] = group;
+
+                if (pairs == pairGroup.length) {
+                    pairGroup = Arrays.copyOf(pairGroup, pairs + (pairs >> 1));
+                    pairId = Arrays.copyOf(pairId, pairGroup.length);
+                }
+                pairGroup[pairs] = group;
+                pairId[pairs++] = id;
+            }
+        }
+
+        // Ordenación por conteo por grupo; los ids quedan crecientes dentro de cada grupo
+        int[] groupStart = new int[groups + 1];
+        for (int p = 0; p < pairs; p++) groupStart[pairGroup[p] + 1]++;
+        for (int g = 0; g < groups; g++) groupStart[g + 1] += groupStart[g];
+        int[] fill = Arrays.copyOf(groupStart, groups);
+        int[] postings = new int[pairs];
+        for (int p = 0; p < pairs; p++) postings[fill[pairGroup[p]]++] = pairId[p];
+
+        return new BigramIndex(table, tableGroup, groupStart, postings, count);
+    }
+
+    public int entries() {
+        return entries;
+    }
+
+    public int bigrams() {
+        return groupStart.length - 1;
+    }
+
+    public int count(int key) {
+        int group = group(key);
+        return group < 0 ? 0 : groupStart[group + 1] - groupStart[group];
+    }
+
+    // Entrada al azar con el bigrama dentro de los rangos [inicio, fin) (null = cualquiera); -1 si no hay
+    public int pick(int key, int[] ranges, Random random) {
+        int group = group(key);
+        if (group < 0) return -1;
+        int from = groupStart[group];
+        int to = groupStart[group + 1];
+        if (ranges == null) {
+            return from == to ? -1 : postings[from + random.nextInt(to - from)];
+        }
+        // Las entradas del bigrama dentro de cada rango son un tramo seguido de los ids ordenados
+        int total = 0;
+        for (int r = 0; r < ranges.length; r += 2) {
+            total += lowerBound(from, to, ranges[r + 1]) - lowerBound(from, to, ranges[r]);
+        }
+        if (total == 0) return -1;
+        int pick = random.nextInt(total);
+        for (int r = 0; r < ranges.length; r += 2) {
+            int start = lowerBound(from, to, ranges[r]);
+            int inRange = lowerBound(from, to, ranges[r + 1]) - start;
+            if (pick < inRange) return postings[start + pick];
+            pick -= inRange;
+        }
+        return -1;
+    }
+
+    private int group(int key) {
+        if (key == NONE) return -1;
+        int slot = slot(table, key);
+        return table[slot] == key ? tableGroup[slot] : -1;
+    }
+
+    // Primera posición de [from, to) con un id >= id
+    private int lowerBound(int from, int to, int id) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (postings[mid] < id) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Posición de key en la tabla, o el hueco donde iría
+    private static int slot(int[] table, int key) {
+        int mask = table.length - 1;
+        int slot = (key * 0x9E3779B9) >>> 7 & mask;
+        while (table[slot] != NONE && table[slot] != key) slot = slot + 1 & mask;
+        return slot;
+    }
+
+    private static int[][] rehash(int[] table, int[] tableGroup) {
+        int[] keys = new int[table.length * 2];
+        int[] groups = new int[keys.length];
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] == NONE) continue;
+            int slot = slot(keys, table[i]);
+            keys[slot] = table[i];
+            groups[slot] = tableGroup[i];
+        }
+        return new int[][] {keys, groups};
+    }
+}
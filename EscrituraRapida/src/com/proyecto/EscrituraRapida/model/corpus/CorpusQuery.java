@@ -0,0 +1,22 @@
+package com.proyecto.EscrituraRapida.model.corpus;
+
+// Entradas del corpus que tocan en un nivel: largo en caracteres, y si admite
+// acentos (cualquier letra fuera de ASCII) y frases de varias palabras.
+public record CorpusQuery(int minLength, int maxLength, boolean accents, boolean phrases) {
+
+    public static final CorpusQuery ANY = new CorpusQuery(1, Integer.MAX_VALUE, true, true);
+
+    // Primero palabras cortas sin acentos; luego más largas, con acentos y al final frases
+    public static CorpusQuery forLevel(int level) {
+        if (level < 5) return new CorpusQuery(3, 6, false, false);
+        if (level < 10) return new CorpusQuery(4, 9, true, false);
+        if (level < 15) return new CorpusQuery(6, 14, true, false);
+        return new CorpusQuery(8, Integer.MAX_VALUE, true, true);
+    }
+
+    boolean matches(int length, boolean accented, boolean phrase) {
+        return length >= minLength && length <= maxLength
+                && (accents || !accented)
+                && (phrases || !phrase);
+    }
+}
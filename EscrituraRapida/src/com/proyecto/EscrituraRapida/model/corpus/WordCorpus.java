@@ -0,0 +1,331 @@
+package com.proyecto.EscrituraRapida.model.corpus;
+
+import com.proyecto.EscrituraRapida.model.folding.FoldCache;
+import com.proyecto.EscrituraRapida.model.folding.MatchMode;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Corpus de palabras y frases leído de un índice mapeado en memoria.
+// Las listas son texto UTF-8, una entrada por línea (se saltan las vacías y las que empiezan
+// por '#'). Se compilan una vez en un índice junto a la primera lista, que solo se rehace si
+// cambia alguna. Formato del índice, con las entradas agrupadas por largo, acentos y frase:
+//   int magic 'ERCX', int versión, long huella de las listas
+//   int número de entradas, int número de cubos
+//   int primera entrada de cada cubo (cubos + 1)
+//   int desplazamiento de cada entrada en los datos (entradas + 1)
+//   byte datos
+// Abrir solo mapea el archivo, así que tarda milisegundos con cientos de miles de entradas;
+// al sortear solo se decodifica la cadena elegida.
+public final class WordCorpus implements Closeable {
+
+    // Listas separadas por el separador de rutas del sistema
+    public static final String CORPUS_PROPERTY = "escritura.corpus";
+
+    private static final int MAGIC = 0x45524358; // "ERCX"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+
+    // Largos 1..31 (31 = "31 o más") × con o sin acentos × palabra o frase
+    private static final int MAX_LENGTH_CLASS = 31;
+    private static final int BUCKETS = (MAX_LENGTH_CLASS + 1) * 4;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final int entryCount;
+    private final int[] bucketStart;
+    private final IntBuffer offsets;
+    private final int dataStart;
+
+    // Cubos y cuentas acumuladas de cada consulta, calculados la primera vez
+    private final Map<CorpusQuery, int[][]> selections = new ConcurrentHashMap<>();
+
+    private final FoldCache folded;
+
+    // Índice de bigramas, construido en segundo plano la primera vez que se pide
+    private volatile BigramIndex bigramIndex;
+    private final AtomicBoolean bigramIndexRequested = new AtomicBoolean();
+
+    private WordCorpus(FileChannel channel, MappedByteBuffer mapped) throws IOException {
+        this.channel = channel;
+        this.mapped = mapped;
+        if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+            throw new IOException("Not a corpus index");
+        }
+        entryCount = mapped.getInt(16);
+        // Sin entradas no hay nada que sortear: mejor la lista interna que un índice -1
+        if (entryCount == 0) throw new IOException("The corpus lists have no entries");
+        int buckets = mapped.getInt(20);
+        if (buckets != BUCKETS) throw new IOException("Unsupported corpus index layout");
+        bucketStart = new int[buckets + 1];
+        mapped.slice(HEADER_BYTES, (buckets + 1) * 4).asIntBuffer().get(bucketStart);
+        int offsetsStart = HEADER_BYTES + (buckets + 1) * 4;
+        offsets = mapped.slice(offsetsStart, (entryCount + 1) * 4).asIntBuffer();
+        dataStart = offsetsStart + (entryCount + 1) * 4;
+        folded = new FoldCache(entryCount, this::get);
+    }
+
+    // null si no hay propiedad, no se pueden leer las listas o no tienen entradas:
+    // el juego usa entonces la lista interna
+    public static WordCorpus fromProperty() {
+        String value = System.getProperty(CORPUS_PROPERTY);
+        if (value == null || value.isBlank()) return null;
+        List<Path> sources = new ArrayList<>();
+        for (String part : value.split(java.io.File.pathSeparator)) {
+            if (!part.isBlank()) sources.add(Path.of(part.strip()));
+        }
+        if (sources.isEmpty()) return null;
+        try {
+            return open(sources);
+        } catch (IOException e) {
+            System.err.println("No se pudo cargar el corpus, se usa la lista interna: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public static WordCorpus open(List<Path> sources) throws IOException {
+        Path first = sources.get(0);
+        return open(sources, first.resolveSibling(first.getFileName() + ".idx"));
+    }
+
+    // El índice se rehace si falta o si las listas cambiaron
+    public static WordCorpus open(List<Path> sources, Path index) throws IOException {
+        long fingerprint = fingerprint(sources);
+        if (!isCurrent(index, fingerprint)) {
+            build(sources, index, fingerprint);
+        }
+        FileChannel channel = FileChannel.open(index, StandardOpenOption.READ);
+        try {
+            return new WordCorpus(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return entryCount;
+    }
+
+    public int count(CorpusQuery query) {
+        int[] cumulative = selection(query)[1];
+        return cumulative.length == 0 ? 0 : cumulative[cumulative.length - 1];
+    }
+
+    // Cubo según las cuentas acumuladas y luego una entrada dentro; null si no hay ninguna
+    public String sample(CorpusQuery query, Random random) {
+        int[][] selection = selection(query);
+        int[] buckets = selection[0];
+        int[] cumulative = selection[1];
+        if (cumulative.length == 0) return null;
+        int pick = random.nextInt(cumulative[cumulative.length - 1]);
+        int k = Arrays.binarySearch(cumulative, pick + 1);
+        if (k < 0) k = -k - 1;
+        int before = k == 0 ? 0 : cumulative[k - 1];
+        return get(bucketStart[buckets[k]] + (pick - before));
+    }
+
+    // Pares [inicio, fin) de índices, para quien sortea por su cuenta (WordScheduler); no modificar
+    public int[] entryRanges(CorpusQuery query) {
+        return selection(query)[2];
+    }
+
+    public String get(int i) {
+        int start = offsets.get(i);
+        int end = offsets.get(i + 1);
+        byte[] bytes = new byte[end - start];
+        mapped.get(dataStart + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Cada entrada se pliega la primera vez que se pide; plegarlo todo al abrir lo haría lento
+    public String getFolded(int i, MatchMode mode) {
+        return folded.get(i, mode);
+    }
+
+    // null mientras se construye; la primera llamada lo empieza en otro hilo para no esperar
+    public BigramIndex getBigramIndex() {
+        BigramIndex index = bigramIndex;
+        if (index == null && bigramIndexRequested.compareAndSet(false, true)) {
+            Thread builder = new Thread(() -> bigramIndex = BigramIndex.build(entryCount, this::get),
+                    "escritura-bigramas");
+            builder.setDaemon(true);
+            builder.start();
+        }
+        return index;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Cubos no vacíos que admite la consulta, sus cuentas acumuladas y sus rangos de entradas
+    private int[][] selection(CorpusQuery query) {
+        return selections.computeIfAbsent(query, q -> {
+            int[] buckets = new int[BUCKETS];
+            int[] cumulative = new int[BUCKETS];
+            int n = 0;
+            int total = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                int count = bucketStart[bucket + 1] - bucketStart[bucket];
+                if (count == 0) continue;
+                int lengthClass = bucket >> 2;
+                boolean accented = (bucket & 2) != 0;
+                boolean phrase = (bucket & 1) != 0;
+                // La última clase de largo también tiene todas las entradas más largas
+                if (!q.matches(lengthClass, accented, phrase)) continue;
+                total += count;
+                buckets[n] = bucket;
+                cumulative[n++] = total;
+            }
+            int[] ranges = new int[n * 2];
+            for (int k = 0; k < n; k++) {
+                ranges[2 * k] = bucketStart[buckets[k]];
+                ranges[2 * k + 1] = bucketStart[buckets[k] + 1];
+            }
+            return new int[][] { Arrays.copyOf(buckets, n), Arrays.copyOf(cumulative, n), ranges };
+        });
+    }
+
+    private static int bucketOf(String entry) {
+        int length = entry.codePointCount(0, entry.length());
+        boolean accented = false;
+        boolean phrase = false;
+        for (int i = 0; i < entry.length(); i++) {
+            char c = entry.charAt(i);
+            if (c > 0x7F) accented = true;
+            else if (c == ' ') phrase = true;
+        }
+        int lengthClass = Math.min(length, MAX_LENGTH_CLASS);
+        return (lengthClass << 2) | (accented ? 2 : 0) | (phrase ? 1 : 0);
+    }
+
+    // Siguiente entrada útil de una lista, o null al final
+    private static String nextEntry(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            // Un solo espacio entre las palabras de una frase
+            if (line.contains("  ") || line.indexOf('\t') >= 0) {
+                line = line.replaceAll("\\s+", " ");
+            }
+            return Normalizer.normalize(line, Normalizer.Form.NFC);
+        }
+        return null;
+    }
+
+    // Dos pasadas por las listas: la primera cuenta entradas y bytes por cubo, la segunda
+    // coloca cada entrada directamente en su sitio. El índice se arma en memoria y se escribe
+    // por el canal: un archivo mapeado no se puede mover ni reemplazar en Windows.
+    private static void build(List<Path> sources, Path index, long fingerprint) throws IOException {
+        int[] entries = new int[BUCKETS];
+        long[] bytes = new long[BUCKETS];
+        for (Path source : sources) {
+            try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+                String entry;
+                while ((entry = nextEntry(reader)) != null) {
+                    int bucket = bucketOf(entry);
+                    entries[bucket]++;
+                    bytes[bucket] += entry.getBytes(StandardCharsets.UTF_8).length;
+                }
+            }
+        }
+
+        int[] bucketStart = new int[BUCKETS + 1];
+        long[] byteCursor = new long[BUCKETS];
+        long totalBytes = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            bucketStart[bucket + 1] = bucketStart[bucket] + entries[bucket];
+            byteCursor[bucket] = totalBytes;
+            totalBytes += bytes[bucket];
+        }
+        int entryCount = bucketStart[BUCKETS];
+        long offsetsStart = HEADER_BYTES + (BUCKETS + 1) * 4L;
+        long dataStart = offsetsStart + (entryCount + 1) * 4L;
+        if (dataStart + totalBytes > Integer.MAX_VALUE) {
+            throw new IOException("Corpus too large for a single index");
+        }
+
+        ByteBuffer head = ByteBuffer.allocate((int) dataStart);
+        head.putInt(MAGIC).putInt(VERSION).putLong(fingerprint).putInt(entryCount).putInt(BUCKETS);
+        for (int bucket = 0; bucket <= BUCKETS; bucket++) {
+            head.putInt(bucketStart[bucket]);
+        }
+        byte[] data = new byte[(int) totalBytes];
+        int[] entryCursor = Arrays.copyOf(bucketStart, BUCKETS);
+        for (Path source : sources) {
+            try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+                String entry;
+                while ((entry = nextEntry(reader)) != null) {
+                    int bucket = bucketOf(entry);
+                    byte[] utf8 = entry.getBytes(StandardCharsets.UTF_8);
+                    int position = (int) byteCursor[bucket];
+                    head.putInt((int) offsetsStart + entryCursor[bucket]++ * 4, position);
+                    System.arraycopy(utf8, 0, data, position, utf8.length);
+                    byteCursor[bucket] += utf8.length;
+                }
+            }
+        }
+        head.putInt((int) offsetsStart + entryCount * 4, (int) totalBytes);
+        head.clear();
+
+        Path tmp = Files.createTempFile(index.toAbsolutePath().getParent(), "corpus", ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                ByteBuffer[] parts = {head, ByteBuffer.wrap(data)};
+                while (head.hasRemaining() || parts[1].hasRemaining()) out.write(parts);
+                out.force(true);
+            }
+            try {
+                Files.move(tmp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // En Windows falla si otro corpus abierto tiene mapeado el índice: se sigue con el
+                // anterior y se reintenta en la próxima apertura
+                if (!Files.isRegularFile(index)) throw e;
+                System.err.println("No se pudo reemplazar el índice del corpus, se usa el anterior: " + e.getMessage());
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static boolean isCurrent(Path index, long fingerprint) throws IOException {
+        if (!Files.isRegularFile(index) || Files.size(index) < HEADER_BYTES) return false;
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            channel.read(header, 0);
+            return header.getInt(0) == MAGIC && header.getInt(4) == VERSION && header.getLong(8) == fingerprint;
+        }
+    }
+
+    // Huella de las listas: ruta, tamaño y fecha de modificación
+    private static long fingerprint(List<Path> sources) throws IOException {
+        long hash = 1125899906842597L;
+        for (Path source : sources) {
+            hash = 31 * hash + source.toAbsolutePath().normalize().toString().hashCode();
+            hash = 31 * hash + Files.size(source);
+            hash = 31 * hash + Files.getLastModifiedTime(source).toMillis();
+        }
+        return hash;
+    }
+}
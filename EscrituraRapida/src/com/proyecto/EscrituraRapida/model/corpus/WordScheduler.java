@@ -0,0 +1,165 @@
+package com.proyecto.EscrituraRapida.model.corpus;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Elige la siguiente palabra para que vuelvan las difíciles y no se repitan las recientes.
+// Una palabra fallada duplica su peso, una lenta gana medio peso base y una bien escrita
+// vuelve poco a poco al peso base. Las últimas recentLimit elegidas pesan 0 mientras siguen
+// en la ventana. Los pesos efectivos van en un árbol de Fenwick: actualizar y sortear es
+// O(log n) aunque haya cientos de miles de palabras.
+public class WordScheduler {
+
+    public static final int BASE_WEIGHT = 1000;
+
+    private static final int MAX_WEIGHT = 64 * BASE_WEIGHT;
+
+    // Lenta: este número de veces más lenta que el ritmo medio
+    private static final double SLOW_FACTOR = 1.5;
+
+    private final int size;
+    private final long[] tree;
+    private final int[] weight;
+
+    // Anillo con las últimas elegidas; -1 es un hueco
+    private final int[] recent;
+    private int recentHead;
+    private final boolean[] suppressed;
+
+    // Media móvil de milisegundos por carácter de las palabras acertadas
+    private double msPerChar;
+
+    public WordScheduler(int size, int recentLimit) {
+        this.size = size;
+        this.tree = new long[size + 1];
+        this.weight = new int[size];
+        this.suppressed = new boolean[size];
+        this.recent = new int[Math.max(0, Math.min(recentLimit, size - 1))];
+        Arrays.fill(recent, -1);
+        // Construcción lineal del árbol con todos los pesos en el valor base
+        for (int i = 1; i <= size; i++) {
+            weight[i - 1] = BASE_WEIGHT;
+            tree[i] += BASE_WEIGHT;
+            int parent = i + (i & -i);
+            if (parent <= size) tree[parent] += tree[i];
+        }
+    }
+
+    public int next(Random random) {
+        return next(random, new int[] { 0, size });
+    }
+
+    // ranges: pares [inicio, fin) de ids, como WordCorpus.entryRanges; -1 si están vacíos
+    public int next(Random random, int[] ranges) {
+        long total = 0;
+        for (int k = 0; k < ranges.length; k += 2) {
+            total += prefix(ranges[k + 1]) - prefix(ranges[k]);
+        }
+        int id;
+        if (total == 0) {
+            // Todo lo permitido salió hace poco: se elige al azar entre ello
+            int count = 0;
+            for (int k = 0; k < ranges.length; k += 2) count += ranges[k + 1] - ranges[k];
+            if (count == 0) return -1;
+            int pick = random.nextInt(count);
+            int k = 0;
+            while (pick >= ranges[k + 1] - ranges[k]) {
+                pick -= ranges[k + 1] - ranges[k];
+                k += 2;
+            }
+            id = ranges[k] + pick;
+        } else {
+            long pick = (long) (random.nextDouble() * total);
+            int k = 0;
+            long rangeWeight;
+            while (pick >= (rangeWeight = prefix(ranges[k + 1]) - prefix(ranges[k]))) {
+                pick -= rangeWeight;
+                k += 2;
+            }
+            id = find(prefix(ranges[k]) + pick);
+        }
+        markRecent(id);
+        return id;
+    }
+
+    public void record(int id, boolean correct, long millis, int length) {
+        int w = weight[id];
+        if (!correct) {
+            w = Math.min(MAX_WEIGHT, w * 2);
+        } else {
+            double pace = (double) millis / Math.max(1, length);
+            boolean slow = msPerChar > 0 && pace > msPerChar * SLOW_FACTOR;
+            msPerChar = msPerChar == 0 ? pace : msPerChar * 0.9 + pace * 0.1;
+            w = slow ? Math.min(MAX_WEIGHT, w + BASE_WEIGHT / 2) : Math.max(BASE_WEIGHT, w * 3 / 4);
+        }
+        setWeight(id, w);
+    }
+
+    // Para palabras elegidas fuera de next(), p. ej. por bigramas débiles
+    public void markShown(int id) {
+        markRecent(id);
+    }
+
+    public boolean isRecent(int id) {
+        return suppressed[id];
+    }
+
+    // Sin tener en cuenta si está en la ventana de recientes
+    public int getWeight(int id) {
+        return weight[id];
+    }
+
+    private void setWeight(int id, int w) {
+        int before = suppressed[id] ? 0 : weight[id];
+        weight[id] = w;
+        if (!suppressed[id]) add(id, w - before);
+    }
+
+    private void markRecent(int id) {
+        if (recent.length == 0) return;
+        int evicted = recent[recentHead];
+        if (evicted >= 0 && evicted != id) {
+            suppressed[evicted] = false;
+            add(evicted, weight[evicted]);
+        }
+        if (!suppressed[id]) {
+            suppressed[id] = true;
+            add(id, -weight[id]);
+        } else {
+            // Ya estaba en la ventana: se vacía su hueco anterior para devolverle el peso una sola vez
+            for (int k = 0; k < recent.length; k++) {
+                if (recent[k] == id) recent[k] = -1;
+            }
+        }
+        recent[recentHead] = id;
+        recentHead = (recentHead + 1) % recent.length;
+    }
+
+    private void add(int id, long delta) {
+        for (int i = id + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Suma de los pesos efectivos de [0, end)
+    private long prefix(int end) {
+        long sum = 0;
+        for (int i = end; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    // Id cuyo tramo de peso acumulado contiene target
+    private int find(long target) {
+        int pos = 0;
+        for (int step = Integer.highestOneBit(Math.max(1, size)); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= size && tree[next] <= target) {
+                pos = next;
+                target -= tree[next];
+            }
+        }
+        return pos;
+    }
+}
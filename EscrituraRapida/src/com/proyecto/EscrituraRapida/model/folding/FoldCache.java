@@ -0,0 +1,45 @@
+package com.proyecto.EscrituraRapida.model.folding;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+// Forma plegada de cada palabra de una lista, calculada la primera vez que se pide.
+// Se puede compartir entre hilos: si dos pliegan la misma palabra a la vez guardan lo mismo.
+public class FoldCache {
+
+    private final int size;
+    private final IntFunction<String> words;
+    private final AtomicReferenceArray<String[]> byMode =
+            new AtomicReferenceArray<>(MatchMode.values().length);
+
+    public FoldCache(int size, IntFunction<String> words) {
+        this.size = size;
+        this.words = words;
+    }
+
+    public String get(int id, MatchMode mode) {
+        String[] folded = folded(mode);
+        String word = folded[id];
+        if (word == null) {
+            word = mode.normalizeAndFold(words.apply(id));
+            folded[id] = word;
+        }
+        return word;
+    }
+
+    // Pliega ya toda la lista, p. ej. la lista interna al cargarla
+    public void fill(MatchMode mode) {
+        for (int id = 0; id < size; id++) {
+            get(id, mode);
+        }
+    }
+
+    private String[] folded(MatchMode mode) {
+        String[] folded = byMode.get(mode.ordinal());
+        if (folded == null) {
+            byMode.compareAndSet(mode.ordinal(), null, new String[size]);
+            folded = byMode.get(mode.ordinal());
+        }
+        return folded;
+    }
+}
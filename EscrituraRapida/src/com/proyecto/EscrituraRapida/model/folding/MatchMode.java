@@ -0,0 +1,108 @@
+package com.proyecto.EscrituraRapida.model.folding;
+
+import java.text.Normalizer;
+
+// Qué tan estricta es la comparación. Cada modo pliega carácter a carácter con una tabla
+// que cubre todo lo que produce un teclado español (U+0000..U+036F), así que plegar lo
+// escrito no crea objetos; lo que la tabla no resuelve sola se marca NORMALIZE y solo
+// entonces se pasa por Normalizer. La ñ es una letra propia y conserva la tilde siempre.
+public enum MatchMode {
+    EXACT(false, false),
+    CASE_FOLD(true, false),
+    ACCENT_FOLD(false, true),
+    FOLD_ALL(true, true);
+
+    // Valores especiales de la tabla: el carácter desaparece, o hay que normalizar todo el texto
+    public static final char DROP = '\uFFFF';
+    public static final char NORMALIZE = '\uFFFE';
+
+    // -Descritura.modo=exacto|mayusculas|acentos|ambos
+    public static final String MODO_PROPERTY = "escritura.modo";
+
+    // Latín básico a Latín extendido B y las marcas diacríticas combinantes
+    private static final int TABLE_SIZE = 0x370;
+
+    private final boolean caseFold;
+    private final boolean accentFold;
+    private final char[] table = new char[TABLE_SIZE];
+
+    MatchMode(boolean caseFold, boolean accentFold) {
+        this.caseFold = caseFold;
+        this.accentFold = accentFold;
+        for (char c = 0; c < TABLE_SIZE; c++) {
+            table[c] = tableEntry(c);
+        }
+    }
+
+    public static MatchMode fromProperty() {
+        String name = System.getProperty(MODO_PROPERTY, "exacto");
+        return switch (name.trim().toLowerCase()) {
+            case "mayusculas", "mayúsculas", "case" -> CASE_FOLD;
+            case "acentos", "accent" -> ACCENT_FOLD;
+            case "ambos", "all" -> FOLD_ALL;
+            default -> EXACT;
+        };
+    }
+
+    // Carácter plegado, DROP o NORMALIZE
+    public char fold(char c) {
+        return c < TABLE_SIZE ? table[c] : NORMALIZE;
+    }
+
+    // Pliega sin normalizar; false (y out a medias) si algún carácter necesita normalizeAndFold
+    public boolean fold(CharSequence text, StringBuilder out) {
+        out.setLength(0);
+        for (int i = 0; i < text.length(); i++) {
+            char f = fold(text.charAt(i));
+            if (f == NORMALIZE) return false;
+            if (f != DROP) out.append(f);
+        }
+        return true;
+    }
+
+    // Recorta, normaliza (NFKC) y pliega: una vez por objetivo, o como último recurso para lo escrito
+    public String normalizeAndFold(CharSequence text) {
+        String normalized = Normalizer.normalize(text.toString().trim(), Normalizer.Form.NFKC);
+        StringBuilder out = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            char f;
+            if (c < TABLE_SIZE) {
+                f = table[c] == NORMALIZE ? c : table[c];
+            } else if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                f = accentFold ? DROP : c;
+            } else {
+                f = foldLetter(c);
+            }
+            if (f != DROP) out.append(f);
+        }
+        return out.toString();
+    }
+
+    private char tableEntry(char c) {
+        if (c < 0x80) {
+            return caseFold && c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        int type = Character.getType(c);
+        if (type == Character.NON_SPACING_MARK) return accentFold ? DROP : NORMALIZE;
+        if (type == Character.COMBINING_SPACING_MARK || type == Character.ENCLOSING_MARK) return NORMALIZE;
+        String nfkc = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFKC);
+        return nfkc.length() == 1 ? foldLetter(nfkc.charAt(0)) : NORMALIZE;
+    }
+
+    // El carácter ya está en NFKC
+    private char foldLetter(char c) {
+        char base = c;
+        // La ñ es una letra, no una n con tilde
+        if (accentFold && base != 'ñ' && base != 'Ñ') {
+            String nfd = Normalizer.normalize(String.valueOf(base), Normalizer.Form.NFD);
+            boolean marksOnly = true;
+            for (int i = 1; i < nfd.length(); i++) {
+                marksOnly &= Character.getType(nfd.charAt(i)) == Character.NON_SPACING_MARK;
+            }
+            if (marksOnly) base = nfd.charAt(0);
+        }
+        if (caseFold) base = Character.toLowerCase(base);
+        return base == DROP || base == NORMALIZE ? c : base;
+    }
+}
@@ -0,0 +1,277 @@
+package com.proyecto.EscrituraRapida.model.scoring;
+
+import java.util.Arrays;
+
+// Distancia de Levenshtein y alineamiento entre lo escrito y el objetivo, con el algoritmo
+// bit-paralelo de Myers por bloques de 64 filas (Hyyrö): O(ceil(m / 64) * n) operaciones.
+// Se guardan los deltas verticales de cada columna, que bastan para reconstruir cualquier
+// celda con unos bitCount y recorrer el alineamiento hacia atrás.
+// Compara por puntos de código, sin los espacios de los extremos. Los búferes son de la
+// instancia y solo crecen; no es segura entre hilos.
+public class EditScorer {
+
+    // Operaciones del alineamiento; INSERTION es un carácter de más, DELETION uno que falta
+    public static final byte MATCH = 'M';
+    public static final byte SUBSTITUTION = 'S';
+    public static final byte INSERTION = 'I';
+    public static final byte DELETION = 'D';
+
+    private int[] target = new int[64];
+    private int[] typed = new int[64];
+    private int m;
+    private int n;
+    private int blocks;
+
+    // Vectores de coincidencia por punto de código distinto del objetivo: peq[slot * blocks + b]
+    private long[] peq = new long[64];
+    // Tabla de direccionamiento abierto de punto de código a slot (-1 = libre)
+    private int[] keys = new int[128];
+    private int[] slots = new int[128];
+    private int distinct;
+
+    // Deltas verticales positivos / negativos de cada columna: [j * blocks + b]
+    private long[] pvs = new long[64];
+    private long[] mvs = new long[64];
+
+    private byte[] ops = new byte[128];
+    private int opCount;
+    private int distance;
+    private int matches;
+    private int substitutions;
+    private int insertions;
+    private int deletions;
+
+    public int score(CharSequence escrito, CharSequence objetivo) {
+        m = decode(objetivo, true);
+        n = decode(escrito, false);
+        blocks = Math.max(1, (m + 63) >>> 6);
+
+        buildPeq();
+        computeColumns();
+        traceBack();
+        return distance;
+    }
+
+    public int getDistance() {
+        return distance;
+    }
+
+    // 1 - distancia / max(m, n); 1 si los dos textos están vacíos
+    public double getAccuracy() {
+        int longest = Math.max(m, n);
+        return longest == 0 ? 1.0 : 1.0 - (double) distance / longest;
+    }
+
+    public int getMatches() {
+        return matches;
+    }
+
+    public int getSubstitutions() {
+        return substitutions;
+    }
+
+    public int getInsertions() {
+        return insertions;
+    }
+
+    public int getDeletions() {
+        return deletions;
+    }
+
+    public int getAlignmentLength() {
+        return opCount;
+    }
+
+    // Se guardan al revés durante el recorrido; k cuenta desde el principio de los textos
+    public byte getAlignmentOp(int k) {
+        return ops[opCount - 1 - k];
+    }
+
+    // Por ejemplo "MMMSMMDM"
+    public StringBuilder appendAlignment(StringBuilder out) {
+        for (int k = 0; k < opCount; k++) {
+            out.append((char) getAlignmentOp(k));
+        }
+        return out;
+    }
+
+    private int decode(CharSequence text, boolean isTarget) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') start++;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+
+        int[] buffer = isTarget ? target : typed;
+        if (buffer.length < end - start) {
+            buffer = new int[Math.max(end - start, buffer.length * 2)];
+            if (isTarget) target = buffer;
+            else typed = buffer;
+        }
+        int count = 0;
+        for (int i = start; i < end; ) {
+            char c = text.charAt(i++);
+            if (Character.isHighSurrogate(c) && i < end && Character.isLowSurrogate(text.charAt(i))) {
+                buffer[count++] = Character.toCodePoint(c, text.charAt(i++));
+            } else {
+                buffer[count++] = c;
+            }
+        }
+        return count;
+    }
+
+    private void buildPeq() {
+        int tableSize = Integer.highestOneBit(Math.max(4, m) * 2) << 1;
+        if (keys.length < tableSize) {
+            keys = new int[tableSize];
+            slots = new int[tableSize];
+        }
+        Arrays.fill(keys, 0, tableSize, -1);
+        distinct = 0;
+        if (peq.length < m * blocks) peq = new long[Math.max(m * blocks, peq.length * 2)];
+
+        for (int i = 0; i < m; i++) {
+            int slot = slotOf(target[i], tableSize, true);
+            peq[slot * blocks + (i >>> 6)] |= 1L << (i & 63);
+        }
+    }
+
+    // -1 si no está y no se añade
+    private int slotOf(int codePoint, int tableSize, boolean add) {
+        int mask = tableSize - 1;
+        int i = (codePoint * 0x9E3779B1) >>> 7 & mask;
+        while (keys[i] != -1) {
+            if (keys[i] == codePoint) return slots[i];
+            i = (i + 1) & mask;
+        }
+        if (!add) return -1;
+        keys[i] = codePoint;
+        slots[i] = distinct;
+        Arrays.fill(peq, distinct * blocks, (distinct + 1) * blocks, 0L);
+        return distinct++;
+    }
+
+    private void computeColumns() {
+        int needed = (n + 1) * blocks;
+        if (pvs.length < needed) {
+            pvs = new long[Math.max(needed, pvs.length * 2)];
+            mvs = new long[pvs.length];
+        }
+        int tableSize = Integer.highestOneBit(Math.max(4, m) * 2) << 1;
+        // Columna 0: D[i][0] = i, todos los deltas verticales valen +1
+        for (int b = 0; b < blocks; b++) {
+            pvs[b] = -1L;
+            mvs[b] = 0L;
+        }
+        int score = m;
+        long lastBit = m == 0 ? 0 : 1L << ((m - 1) & 63);
+
+        for (int j = 1; j <= n; j++) {
+            int slot = slotOf(typed[j - 1], tableSize, false);
+            int prev = (j - 1) * blocks;
+            int cur = j * blocks;
+            // Alineamiento global: la fila superior crece uno por columna. Los acarreos
+            // entre bloques van en bits para que el bucle no tenga saltos.
+            long hinPos = 1L;
+            long hinNeg = 0L;
+            long lastPh = 0L;
+            long lastMh = 0L;
+            for (int b = 0; b < blocks; b++) {
+                long pv = pvs[prev + b];
+                long mv = mvs[prev + b];
+                long eq = slot < 0 ? 0L : peq[slot * blocks + b];
+
+                long xv = eq | mv;
+                eq |= hinNeg;
+                long xh = (((eq & pv) + pv) ^ pv) | eq;
+                long ph = mv | ~(xh | pv);
+                long mh = pv & xh;
+                lastPh = ph;
+                lastMh = mh;
+
+                long houtPos = ph >>> 63;
+                long houtNeg = mh >>> 63;
+                ph = (ph << 1) | hinPos;
+                mh = (mh << 1) | hinNeg;
+
+                pvs[cur + b] = mh | ~(xv | ph);
+                mvs[cur + b] = ph & xv;
+                hinPos = houtPos;
+                hinNeg = houtNeg;
+            }
+            if ((lastPh & lastBit) != 0) score++;
+            else if ((lastMh & lastBit) != 0) score--;
+            if (m == 0) score = j;
+        }
+        distance = n == 0 ? m : score;
+    }
+
+    // D[i][j] a partir de los deltas verticales de la columna j
+    private int cell(int i, int j) {
+        int base = j * blocks;
+        int value = j;
+        int full = i >>> 6;
+        for (int b = 0; b < full; b++) {
+            value += Long.bitCount(pvs[base + b]) - Long.bitCount(mvs[base + b]);
+        }
+        int rest = i & 63;
+        if (rest != 0) {
+            long mask = (1L << rest) - 1;
+            value += Long.bitCount(pvs[base + full] & mask) - Long.bitCount(mvs[base + full] & mask);
+        }
+        return value;
+    }
+
+    // D[row + 1][j] - D[row][j]: +1, 0 o -1
+    private int verticalDelta(int row, int j) {
+        int index = j * blocks + (row >>> 6);
+        long bit = 1L << (row & 63);
+        return (pvs[index] & bit) != 0 ? 1 : (mvs[index] & bit) != 0 ? -1 : 0;
+    }
+
+    // De D[m][n] a D[0][0]. D[i][j - 1] se reconstruye una vez por columna; el resto de
+    // celdas sale de deltas verticales sueltos.
+    private void traceBack() {
+        if (ops.length < m + n) ops = new byte[Math.max(m + n, ops.length * 2)];
+        opCount = 0;
+        matches = substitutions = insertions = deletions = 0;
+        int i = m;
+        int j = n;
+        int d = distance;
+        int left = j > 0 ? cell(i, j - 1) : 0;
+        while (i > 0 || j > 0) {
+            if (i > 0 && j > 0) {
+                int diag = left - verticalDelta(i - 1, j - 1);
+                boolean equal = target[i - 1] == typed[j - 1];
+                if (diag + (equal ? 0 : 1) == d) {
+                    ops[opCount++] = equal ? MATCH : SUBSTITUTION;
+                    if (equal) matches++;
+                    else substitutions++;
+                    i--;
+                    j--;
+                    d = diag;
+                    if (j > 0) left = cell(i, j - 1);
+                    continue;
+                }
+                if (verticalDelta(i - 1, j) == 1) {
+                    ops[opCount++] = DELETION;
+                    deletions++;
+                    i--;
+                    d--;
+                    left = diag;
+                    continue;
+                }
+            } else if (i > 0) {
+                ops[opCount++] = DELETION;
+                deletions++;
+                i--;
+                d--;
+                continue;
+            }
+            ops[opCount++] = INSERTION;
+            insertions++;
+            j--;
+            d = left;
+            if (j > 0) left = cell(i, j - 1);
+        }
+    }
+}
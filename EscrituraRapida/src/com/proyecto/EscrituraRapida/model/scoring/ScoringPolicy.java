@@ -0,0 +1,71 @@
+package com.proyecto.EscrituraRapida.model.scoring;
+
+// Umbrales de precisión que convierten el resultado de EditScorer en un veredicto.
+// Con los valores por defecto solo la palabra exacta aprueba limpia, y una errata en una
+// frase como "interfaz gráfica" (15/16) aprueba con penalización: el siguiente nivel tiene
+// un 25 % menos de tiempo.
+public class ScoringPolicy {
+
+    // Precisiones entre 0 y 1
+    public static final String APROBADO_PROPERTY = "escritura.umbral.aprobado";
+    public static final String PENALIZACION_PROPERTY = "escritura.umbral.penalizacion";
+
+    public static final double PRECISION_APROBADO = 1.0;
+    public static final double PRECISION_PENALIZACION = 0.9;
+    public static final double FRACCION_PENALIZACION = 0.25;
+
+    public static final ScoringPolicy DEFAULT = new ScoringPolicy(PRECISION_APROBADO, PRECISION_PENALIZACION,
+            FRACCION_PENALIZACION);
+
+    public enum Verdict {
+        PASS,
+        PASS_WITH_PENALTY,
+        FAIL
+    }
+
+    private final double passAccuracy;
+    private final double penaltyAccuracy;
+    private final double penaltyFraction;
+
+    // penaltyFraction: parte del tiempo del siguiente nivel que quita un aprobado con penalización
+    public ScoringPolicy(double passAccuracy, double penaltyAccuracy, double penaltyFraction) {
+        if (!(passAccuracy > 0 && passAccuracy <= 1) || !(penaltyAccuracy > 0 && penaltyAccuracy <= passAccuracy)
+                || !(penaltyFraction >= 0 && penaltyFraction < 1)) {
+            throw new IllegalArgumentException("Umbrales de puntuación no válidos");
+        }
+        this.passAccuracy = passAccuracy;
+        this.penaltyAccuracy = penaltyAccuracy;
+        this.penaltyFraction = penaltyFraction;
+    }
+
+    public static ScoringPolicy fromProperties() {
+        String aprobado = System.getProperty(APROBADO_PROPERTY);
+        String penalizacion = System.getProperty(PENALIZACION_PROPERTY);
+        if (aprobado == null && penalizacion == null) return DEFAULT;
+        double pass = aprobado == null ? PRECISION_APROBADO : Double.parseDouble(aprobado.trim());
+        double penalty = penalizacion == null ? Math.min(pass, PRECISION_PENALIZACION)
+                : Double.parseDouble(penalizacion.trim());
+        return new ScoringPolicy(pass, penalty, FRACCION_PENALIZACION);
+    }
+
+    public Verdict verdict(EditScorer scorer) {
+        if (scorer.getDistance() == 0) return Verdict.PASS;
+        double accuracy = scorer.getAccuracy();
+        if (accuracy >= passAccuracy) return Verdict.PASS;
+        if (accuracy >= penaltyAccuracy) return Verdict.PASS_WITH_PENALTY;
+        return Verdict.FAIL;
+    }
+
+    public long tiempoConPenalizacion(long millis, Verdict verdict) {
+        if (verdict != Verdict.PASS_WITH_PENALTY) return millis;
+        return Math.round(millis * (1 - penaltyFraction));
+    }
+
+    public double getPassAccuracy() {
+        return passAccuracy;
+    }
+
+    public double getPenaltyAccuracy() {
+        return penaltyAccuracy;
+    }
+}
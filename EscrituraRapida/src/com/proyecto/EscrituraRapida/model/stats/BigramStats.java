@@ -0,0 +1,123 @@
+package com.proyecto.EscrituraRapida.model.stats;
+
+import com.proyecto.EscrituraRapida.model.corpus.BigramIndex;
+
+import java.util.Arrays;
+
+// Errores y latencia del jugador por bigrama (dos letras seguidas del objetivo).
+// Tabla fija de primitivos con direccionamiento abierto: registrar no crea objetos y, si se
+// llena, los bigramas nuevos se ignoran (el español tiene muchos menos).
+// La debilidad compara con la media del propio jugador: mitad tasa de error, mitad latencia;
+// un bigrama medio vale 1. Solo se usa desde un hilo.
+public class BigramStats {
+
+    // Intentos antes de fiarse de la debilidad de un bigrama
+    public static final int MIN_ATTEMPTS = 3;
+
+    private static final int CAPACITY = 2048;
+    private static final int MASK = CAPACITY - 1;
+    private static final int MAX_BIGRAMS = CAPACITY * 3 / 4;
+
+    private final int[] keys = new int[CAPACITY];
+    private final int[] attempts = new int[CAPACITY];
+    private final int[] errors = new int[CAPACITY];
+    private final long[] latencyNanos = new long[CAPACITY];
+    private final int[] latencyCount = new int[CAPACITY];
+    private int bigrams;
+
+    private long totalAttempts;
+    private long totalErrors;
+    private long totalLatencyNanos;
+    private long totalLatencyCount;
+
+    // gapNanos: tiempo desde la pulsación anterior, negativo si no se sabe
+    public void record(int key, boolean error, long gapNanos) {
+        if (key == BigramIndex.NONE) return;
+        int slot = slot(key);
+        if (keys[slot] != key) {
+            if (bigrams == MAX_BIGRAMS) return;
+            keys[slot] = key;
+            bigrams++;
+        }
+        attempts[slot]++;
+        totalAttempts++;
+        if (error) {
+            errors[slot]++;
+            totalErrors++;
+        } else if (gapNanos >= 0) {
+            latencyNanos[slot] += gapNanos;
+            latencyCount[slot]++;
+            totalLatencyNanos += gapNanos;
+            totalLatencyCount++;
+        }
+    }
+
+    // 0 con menos de MIN_ATTEMPTS intentos
+    public double getWeakness(int key) {
+        int slot = slot(key);
+        return keys[slot] == key ? weakness(slot) : 0;
+    }
+
+    // Los bigramas peores que la media, del más débil al menos, sin crear objetos
+    public int weakest(int[] keysOut, double[] weaknessOut) {
+        int n = 0;
+        for (int slot = 0; slot < CAPACITY; slot++) {
+            if (keys[slot] == BigramIndex.NONE) continue;
+            double w = weakness(slot);
+            if (w <= 1.0) continue;
+            // Inserción en la salida ordenada, que es corta
+            int pos = n < keysOut.length ? n++ : keysOut.length;
+            while (pos > 0 && weaknessOut[pos - 1] < w) {
+                if (pos < keysOut.length) {
+                    keysOut[pos] = keysOut[pos - 1];
+                    weaknessOut[pos] = weaknessOut[pos - 1];
+                }
+                pos--;
+            }
+            if (pos < keysOut.length) {
+                keysOut[pos] = keys[slot];
+                weaknessOut[pos] = w;
+            }
+        }
+        return n;
+    }
+
+    public int getBigrams() {
+        return bigrams;
+    }
+
+    public long getAttempts() {
+        return totalAttempts;
+    }
+
+    public void reset() {
+        Arrays.fill(keys, BigramIndex.NONE);
+        Arrays.fill(attempts, 0);
+        Arrays.fill(errors, 0);
+        Arrays.fill(latencyNanos, 0);
+        Arrays.fill(latencyCount, 0);
+        bigrams = 0;
+        totalAttempts = totalErrors = totalLatencyNanos = totalLatencyCount = 0;
+    }
+
+    private double weakness(int slot) {
+        if (attempts[slot] < MIN_ATTEMPTS) return 0;
+        // Suavizado de Laplace: un solo error al principio no lo domina todo
+        double errorRate = (errors[slot] + 1.0) / (attempts[slot] + 2.0);
+        double averageError = (totalErrors + 1.0) / (totalAttempts + 2.0);
+        double ratio = errorRate / averageError;
+        if (latencyCount[slot] > 0 && totalLatencyCount > 0) {
+            double latency = (double) latencyNanos[slot] / latencyCount[slot];
+            double averageLatency = (double) totalLatencyNanos / totalLatencyCount;
+            return 0.5 * ratio + 0.5 * latency / averageLatency;
+        }
+        // Nunca se escribió bien: solo cuentan los errores
+        return ratio;
+    }
+
+    private int slot(int key) {
+        int slot = (key * 0x9E3779B9) >>> 7 & MASK;
+        while (keys[slot] != BigramIndex.NONE && keys[slot] != key) slot = slot + 1 & MASK;
+        return slot;
+    }
+}
@@ -0,0 +1,157 @@
+package com.proyecto.EscrituraRapida.model.stats;
+
+import java.util.Arrays;
+
+// Pulsaciones de la sesión en un anillo de primitivos: registrar no crea objetos y una sesión
+// larga ocupa lo mismo que una corta. Los contadores de la ventana deslizante se restan a
+// medida que caducan sus pulsaciones. Solo se usa desde el hilo de JavaFX.
+public class KeystrokeStats {
+
+    // Un borrado cuenta para la latencia, no para la precisión ni las PPM
+    public static final char DELETE = '\b';
+
+    public static final int WINDOW_SECONDS = 30;
+
+    // El cubo k guarda los intervalos de menos de 2^k ms; el último, también los más largos
+    public static final int LATENCY_BUCKETS = 16;
+
+    private static final long WINDOW_NANOS = WINDOW_SECONDS * 1_000_000_000L;
+    private static final int CAPACITY = 4096;
+    private static final int MASK = CAPACITY - 1;
+
+    private final long[] times = new long[CAPACITY];
+    private final char[] chars = new char[CAPACITY];
+    private final boolean[] correct = new boolean[CAPACITY];
+
+    // head: pulsaciones totales (la siguiente va a head & MASK); tail: la más antigua de la ventana
+    private long head;
+    private long tail;
+
+    private long windowTyped;
+    private long windowCorrect;
+
+    private long typed;
+    private long typedCorrect;
+    private long deletions;
+    private long firstTime;
+    private long lastTime;
+
+    private final long[] latency = new long[LATENCY_BUCKETS];
+    private long latencyCount;
+    private long latencySumNanos;
+
+    // wasCorrect: lo escrito sigue siendo un prefijo correcto del objetivo tras la pulsación
+    public void record(long nanoTime, char c, boolean wasCorrect) {
+        if (head == 0) {
+            firstTime = nanoTime;
+        } else {
+            long gap = Math.max(0, nanoTime - lastTime);
+            long millis = gap / 1_000_000L;
+            int bucket = Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(millis));
+            latency[bucket]++;
+            latencyCount++;
+            latencySumNanos += gap;
+        }
+        lastTime = nanoTime;
+
+        // Anillo lleno: la pulsación más antigua sale antes de tiempo de la ventana
+        if (head - tail == CAPACITY) expireOldest();
+
+        int slot = (int) (head++ & MASK);
+        times[slot] = nanoTime;
+        chars[slot] = c;
+        correct[slot] = wasCorrect;
+
+        if (c == DELETE) {
+            deletions++;
+        } else {
+            typed++;
+            windowTyped++;
+            if (wasCorrect) {
+                typedCorrect++;
+                windowCorrect++;
+            }
+        }
+        expire(nanoTime);
+    }
+
+    // Caracteres correctos por minuto entre cinco (la palabra estándar), en la ventana
+    public double getRollingWpm(long now) {
+        expire(now);
+        if (windowCorrect == 0) return 0;
+        long span = Math.min(WINDOW_NANOS, now - times[(int) (tail & MASK)]);
+        double minutes = Math.max(span, 1_000_000_000L) / 60e9;
+        return windowCorrect / 5.0 / minutes;
+    }
+
+    public double getRollingAccuracy(long now) {
+        expire(now);
+        return windowTyped == 0 ? 1.0 : (double) windowCorrect / windowTyped;
+    }
+
+    public double getAccuracy() {
+        return typed == 0 ? 1.0 : (double) typedCorrect / typed;
+    }
+
+    public double getSessionWpm() {
+        long span = lastTime - firstTime;
+        if (typedCorrect == 0 || span <= 0) return 0;
+        return typedCorrect / 5.0 / (Math.max(span, 1_000_000_000L) / 60e9);
+    }
+
+    public double getMeanLatencyMillis() {
+        return latencyCount == 0 ? 0 : latencySumNanos / 1e6 / latencyCount;
+    }
+
+    public long[] getLatencyHistogram(long[] dst) {
+        System.arraycopy(latency, 0, dst, 0, LATENCY_BUCKETS);
+        return dst;
+    }
+
+    public long getTyped() {
+        return typed;
+    }
+
+    public long getTypedCorrect() {
+        return typedCorrect;
+    }
+
+    public long getDeletions() {
+        return deletions;
+    }
+
+    // back = 0 es la última pulsación; 0 si ya salió del anillo
+    public char getRecentChar(int back) {
+        if (back < 0 || back >= Math.min(head, CAPACITY)) return 0;
+        return chars[(int) ((head - 1 - back) & MASK)];
+    }
+
+    public SessionSummary summary(int wordsCompleted, int level) {
+        long durationMillis = head == 0 ? 0 : (lastTime - firstTime) / 1_000_000L;
+        return new SessionSummary(System.currentTimeMillis(), durationMillis, level, wordsCompleted,
+                typed, typedCorrect, deletions, getSessionWpm(), getAccuracy(), getMeanLatencyMillis());
+    }
+
+    public void reset() {
+        head = tail = 0;
+        windowTyped = windowCorrect = 0;
+        typed = typedCorrect = deletions = 0;
+        firstTime = lastTime = 0;
+        Arrays.fill(latency, 0);
+        latencyCount = 0;
+        latencySumNanos = 0;
+    }
+
+    private void expire(long now) {
+        while (tail < head && now - times[(int) (tail & MASK)] > WINDOW_NANOS) {
+            expireOldest();
+        }
+    }
+
+    private void expireOldest() {
+        int slot = (int) (tail++ & MASK);
+        if (chars[slot] == DELETE) return;
+        windowTyped--;
+        if (correct[slot]) windowCorrect--;
+    }
+}
@@ -0,0 +1,59 @@
+package com.proyecto.EscrituraRapida.model.stats;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Añade los resúmenes de sesión a un CSV en un hilo aparte, en vez de guardarlos en memoria.
+// Por defecto ~/.escritura-rapida/sesiones.csv, o el que diga -Descritura.stats.file.
+public class SessionStore {
+
+    public static final String FILE_PROPERTY = "escritura.stats.file";
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "escritura-stats");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path file;
+
+    public SessionStore() {
+        this(Path.of(System.getProperty(FILE_PROPERTY,
+                Path.of(System.getProperty("user.home"), ".escritura-rapida", "sesiones.csv").toString())));
+    }
+
+    public SessionStore(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void save(SessionSummary summary) {
+        WRITER.execute(() -> {
+            try {
+                append(summary);
+            } catch (IOException e) {
+                System.err.println("No se pudo guardar la sesión: " + e.getMessage());
+            }
+        });
+    }
+
+    private void append(SessionSummary summary) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        boolean isNew = !Files.exists(file) || Files.size(file) == 0;
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (isNew) out.write(SessionSummary.CSV_HEADER + System.lineSeparator());
+            out.write(summary.toCsv() + System.lineSeparator());
+        }
+    }
+}
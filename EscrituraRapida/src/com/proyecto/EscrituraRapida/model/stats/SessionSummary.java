@@ -0,0 +1,19 @@
+package com.proyecto.EscrituraRapida.model.stats;
+
+import java.util.Locale;
+
+// Cifras de una partida terminada, una línea del CSV de SessionStore.
+// durationMillis va de la primera a la última pulsación; typed no cuenta los borrados.
+public record SessionSummary(long endedAtMillis, long durationMillis, int level, int wordsCompleted,
+                             long typed, long typedCorrect, long deletions,
+                             double wpm, double accuracy, double meanLatencyMillis) {
+
+    public static final String CSV_HEADER =
+            "endedAtMillis,durationMillis,level,wordsCompleted,typed,typedCorrect,deletions,wpm,accuracy,meanLatencyMillis";
+
+    public String toCsv() {
+        return String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%d,%.2f,%.4f,%.2f",
+                endedAtMillis, durationMillis, level, wordsCompleted, typed, typedCorrect, deletions,
+                wpm, accuracy, meanLatencyMillis);
+    }
+}
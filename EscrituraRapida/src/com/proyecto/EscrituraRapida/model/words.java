@@ -1,5 +1,9 @@
 package com.proyecto.EscrituraRapida.model;
 
+import com.proyecto.EscrituraRapida.model.corpus.BigramIndex;
+import com.proyecto.EscrituraRapida.model.folding.FoldCache;
+import com.proyecto.EscrituraRapida.model.folding.MatchMode;
+
 public class words {
     private static final String[] LISTA = {
             "computadora",
@@ -19,7 +23,23 @@ public class words {
             "código",
     };
 
+    // Forma normalizada y plegada de cada palabra, calculada una sola vez por modo
+    private static final FoldCache PLEGADAS = new FoldCache(LISTA.length, i -> LISTA[i]);
+
+    // Índice de bigramas de la lista; se construye la primera vez que se pide
+    private static final class Bigramas {
+        static final BigramIndex INDICE = BigramIndex.build(LISTA.length, i -> LISTA[i]);
+    }
+
     public static String[] getLista() {
         return LISTA;
     }
+
+    public static String getPlegada(int id, MatchMode modo) {
+        return PLEGADAS.get(id, modo);
+    }
+
+    public static BigramIndex getIndiceBigramas() {
+        return Bigramas.INDICE;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+package com.proyecto.EscrituraRapida.race;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Conexión de un jugador con un RaceServer.
+// Un hilo daemon lee los mensajes del servidor y se los pasa al Listener; la conexión y los
+// envíos van por un único hilo de fondo, así que quien llama (el hilo de JavaFX) nunca se
+// bloquea en la red. Los progresos se juntan: si llegan varias pulsaciones antes de escribir
+// el anterior, solo se manda el último valor.
+public final class RaceClient implements Closeable {
+
+    // host:puerto/sala
+    public static final String CARRERA_PROPERTY = "escritura.carrera";
+    // Nombre que ven los rivales
+    public static final String JUGADOR_PROPERTY = "escritura.jugador";
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+
+    // Recibe los mensajes del servidor en el hilo lector
+    public interface Listener {
+        // Este jugador ya está en la sala; las palabras salen de la semilla
+        void onWelcome(int id, long seed, int words);
+
+        void onJoined(int id, String nombre);
+
+        void onLeft(int id);
+
+        // Caracteres correctos de un jugador desde el inicio de la carrera
+        void onProgress(int id, int chars);
+
+        void onFinished(int id, int puesto);
+
+        void onError(String mensaje);
+
+        // Conexión perdida o cerrada: es la última llamada
+        void onClosed();
+    }
+
+    private final Socket socket;
+    // Solo lo usa el hilo de envío, que también abre la conexión
+    private OutputStream out;
+    private final Listener listener;
+    private final Thread reader;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "escritura-race-envio");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Último progreso pendiente de enviar, o -1
+    private final AtomicInteger progresoPendiente = new AtomicInteger(-1);
+    private volatile boolean closed;
+
+    private RaceClient(Socket socket, Listener listener) {
+        this.socket = socket;
+        this.listener = listener;
+        this.reader = new Thread(this::read, "escritura-race-client");
+        reader.setDaemon(true);
+    }
+
+    // null si no se configuró ninguna carrera; si no, el cliente aún conectando
+    public static RaceClient connectFromProperty(Listener listener) {
+        String carrera = System.getProperty(CARRERA_PROPERTY);
+        if (carrera == null || carrera.isBlank()) return null;
+        int barra = carrera.indexOf('/');
+        int dosPuntos = carrera.lastIndexOf(':', barra < 0 ? carrera.length() : barra);
+        if (barra < 0 || dosPuntos < 0) {
+            throw new IllegalArgumentException(CARRERA_PROPERTY + " debe ser host:puerto/sala: " + carrera);
+        }
+        String host = carrera.substring(0, dosPuntos);
+        int port = Integer.parseInt(carrera.substring(dosPuntos + 1, barra));
+        String sala = carrera.substring(barra + 1);
+        String nombre = System.getProperty(JUGADOR_PROPERTY, System.getProperty("user.name", "jugador"));
+        return connect(host, port, sala, nombre, listener);
+    }
+
+    // Conecta y entra en la sala en segundo plano. Si el servidor no responde, el listener
+    // recibe onError y onClosed.
+    public static RaceClient connect(String host, int port, String sala, String nombre, Listener listener) {
+        if (!RaceProtocol.isValidName(sala) || !RaceProtocol.isValidName(nombre)) {
+            throw new IllegalArgumentException("Nombre de sala o de jugador no válido: " + sala + ", " + nombre);
+        }
+        RaceClient client = new RaceClient(new Socket(), listener);
+        client.writer.execute(() -> client.open(host, port, sala, nombre));
+        return client;
+    }
+
+    // En el hilo de envío: los envíos encolados después esperan a que termine
+    private void open(String host, int port, String sala, String nombre) {
+        try {
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+            out = socket.getOutputStream();
+            send(RaceProtocol.JOIN + sala + " " + nombre);
+        } catch (IOException | RuntimeException e) {
+            boolean cerradoAntes = closed;
+            close();
+            if (!cerradoAntes) {
+                listener.onError("no se pudo conectar con " + host + ":" + port + " (" + e.getMessage() + ")");
+                listener.onClosed();
+            }
+            return;
+        }
+        if (!closed) reader.start();
+    }
+
+    // Nunca se bloquea
+    public void enviarProgreso(int chars) {
+        if (closed || progresoPendiente.getAndSet(chars) >= 0) return;
+        enviar(() -> {
+            int ultimo = progresoPendiente.getAndSet(-1);
+            send(RaceProtocol.PROGRESS + ultimo);
+        });
+    }
+
+    // Nunca se bloquea
+    public void enviarTerminado() {
+        enviar(() -> send(RaceProtocol.DONE));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        writer.shutdownNow();
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Ya estaba cerrado
+        }
+    }
+
+    private interface Envio {
+        void run() throws IOException;
+    }
+
+    private void enviar(Envio envio) {
+        if (closed) return;
+        writer.execute(() -> {
+            try {
+                envio.run();
+            } catch (IOException e) {
+                close();
+            }
+        });
+    }
+
+    private void send(String line) throws IOException {
+        out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private void read() {
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                dispatch(line);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Conexión perdida o mensaje inválido: la carrera termina para este jugador
+        } finally {
+            close();
+            listener.onClosed();
+        }
+    }
+
+    private void dispatch(String line) {
+        String[] campos = line.split(" ");
+        switch (campos[0]) {
+            case RaceProtocol.WELCOME -> listener.onWelcome(Integer.parseInt(campos[1]),
+                    Long.parseLong(campos[2]), Integer.parseInt(campos[3]));
+            case RaceProtocol.JOINED -> listener.onJoined(Integer.parseInt(campos[1]), campos[2]);
+            case RaceProtocol.LEFT -> listener.onLeft(Integer.parseInt(campos[1]));
+            case RaceProtocol.BATCH -> {
+                for (int i = 1; i + 1 < campos.length; i += 2) {
+                    listener.onProgress(Integer.parseInt(campos[i]), Integer.parseInt(campos[i + 1]));
+                }
+            }
+            case RaceProtocol.FINISHED -> listener.onFinished(Integer.parseInt(campos[1]), Integer.parseInt(campos[2]));
+            case RaceProtocol.ERROR -> listener.onError(line.substring(Math.min(line.length(), 4)));
+            default -> {
+                // Mensajes desconocidos de versiones más nuevas del servidor
+            }
+        }
+    }
+}
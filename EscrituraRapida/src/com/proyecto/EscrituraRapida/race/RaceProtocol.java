@@ -0,0 +1,65 @@
+package com.proyecto.EscrituraRapida.race;
+
+// Protocolo de líneas entre RaceServer y sus clientes: texto UTF-8, un mensaje por línea
+// terminada en \n, campos separados por un espacio.
+// Del cliente al servidor:
+//   JOIN sala nombre       entrar en una sala (nombres: 1-24 letras, dígitos, '_' o '-')
+//   PROG n                 caracteres correctos desde el inicio de la carrera
+//   DONE                   todas las palabras de la carrera escritas
+// Del servidor al cliente:
+//   WELCOME id seed words  id del jugador en la sala y la carrera (ver RaceSequence)
+//   JOINED id nombre       un jugador está en la sala
+//   LEFT id                un jugador se fue
+//   B id n id n ...        progreso de los jugadores que cambiaron desde el último lote
+//   FIN id puesto          un jugador terminó, en ese puesto
+//   ERR mensaje            se rechazó la última orden
+// Todo lo que pasa en una sala durante un intervalo de lote sale junto, en una escritura.
+public final class RaceProtocol {
+
+    public static final String JOIN = "JOIN ";
+    public static final String PROGRESS = "PROG ";
+    public static final String DONE = "DONE";
+
+    public static final String WELCOME = "WELCOME";
+    public static final String JOINED = "JOINED";
+    public static final String LEFT = "LEFT";
+    public static final String BATCH = "B";
+    public static final String FINISHED = "FIN";
+    public static final String ERROR = "ERR";
+
+    private static final int MAX_NAME = 24;
+
+    private RaceProtocol() {
+    }
+
+    // Un nombre de sala o de jugador que cabe en un solo campo
+    public static boolean isValidName(String name) {
+        if (name == null || name.isEmpty() || name.length() > MAX_NAME) return false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') return false;
+        }
+        return true;
+    }
+
+    // Si bytes[start, end) empieza por el prefijo ASCII
+    static boolean startsWith(byte[] bytes, int start, int end, String prefix) {
+        if (end - start < prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (bytes[start + i] != prefix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    // Número decimal no negativo en bytes[start, end), o -1
+    static int parseInt(byte[] bytes, int start, int end) {
+        if (start >= end || end - start > 9) return -1;
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,45 @@
+package com.proyecto.EscrituraRapida.race;
+
+import com.proyecto.EscrituraRapida.model.corpus.CorpusQuery;
+import com.proyecto.EscrituraRapida.model.corpus.WordCorpus;
+import com.proyecto.EscrituraRapida.model.words;
+
+import java.util.SplittableRandom;
+
+// Palabras de una carrera, sacadas solo de la semilla de la sala.
+// Cada jugador arma la misma secuencia con la semilla que manda el servidor, que así nunca
+// envía palabras. La palabra k se sortea entre las entradas del nivel k + 1
+// (CorpusQuery.forLevel), o de la lista interna si no hay corpus: todos los jugadores
+// tienen que usar las mismas listas.
+public final class RaceSequence {
+
+    private RaceSequence() {
+    }
+
+    // Ids en el corpus, o en la lista interna si corpus es null
+    public static int[] ids(WordCorpus corpus, long seed, int count) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] ids = new int[count];
+        for (int k = 0; k < count; k++) {
+            if (corpus == null) {
+                ids[k] = random.nextInt(words.getLista().length);
+                continue;
+            }
+            int[] ranges = corpus.entryRanges(CorpusQuery.forLevel(k + 1));
+            int total = 0;
+            for (int r = 0; r < ranges.length; r += 2) total += ranges[r + 1] - ranges[r];
+            if (total == 0) {
+                ids[k] = random.nextInt(corpus.size());
+                continue;
+            }
+            int pick = random.nextInt(total);
+            int r = 0;
+            while (pick >= ranges[r + 1] - ranges[r]) {
+                pick -= ranges[r + 1] - ranges[r];
+                r += 2;
+            }
+            ids[k] = ranges[r] + pick;
+        }
+        return ids;
+    }
+}
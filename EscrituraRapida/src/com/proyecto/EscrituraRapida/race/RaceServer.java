@@ -0,0 +1,471 @@
+package com.proyecto.EscrituraRapida.race;
+
+import com.proyecto.EscrituraRapida.metrics.TypingMetrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Servidor de carreras: los jugadores de una sala escriben las mismas palabras y ven el
+// progreso de los demás (protocolo en RaceProtocol).
+// Todo corre en un único hilo con un Selector NIO: una conexión cuesta un socket, un búfer
+// de lectura pequeño y una sesión, no un hilo, así que una máquina aguanta miles de
+// jugadores. No se comparte nada con otros hilos, así que no hay cerrojos.
+// El progreso no se reenvía mensaje a mensaje: cada sala junta los jugadores que avanzaron
+// y las entradas, salidas y llegadas, y cada batchMillis los codifica una vez en un búfer
+// que se escribe a todos los miembros. Es una escritura por miembro y lote, escriba la sala
+// lo rápido que escriba. A quien acumula más de MAX_PENDING_BYTES sin enviar se le
+// desconecta en vez de guardarle la salida para siempre.
+public final class RaceServer implements Closeable {
+
+    // Sin ella no se arranca el servidor embebido
+    public static final String PORT_PROPERTY = "escritura.race.port";
+
+    public static final int DEFAULT_BATCH_MILLIS = 50;
+
+    public static final int RACE_WORDS = 30;
+
+    // Los que llegan con la sala llena reciben un error
+    public static final int MAX_ROOM_PLAYERS = 200;
+
+    private static final int MAX_LINE_BYTES = 256;
+    private static final int MAX_PENDING_BYTES = 256 * 1024;
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Thread loop;
+    private final long batchNanos;
+    private final SplittableRandom seeds;
+    private volatile boolean running = true;
+
+    // Solo las toca el hilo del servidor
+    private final Map<String, Room> rooms = new HashMap<>();
+    private final List<Room> roomList = new ArrayList<>();
+    private final ByteLine line = new ByteLine();
+
+    private RaceServer(ServerSocketChannel server, int batchMillis, long seed) throws IOException {
+        this.server = server;
+        this.selector = Selector.open();
+        this.batchNanos = batchMillis * 1_000_000L;
+        this.seeds = new SplittableRandom(seed);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        loop = new Thread(this::run, "escritura-race");
+        loop.setDaemon(true);
+    }
+
+    // null si no se configuró el puerto
+    public static RaceServer startFromProperty() throws IOException {
+        Integer port = Integer.getInteger(PORT_PROPERTY);
+        return port == null ? null : start(port, DEFAULT_BATCH_MILLIS, System.nanoTime());
+    }
+
+    // Escucha en todas las interfaces para que entren jugadores de la red local.
+    // Con el puerto 0 se elige uno libre; seed genera las semillas de las salas.
+    public static RaceServer start(int port, int batchMillis, long seed) throws IOException {
+        if (batchMillis <= 0) throw new IllegalArgumentException("batchMillis <= 0");
+        ServerSocketChannel channel = ServerSocketChannel.open();
+        try {
+            channel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            channel.bind(new InetSocketAddress(port), 4096);
+            RaceServer server = new RaceServer(channel, batchMillis, seed);
+            server.loop.start();
+            return server;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Servidor suelto: RaceServer [--port N] [--batch-ms N] [--seed N]
+    public static void main(String[] args) throws Exception {
+        int port = 7070;
+        int batchMillis = DEFAULT_BATCH_MILLIS;
+        long seed = System.nanoTime();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--batch-ms" -> batchMillis = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+        RaceServer server = start(port, batchMillis, seed);
+        System.out.println("Servidor de carreras en el puerto " + server.getPort());
+        server.loop.join();
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    // Para el servidor y cierra todas las conexiones
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long nextBatch = System.nanoTime() + batchNanos;
+        try {
+            while (running) {
+                long wait = Math.max(1, (nextBatch - System.nanoTime()) / 1_000_000);
+                selector.select(this::handle, wait);
+                long now = System.nanoTime();
+                if (now - nextBatch >= 0) {
+                    flushRooms();
+                    nextBatch = now + batchNanos;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Servidor de carreras detenido: " + e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Session session && session.room != null) {
+                    TypingMetrics.RACE_PLAYERS.dec();
+                }
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+                server.close();
+            } catch (IOException ignored) {
+                // Se cierra igualmente
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        try {
+            if (!key.isValid()) return;
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            Session session = (Session) key.attachment();
+            if (key.isWritable()) session.drain();
+            if (key.isValid() && key.isReadable()) read(session);
+        } catch (IOException e) {
+            disconnect((Session) key.attachment());
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Session session = new Session(channel);
+            session.key = channel.register(selector, SelectionKey.OP_READ, session);
+        }
+    }
+
+    private void read(Session session) throws IOException {
+        ByteBuffer in = session.in;
+        int n = session.channel.read(in);
+        if (n < 0) {
+            disconnect(session);
+            return;
+        }
+        byte[] bytes = in.array();
+        int start = 0;
+        for (int i = 0; i < in.position(); i++) {
+            if (bytes[i] == '\n') {
+                int end = i > start && bytes[i - 1] == '\r' ? i - 1 : i;
+                command(session, bytes, start, end);
+                if (!session.key.isValid()) return;
+                start = i + 1;
+            }
+        }
+        if (start == 0 && !in.hasRemaining()) {
+            disconnect(session); // line too long
+            return;
+        }
+        in.limit(in.position()).position(start);
+        in.compact();
+    }
+
+    private void command(Session session, byte[] bytes, int start, int end) {
+        if (RaceProtocol.startsWith(bytes, start, end, RaceProtocol.PROGRESS)) {
+            int chars = RaceProtocol.parseInt(bytes, start + RaceProtocol.PROGRESS.length(), end);
+            if (session.room != null && chars >= 0 && chars != session.progress) {
+                session.progress = chars;
+                session.room.markDirty(session);
+            }
+        } else if (RaceProtocol.startsWith(bytes, start, end, RaceProtocol.JOIN)) {
+            String[] parts = new String(bytes, start, end - start, StandardCharsets.UTF_8).split(" ");
+            if (session.room != null || parts.length != 3 || !RaceProtocol.isValidName(parts[1])
+                    || !RaceProtocol.isValidName(parts[2])) {
+                send(session, RaceProtocol.ERROR + " JOIN <sala> <nombre>\n");
+                return;
+            }
+            join(session, parts[1], parts[2]);
+        } else if (RaceProtocol.startsWith(bytes, start, end, RaceProtocol.DONE)) {
+            Room room = session.room;
+            if (room != null && !session.finished) {
+                session.finished = true;
+                room.events.append(RaceProtocol.FINISHED).append(' ').append(session.id)
+                        .append(' ').append(++room.finishedCount).append('\n');
+            }
+        } else {
+            send(session, RaceProtocol.ERROR + " comando desconocido\n");
+        }
+    }
+
+    private void join(Session session, String roomName, String name) {
+        Room room = rooms.get(roomName);
+        if (room == null) {
+            room = new Room(roomName, seeds.nextLong());
+            rooms.put(roomName, room);
+            roomList.add(room);
+        }
+        if (room.members.size() >= MAX_ROOM_PLAYERS) {
+            send(session, RaceProtocol.ERROR + " sala llena\n");
+            return;
+        }
+        session.id = room.nextId++;
+        session.name = name;
+
+        // El recién llegado recibe la carrera y el estado actual; los demás, su entrada en el próximo lote
+        line.clear();
+        line.append(RaceProtocol.WELCOME).append(' ').append(session.id).append(' ')
+                .append(room.seed).append(' ').append(RACE_WORDS).append('\n');
+        for (Session other : room.members) {
+            line.append(RaceProtocol.JOINED).append(' ').append(other.id).append(' ').append(other.name).append('\n');
+        }
+        line.append(RaceProtocol.BATCH);
+        for (Session other : room.members) {
+            line.append(' ').append(other.id).append(' ').append(other.progress);
+        }
+        line.append('\n');
+        session.send(ByteBuffer.wrap(line.toArray()));
+        // Si el envío falló la sesión ya se cerró: no llega a entrar, así que ni LEFT ni cambio en el gauge
+        if (!session.key.isValid()) return;
+
+        session.room = room;
+        room.members.add(session);
+        room.events.append(RaceProtocol.JOINED).append(' ').append(session.id).append(' ').append(name).append('\n');
+        TypingMetrics.RACE_PLAYERS.inc();
+    }
+
+    private void send(Session session, String message) {
+        session.send(ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void flushRooms() {
+        long start = System.nanoTime();
+        for (int r = roomList.size() - 1; r >= 0; r--) {
+            Room room = roomList.get(r);
+            if (room.members.isEmpty()) {
+                // Las salas vacías se quitan; la siguiente entrada empieza otra carrera con otra semilla
+                rooms.remove(room.name);
+                roomList.remove(r);
+                continue;
+            }
+            if (room.dirty.isEmpty() && room.events.length() == 0) continue;
+
+            line.clear();
+            line.append(room.events);
+            room.events.clear();
+            if (!room.dirty.isEmpty()) {
+                line.append(RaceProtocol.BATCH);
+                for (Session session : room.dirty) {
+                    session.dirty = false;
+                    line.append(' ').append(session.id).append(' ').append(session.progress);
+                }
+                line.append('\n');
+                room.dirty.clear();
+            }
+            byte[] batch = line.toArray();
+            for (int m = room.members.size() - 1; m >= 0; m--) {
+                room.members.get(m).send(ByteBuffer.wrap(batch));
+            }
+        }
+        TypingMetrics.RACE_BATCH_LATENCY.observeNanos(System.nanoTime() - start);
+    }
+
+    private void disconnect(Session session) {
+        if (session == null) return;
+        closeQuietly(session.key);
+        Room room = session.room;
+        if (room != null) {
+            session.room = null;
+            room.members.remove(session);
+            if (session.dirty) room.dirty.remove(session);
+            room.events.append(RaceProtocol.LEFT).append(' ').append(session.id).append('\n');
+            TypingMetrics.RACE_PLAYERS.dec();
+        }
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        if (key == null) return;
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // Ya estaba cerrada
+        }
+    }
+
+    private static final class Room {
+        final String name;
+        final long seed;
+        final List<Session> members = new ArrayList<>();
+        // Miembros cuyo progreso cambió desde el último lote
+        final List<Session> dirty = new ArrayList<>();
+        // Líneas de entradas, salidas y llegadas del próximo lote
+        final ByteLine events = new ByteLine();
+        int nextId;
+        int finishedCount;
+
+        Room(String name, long seed) {
+            this.name = name;
+            this.seed = seed;
+        }
+
+        void markDirty(Session session) {
+            if (!session.dirty) {
+                session.dirty = true;
+                dirty.add(session);
+            }
+        }
+    }
+
+    private final class Session {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(MAX_LINE_BYTES);
+        final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+        int pendingBytes;
+        SelectionKey key;
+        Room room;
+        int id = -1;
+        String name;
+        int progress;
+        boolean dirty;
+        boolean finished;
+
+        Session(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        // Escribe ya si se puede; si no, encola hasta que el socket admita escritura
+        void send(ByteBuffer buffer) {
+            if (!key.isValid()) return;
+            try {
+                if (out.isEmpty()) {
+                    channel.write(buffer);
+                    if (!buffer.hasRemaining()) return;
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                }
+                out.add(buffer);
+                pendingBytes += buffer.remaining();
+                if (pendingBytes > MAX_PENDING_BYTES) disconnect(this);
+            } catch (IOException e) {
+                disconnect(this);
+            }
+        }
+
+        void drain() throws IOException {
+            ByteBuffer buffer;
+            while ((buffer = out.peek()) != null) {
+                int before = buffer.remaining();
+                channel.write(buffer);
+                pendingBytes -= before - buffer.remaining();
+                if (buffer.hasRemaining()) return;
+                out.poll();
+            }
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    // Línea ASCII/UTF-8 que crece y codifica números sin crear objetos
+    static final class ByteLine {
+        private byte[] bytes = new byte[512];
+        private int length;
+
+        void clear() {
+            length = 0;
+        }
+
+        int length() {
+            return length;
+        }
+
+        ByteLine append(char c) {
+            ensure(1);
+            bytes[length++] = (byte) c;
+            return this;
+        }
+
+        ByteLine append(String text) {
+            int n = text.length();
+            ensure(n);
+            int i = 0;
+            while (i < n && text.charAt(i) < 0x80) {
+                bytes[length + i] = (byte) text.charAt(i);
+                i++;
+            }
+            if (i == n) {
+                length += n;
+                return this;
+            }
+            byte[] encoded = text.getBytes(StandardCharsets.UTF_8);
+            ensure(encoded.length);
+            System.arraycopy(encoded, 0, bytes, length, encoded.length);
+            length += encoded.length;
+            return this;
+        }
+
+        ByteLine append(ByteLine other) {
+            ensure(other.length);
+            System.arraycopy(other.bytes, 0, bytes, length, other.length);
+            length += other.length;
+            return this;
+        }
+
+        ByteLine append(long value) {
+            if (value < 0) {
+                if (value == Long.MIN_VALUE) return append(Long.toString(value));
+                append('-');
+                value = -value;
+            }
+            ensure(20);
+            int digits = 1;
+            for (long v = value; v >= 10; v /= 10) digits++;
+            for (int i = length + digits - 1; i >= length; i--) {
+                bytes[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            length += digits;
+            return this;
+        }
+
+        byte[] toArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(length + extra, bytes.length * 2));
+        }
+    }
+}
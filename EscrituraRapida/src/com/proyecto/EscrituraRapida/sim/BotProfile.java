@@ -0,0 +1,29 @@
+package com.proyecto.EscrituraRapida.sim;
+
+import java.util.List;
+import java.util.Random;
+
+// Forma de teclear de un jugador simulado: media entre pulsaciones, su desviación como
+// fracción de la media, probabilidad de una tecla errónea (que se borra) y tiempo de
+// lectura antes de la primera pulsación de cada palabra
+public record BotProfile(String name, double msPerChar, double jitter, double errorRate, double reactionMs) {
+
+    // De un principiante lento a un mecanógrafo rápido
+    public static final List<BotProfile> DEFAULTS = List.of(
+            new BotProfile("principiante", 420, 0.45, 0.08, 900),
+            new BotProfile("intermedio", 240, 0.35, 0.04, 600),
+            new BotProfile("experto", 130, 0.25, 0.015, 400));
+
+    // Milisegundos hasta la siguiente pulsación, nunca menos de 30
+    double nextKeystrokeMs(Random random) {
+        return Math.max(30, msPerChar * (1 + jitter * random.nextGaussian()));
+    }
+
+    // Copia con la velocidad y los errores algo cambiados, para que los bots de un mismo
+    // perfil no jueguen todos igual
+    BotProfile vary(Random random) {
+        double speed = Math.max(0.5, 1 + 0.15 * random.nextGaussian());
+        double errors = Math.max(0.25, 1 + 0.3 * random.nextGaussian());
+        return new BotProfile(name, msPerChar * speed, jitter, Math.min(0.5, errorRate * errors), reactionMs);
+    }
+}
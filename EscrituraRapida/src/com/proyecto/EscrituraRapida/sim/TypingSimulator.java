@@ -0,0 +1,158 @@
+package com.proyecto.EscrituraRapida.sim;
+
+import com.proyecto.EscrituraRapida.model.LogicGame;
+import com.proyecto.EscrituraRapida.model.TimeControl;
+import com.proyecto.EscrituraRapida.model.corpus.WordCorpus;
+import com.proyecto.EscrituraRapida.model.stats.SessionSummary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Juega muchas partidas de LogicGame con mecanógrafos simulados y sin interfaz.
+// Cada bot juega como GameController: pide la palabra con nuevaPalabra, la teclea letra a
+// letra (con sus errores y correcciones) por actualizarEscritura y llama a validar y
+// subirNivel hasta que se acaba el tiempo del nivel. El tiempo sale de un VirtualClock, así
+// que una partida de minutos tarda microsegundos y el resultado solo depende de la semilla.
+// Un hilo por núcleo basta: ningún bot duerme.
+// Uso: java ... TypingSimulator [--bots N] [--threads N] [--seed N]
+//      [--dificultad facil|normal|dificil] [--max-level N]
+// El corpus se toma de -Descritura.corpus, como en el juego.
+public class TypingSimulator {
+
+    record GameResult(BotProfile profile, int level, SessionSummary summary) { }
+
+    private final TimeControl curve;
+    private final WordCorpus corpus;
+    private final int maxLevel;
+
+    // corpus null = lista interna; al llegar a maxLevel la partida se da por ganada
+    public TypingSimulator(TimeControl curve, WordCorpus corpus, int maxLevel) {
+        this.curve = curve;
+        this.corpus = corpus;
+        this.maxLevel = maxLevel;
+    }
+
+    GameResult play(BotProfile profile, long seed) {
+        Random random = new Random(seed);
+        VirtualClock clock = new VirtualClock();
+        LogicGame game = new LogicGame(corpus, curve, new Random(seed ^ 0x5DEECE66DL), clock);
+        StringBuilder typed = new StringBuilder();
+
+        while (game.getNivel() < maxLevel) {
+            String word = game.nuevaPalabra();
+            long deadline = clock.getAsLong() + game.getTiempoNivelMillis() * 1_000_000L;
+            game.getReloj().start(game.getTiempoNivelMillis(), clock.getAsLong());
+            game.ignorarEscritura("");
+            typed.setLength(0);
+
+            clock.advance(profile.reactionMs());
+            for (int i = 0; i < word.length() && clock.getAsLong() < deadline; i++) {
+                if (random.nextDouble() < profile.errorRate()) {
+                    // Tecla errónea, que el bot ve y borra
+                    clock.advance(profile.nextKeystrokeMs(random));
+                    typed.append('#');
+                    game.actualizarEscritura(typed.toString());
+                    clock.advance(profile.nextKeystrokeMs(random));
+                    typed.setLength(typed.length() - 1);
+                    game.actualizarEscritura(typed.toString());
+                }
+                clock.advance(profile.nextKeystrokeMs(random));
+                typed.append(word.charAt(i));
+                game.actualizarEscritura(typed.toString());
+            }
+
+            String submitted = typed.toString();
+            if (clock.getAsLong() > deadline) {
+                // Se acabó el tiempo antes de la última pulsación: lo incompleto aún puede puntuar en parte
+                submitted = typed.substring(0, Math.max(0, typed.length() - 1));
+            }
+            if (!game.validar(submitted, word)) break;
+            game.getReloj().stop(clock.getAsLong());
+            game.subirNivel();
+        }
+        int level = game.getNivel();
+        return new GameResult(profile, level, game.cerrarSesion());
+    }
+
+    // Reparte los perfiles en rueda; los resultados vuelven en el orden de los bots
+    public List<GameResult> run(List<BotProfile> profiles, int bots, int threads, long seed)
+            throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "escritura-sim");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Random seeds = new Random(seed);
+            List<Future<GameResult>> futures = new ArrayList<>(bots);
+            for (int i = 0; i < bots; i++) {
+                long botSeed = seeds.nextLong();
+                BotProfile profile = profiles.get(i % profiles.size()).vary(new Random(botSeed));
+                futures.add(pool.submit(() -> play(profile, botSeed)));
+            }
+            List<GameResult> results = new ArrayList<>(bots);
+            for (Future<GameResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulated game failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int bots = 5000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        int maxLevel = 100;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--bots" -> bots = Integer.parseInt(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--dificultad" -> System.setProperty(TimeControl.DIFICULTAD_PROPERTY, args[++i]);
+                case "--max-level" -> maxLevel = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+
+        TypingSimulator simulator = new TypingSimulator(TimeControl.fromProperty(), WordCorpus.fromProperty(), maxLevel);
+        long start = System.nanoTime();
+        List<GameResult> results = simulator.run(BotProfile.DEFAULTS, bots, threads, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf(Locale.ROOT, "bots=%d threads=%d seed=%d curva=%s max-level=%d%n",
+                bots, threads, seed, System.getProperty(TimeControl.DIFICULTAD_PROPERTY, "normal"), maxLevel);
+        System.out.printf(Locale.ROOT, "wall=%.2fs throughput=%.0f games/s%n", seconds, bots / seconds);
+        System.out.printf(Locale.ROOT, "%-13s %6s %6s %6s %6s %6s %7s %7s%n",
+                "perfil", "games", "p10", "p50", "p90", "max", "wpm", "acc");
+        for (BotProfile profile : BotProfile.DEFAULTS) {
+            report(profile.name(), results.stream().filter(r -> r.profile().name().equals(profile.name())).toList());
+        }
+        report("todos", results);
+    }
+
+    private static void report(String name, List<GameResult> results) {
+        if (results.isEmpty()) return;
+        int[] levels = results.stream().mapToInt(GameResult::level).sorted().toArray();
+        double wpm = results.stream().mapToDouble(r -> r.summary().wpm()).average().orElse(0);
+        double accuracy = results.stream().mapToDouble(r -> r.summary().accuracy()).average().orElse(0);
+        System.out.printf(Locale.ROOT, "%-13s %6d %6d %6d %6d %6d %7.1f %7.3f%n", name, levels.length,
+                percentile(levels, 0.10), percentile(levels, 0.50), percentile(levels, 0.90),
+                levels[levels.length - 1], wpm, accuracy);
+    }
+
+    private static int percentile(int[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,19 @@
+package com.proyecto.EscrituraRapida.sim;
+
+import java.util.function.LongSupplier;
+
+// Reloj simulado en nanosegundos. Solo avanza con advance(), así que una partida
+// simulada corre tan rápido como da la CPU.
+public class VirtualClock implements LongSupplier {
+
+    private long now;
+
+    @Override
+    public long getAsLong() {
+        return now;
+    }
+
+    public void advance(double millis) {
+        now += (long) (millis * 1_000_000L);
+    }
+}
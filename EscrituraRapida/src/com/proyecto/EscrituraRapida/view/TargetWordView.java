@@ -0,0 +1,122 @@
+package com.proyecto.EscrituraRapida.view;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextFlow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Muestra la palabra objetivo con un nodo Text por carácter, coloreado según lo que el
+// jugador lleva bien escrito.
+// Los nodos salen de un pool que solo crece con una palabra más larga que todas las
+// anteriores; los que sobran se quedan en el TextFlow ocultos y sin gestionar, así que una
+// palabra nueva nunca añade ni quita hijos. En cada pulsación solo cambian los caracteres
+// entre el final anterior y el nuevo del prefijo correcto, y cambiar de estado solo toca el
+// relleno y el subrayado: ni pasada de CSS ni nuevo layout, sea cual sea el largo de la
+// frase. Todos los estados usan la misma fuente, así que los anchos no cambian.
+// Las posiciones son las del objetivo plegado que compara el matcher; en las pocas entradas
+// cuya forma NFKC tiene otro largo, los colores se recortan a la palabra y pueden correrse
+// un carácter.
+public final class TargetWordView {
+
+    private static final byte PENDIENTE = 0;
+    private static final byte CORRECTO = 1;
+    private static final byte ERROR = 2;
+    private static final byte CURSOR = 3;
+
+    private static final Paint COLOR_PENDIENTE = Color.web("#5a189a");
+    private static final Paint COLOR_CORRECTO = Color.WHITE;
+    private static final Paint COLOR_ERROR = Color.web("#d00000");
+
+    // Cadenas de un carácter del alfabeto latino: mostrar una palabra no crea objetos
+    private static final String[] CARACTERES = new String[0x250];
+
+    static {
+        for (char c = 0; c < CARACTERES.length; c++) CARACTERES[c] = String.valueOf(c);
+    }
+
+    private final TextFlow flow;
+    private final Font font;
+    private final List<Text> pool = new ArrayList<>();
+    private byte[] estados = new byte[0];
+    private int largo;
+    private int prefijo;
+
+    // Los hijos del flow pasan a ser de esta vista
+    public TargetWordView(TextFlow flow, Font font) {
+        this.flow = flow;
+        this.font = font;
+        flow.getChildren().clear();
+    }
+
+    public void mostrar(String palabra) {
+        int nuevo = palabra.length();
+        crecer(nuevo);
+        for (int i = 0; i < nuevo; i++) {
+            Text text = pool.get(i);
+            char c = palabra.charAt(i);
+            String caracter = c < CARACTERES.length ? CARACTERES[c] : String.valueOf(c);
+            if (!caracter.equals(text.getText())) text.setText(caracter);
+            if (i >= largo) {
+                text.setManaged(true);
+                text.setVisible(true);
+            }
+            aplicar(i, i == 0 ? CURSOR : PENDIENTE);
+        }
+        for (int i = nuevo; i < largo; i++) {
+            Text text = pool.get(i);
+            text.setVisible(false);
+            text.setManaged(false);
+        }
+        largo = nuevo;
+        prefijo = 0;
+    }
+
+    // primerError es -1 si no hay ningún error
+    public void actualizar(int prefijoCorrecto, int primerError) {
+        int nuevo = Math.min(prefijoCorrecto, largo);
+        boolean error = primerError >= 0;
+        // Solo pueden cambiar los caracteres entre el límite anterior y el nuevo
+        int desde = Math.min(prefijo, nuevo);
+        int hasta = Math.min(Math.max(prefijo, nuevo), largo - 1);
+        for (int i = desde; i <= hasta; i++) {
+            aplicar(i, i < nuevo ? CORRECTO : i > nuevo ? PENDIENTE : error ? ERROR : CURSOR);
+        }
+        prefijo = nuevo;
+    }
+
+    private void crecer(int n) {
+        if (n <= pool.size()) return;
+        if (n > estados.length) {
+            byte[] mas = new byte[Math.max(n, estados.length * 2)];
+            System.arraycopy(estados, 0, mas, 0, estados.length);
+            estados = mas;
+        }
+        List<Text> nuevos = new ArrayList<>(n - pool.size());
+        for (int i = pool.size(); i < n; i++) {
+            Text text = new Text();
+            text.setFont(font);
+            text.setFill(COLOR_PENDIENTE);
+            text.setManaged(false);
+            text.setVisible(false);
+            nuevos.add(text);
+        }
+        pool.addAll(nuevos);
+        flow.getChildren().addAll(nuevos);
+    }
+
+    private void aplicar(int i, byte estado) {
+        if (estados[i] == estado) return;
+        estados[i] = estado;
+        Text text = pool.get(i);
+        text.setFill(switch (estado) {
+            case CORRECTO -> COLOR_CORRECTO;
+            case ERROR -> COLOR_ERROR;
+            default -> COLOR_PENDIENTE;
+        });
+        text.setUnderline(estado == ERROR || estado == CURSOR);
+    }
+}
@@ -0,0 +1,89 @@
+package com.proyecto.EscrituraRapida.model;
+
+import com.proyecto.EscrituraRapida.model.folding.MatchMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TypingMatcherTest {
+
+    private static final String ACUTE = "́";
+
+    private static TypingMatcher matcher(MatchMode mode, String objetivo) {
+        TypingMatcher matcher = new TypingMatcher();
+        matcher.setMode(mode);
+        matcher.reset(objetivo);
+        return matcher;
+    }
+
+    @Test
+    void separateAccentCompletesThePreviousLetter() {
+        TypingMatcher matcher = matcher(MatchMode.EXACT, "canción");
+
+        matcher.update("cancio");
+        assertEquals(5, matcher.getFirstError());
+
+        // The combining mark turns the typed o into ó: the text goes through NFKC
+        matcher.update("cancio" + ACUTE);
+        assertTrue(matcher.isOnTrack());
+        assertEquals(6, matcher.getCorrectPrefix());
+
+        matcher.update("cancio" + ACUTE + "n ");
+        assertTrue(matcher.isComplete());
+    }
+
+    @Test
+    void separateAccentOnTheWrongLetterIsStillAnError() {
+        TypingMatcher matcher = matcher(MatchMode.EXACT, "canción");
+        matcher.update("canci" + ACUTE + "o");
+        assertFalse(matcher.isOnTrack());
+        assertEquals(4, matcher.getFirstError());
+    }
+
+    @Test
+    void accentInsensitiveModesSkipSeparateAccents() {
+        for (MatchMode mode : new MatchMode[] {MatchMode.ACCENT_FOLD, MatchMode.FOLD_ALL}) {
+            TypingMatcher matcher = matcher(mode, "canción");
+            matcher.update("canci" + ACUTE + "on");
+            assertTrue(matcher.isComplete(), mode.name());
+            matcher.update("cancio" + ACUTE + "n");
+            assertTrue(matcher.isComplete(), mode.name());
+        }
+    }
+
+    @Test
+    void agreesWithAnNfkcComparisonOnRandomText() {
+        Random random = new Random(40);
+        String[] pieces = {"a", "o", "e", "n", "ñ", "á", "ó", "A", "Ó", " ", ACUTE, "̈", "̃", "ﬁ", "x"};
+        for (MatchMode mode : new MatchMode[] {MatchMode.EXACT, MatchMode.CASE_FOLD}) {
+            for (int round = 0; round < 5000; round++) {
+                String objetivo = randomText(random, pieces, 1 + random.nextInt(6));
+                String escrito = random.nextBoolean() ? objetivo : randomText(random, pieces, random.nextInt(8));
+                TypingMatcher matcher = matcher(mode, objetivo);
+                matcher.update(escrito);
+
+                String target = mode.normalizeAndFold(objetivo);
+                String typed = mode.normalizeAndFold(escrito).strip();
+                int prefix = 0;
+                while (prefix < typed.length() && prefix < target.length()
+                        && typed.charAt(prefix) == target.charAt(prefix)) {
+                    prefix++;
+                }
+                String context = mode + " '" + escrito + "' vs '" + objetivo + "'";
+                assertEquals(prefix, matcher.getCorrectPrefix(), context);
+                assertEquals(prefix == typed.length(), matcher.isOnTrack(), context);
+                assertEquals(typed.equals(target), matcher.isComplete(), context);
+            }
+        }
+    }
+
+    private static String randomText(Random random, String[] pieces, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int k = 0; k < count; k++) text.append(pieces[random.nextInt(pieces.length)]);
+        return text.toString();
+    }
+}
@@ -0,0 +1,126 @@
+package com.proyecto.EscrituraRapida.model.corpus;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BigramIndexTest {
+
+    private static final String LETTERS = "abcdeñóAÉ ";
+
+    private static List<String> randomEntries(Random random, int count) {
+        List<String> entries = new ArrayList<>();
+        for (int id = 0; id < count; id++) {
+            StringBuilder entry = new StringBuilder();
+            int length = 1 + random.nextInt(8);
+            for (int k = 0; k < length; k++) entry.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            entries.add(entry.toString());
+        }
+        return entries;
+    }
+
+    private static boolean contains(String entry, int key) {
+        for (int i = 1; i < entry.length(); i++) {
+            if (BigramIndex.key(entry.charAt(i - 1), entry.charAt(i)) == key) return true;
+        }
+        return false;
+    }
+
+    private static Set<Integer> keysOf(List<String> entries) {
+        Set<Integer> keys = new HashSet<>();
+        for (String entry : entries) {
+            for (int i = 1; i < entry.length(); i++) {
+                int key = BigramIndex.key(entry.charAt(i - 1), entry.charAt(i));
+                if (key != BigramIndex.NONE) keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    @Test
+    void keysFoldCaseButKeepAccentsAndSkipSpaces() {
+        assertEquals(BigramIndex.key('c', 'a'), BigramIndex.key('C', 'A'));
+        assertTrue(BigramIndex.key('o', 'n') != BigramIndex.key('ó', 'n'));
+        assertEquals(BigramIndex.NONE, BigramIndex.key('a', ' '));
+        assertEquals("ca", BigramIndex.text(BigramIndex.key('C', 'a')));
+    }
+
+    @Test
+    void postingsHoldEveryEntryOnceInIdOrder() {
+        List<String> entries = randomEntries(new Random(50), 3000);
+        BigramIndex index = BigramIndex.build(entries.size(), entries::get);
+        Set<Integer> keys = keysOf(entries);
+        assertEquals(entries.size(), index.entries());
+        assertEquals(keys.size(), index.bigrams());
+
+        Random random = new Random(51);
+        for (int key : keys) {
+            int count = 0;
+            for (String entry : entries) if (contains(entry, key)) count++;
+            assertEquals(count, index.count(key), BigramIndex.text(key));
+        }
+        // Single-id ranges only find the id if the sorted postings hold it
+        for (int key : keys) {
+            for (int id = 0; id < entries.size(); id += 7) {
+                int picked = index.pick(key, new int[] {id, id + 1}, random);
+                assertEquals(contains(entries.get(id), key) ? id : -1, picked);
+            }
+        }
+    }
+
+    @Test
+    void repeatedBigramIsPostedOnce() {
+        List<String> entries = List.of("aaaa", "Aa", "b");
+        BigramIndex index = BigramIndex.build(entries.size(), entries::get);
+        assertEquals(2, index.count(BigramIndex.key('a', 'a')));
+        assertEquals(0, index.count(BigramIndex.key('b', 'b')));
+        assertEquals(-1, index.pick(BigramIndex.key('b', 'b'), null, new Random()));
+    }
+
+    @Test
+    void picksStayInsideTheRanges() {
+        List<String> entries = randomEntries(new Random(52), 2000);
+        BigramIndex index = BigramIndex.build(entries.size(), entries::get);
+        Random random = new Random(53);
+        List<Integer> keys = new ArrayList<>(keysOf(entries));
+        for (int round = 0; round < 300; round++) {
+            int key = keys.get(random.nextInt(keys.size()));
+            int[] ranges = randomRanges(random, entries.size());
+            Set<Integer> allowed = new HashSet<>();
+            for (int r = 0; r < ranges.length; r += 2) {
+                for (int id = ranges[r]; id < ranges[r + 1]; id++) {
+                    if (contains(entries.get(id), key)) allowed.add(id);
+                }
+            }
+            Set<Integer> picked = new HashSet<>();
+            for (int k = 0; k < 200; k++) {
+                int id = index.pick(key, ranges, random);
+                if (allowed.isEmpty()) {
+                    assertEquals(-1, id);
+                } else {
+                    assertTrue(allowed.contains(id), "id " + id + " outside the ranges");
+                    picked.add(id);
+                }
+            }
+            // Small candidate sets are covered by 200 uniform picks
+            if (allowed.size() <= 10) assertEquals(allowed, picked);
+        }
+    }
+
+    /** Up to four sorted, disjoint {@code [start, end)} ranges. */
+    private static int[] randomRanges(Random random, int size) {
+        int count = random.nextInt(5);
+        int[] bounds = new int[count * 2];
+        for (int k = 0; k < bounds.length; k++) bounds[k] = random.nextInt(size + 1);
+        Arrays.sort(bounds);
+        return bounds;
+    }
+}
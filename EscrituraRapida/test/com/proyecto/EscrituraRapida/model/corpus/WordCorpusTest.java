@@ -0,0 +1,165 @@
+package com.proyecto.EscrituraRapida.model.corpus;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WordCorpusTest {
+
+    private static final List<String> ENTRIES = List.of(
+            "sol", "casa", "perro", "árbol", "canción", "computadora", "murciélago",
+            "buenos días", "hasta luego", "otorrinolaringología", "un día de campo en la sierra",
+            "paz", "ratón", "teclado", "pantalla", "esdrújula", "agua fría");
+
+    @TempDir
+    Path dir;
+
+    private Path write(String name, List<String> lines) throws IOException {
+        return Files.write(dir.resolve(name), lines, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> all(WordCorpus corpus) {
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < corpus.size(); i++) entries.add(corpus.get(i));
+        return entries;
+    }
+
+    @Test
+    void indexHoldsEveryUsableEntryOnce() throws IOException {
+        List<String> lines = new ArrayList<>(List.of("# comentario", "", "   "));
+        lines.addAll(ENTRIES.subList(0, 8));
+        Path first = write("a.txt", lines);
+        Path second = write("b.txt", List.of("hasta   luego", "\totorrinolaringología  ", "un día\tde campo en la sierra"));
+
+        try (WordCorpus corpus = WordCorpus.open(List.of(first, second))) {
+            assertEquals(11, corpus.size());
+            assertEquals(new HashSet<>(ENTRIES.subList(0, 11)), new HashSet<>(all(corpus)));
+        }
+
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(dir.resolve("a.txt.idx")));
+        assertEquals("ERCX", new String(header.array(), 0, 4, StandardCharsets.US_ASCII));
+        assertEquals(1, header.getInt(4));
+        assertEquals(11, header.getInt(16));
+    }
+
+    @Test
+    void staleIndexIsRebuiltAndCurrentIndexIsReused() throws IOException {
+        Path list = write("palabras.txt", ENTRIES.subList(0, 5));
+        Path index = dir.resolve("palabras.txt.idx");
+        try (WordCorpus corpus = WordCorpus.open(List.of(list))) {
+            assertEquals(5, corpus.size());
+        }
+        FileTime built = FileTime.fromMillis(1_000_000);
+        Files.setLastModifiedTime(index, built);
+
+        try (WordCorpus corpus = WordCorpus.open(List.of(list))) {
+            assertEquals(5, corpus.size());
+        }
+        assertEquals(built, Files.getLastModifiedTime(index));
+
+        // Same size, later modification time: the fingerprint changes
+        Files.write(list, List.of("uno", "dos", "tres", "cuatro", "cinco"), StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(list, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+        try (WordCorpus corpus = WordCorpus.open(List.of(list))) {
+            assertEquals(Set.of("uno", "dos", "tres", "cuatro", "cinco"), new HashSet<>(all(corpus)));
+        }
+        assertNotEquals(built, Files.getLastModifiedTime(index));
+
+        Files.write(index, new byte[64]);
+        try (WordCorpus corpus = WordCorpus.open(List.of(list))) {
+            assertEquals(5, corpus.size());
+        }
+    }
+
+    @Test
+    void indexIsRebuiltWhileAnOlderCorpusIsOpen() throws IOException {
+        Path list = write("abierto.txt", ENTRIES.subList(0, 4));
+        try (WordCorpus old = WordCorpus.open(List.of(list))) {
+            Files.write(list, ENTRIES.subList(4, 10), StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(list, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+            try (WordCorpus current = WordCorpus.open(List.of(list))) {
+                assertEquals(new HashSet<>(ENTRIES.subList(4, 10)), new HashSet<>(all(current)));
+            }
+            // The open corpus keeps reading the index it mapped
+            assertEquals(new HashSet<>(ENTRIES.subList(0, 4)), new HashSet<>(all(old)));
+        }
+        try (var files = Files.list(dir)) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void queriesSelectExactlyTheMatchingBuckets() throws IOException {
+        Path list = write("palabras.txt", ENTRIES);
+        Random random = new Random(39);
+        try (WordCorpus corpus = WordCorpus.open(List.of(list))) {
+            List<CorpusQuery> queries = new ArrayList<>(List.of(CorpusQuery.ANY,
+                    new CorpusQuery(4, 4, false, false), new CorpusQuery(1, 7, true, false)));
+            for (int level = 1; level <= 20; level++) queries.add(CorpusQuery.forLevel(level));
+
+            for (CorpusQuery query : queries) {
+                Set<Integer> expected = new HashSet<>();
+                for (int i = 0; i < corpus.size(); i++) {
+                    if (matches(query, corpus.get(i))) expected.add(i);
+                }
+                assertEquals(expected.size(), corpus.count(query), query.toString());
+
+                Set<Integer> inRanges = new HashSet<>();
+                int[] ranges = corpus.entryRanges(query);
+                for (int r = 0; r < ranges.length; r += 2) {
+                    for (int i = ranges[r]; i < ranges[r + 1]; i++) assertTrue(inRanges.add(i));
+                }
+                assertEquals(expected, inRanges, query.toString());
+
+                for (int k = 0; k < 50; k++) {
+                    String sample = corpus.sample(query, random);
+                    if (expected.isEmpty()) {
+                        assertNull(sample);
+                    } else {
+                        assertNotNull(sample);
+                        assertTrue(matches(query, sample), sample);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void listsWithoutEntriesAreRejected() throws IOException {
+        Path list = write("vacia.txt", List.of("# solo comentarios", "", "  "));
+        assertThrows(IOException.class, () -> WordCorpus.open(List.of(list)));
+
+        String before = System.getProperty(WordCorpus.CORPUS_PROPERTY);
+        System.setProperty(WordCorpus.CORPUS_PROPERTY, list.toString());
+        try {
+            assertNull(WordCorpus.fromProperty());
+        } finally {
+            if (before == null) System.clearProperty(WordCorpus.CORPUS_PROPERTY);
+            else System.setProperty(WordCorpus.CORPUS_PROPERTY, before);
+        }
+    }
+
+    private static boolean matches(CorpusQuery query, String entry) {
+        int length = entry.codePointCount(0, entry.length());
+        boolean accented = entry.chars().anyMatch(c -> c > 0x7F);
+        return query.matches(Math.min(length, 31), accented, entry.indexOf(' ') >= 0);
+    }
+}
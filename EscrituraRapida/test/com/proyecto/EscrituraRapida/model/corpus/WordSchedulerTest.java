@@ -0,0 +1,111 @@
+package com.proyecto.EscrituraRapida.model.corpus;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WordSchedulerTest {
+
+    private static final int DRAWS = 200_000;
+
+    @Test
+    void picksFollowTheWeights() {
+        WordScheduler scheduler = new WordScheduler(6, 0);
+        scheduler.record(1, false, 0, 4);
+        scheduler.record(2, false, 0, 4);
+        scheduler.record(2, false, 0, 4);
+        scheduler.record(5, false, 0, 4);
+        scheduler.record(5, false, 0, 4);
+        scheduler.record(5, false, 0, 4);
+        int[] weights = {1000, 2000, 4000, 1000, 1000, 8000};
+        for (int id = 0; id < weights.length; id++) assertEquals(weights[id], scheduler.getWeight(id));
+
+        assertFrequencies(scheduler, null, weights);
+        // Only ids 1..2 and 4..5
+        assertFrequencies(scheduler, new int[] {1, 3, 4, 6}, new int[] {0, 2000, 4000, 0, 1000, 8000});
+    }
+
+    @Test
+    void goodWordsDecayAndSlowWordsGainWeight() {
+        WordScheduler scheduler = new WordScheduler(3, 0);
+        scheduler.record(0, false, 0, 4);
+        scheduler.record(0, true, 400, 4);
+        assertEquals(1500, scheduler.getWeight(0));
+        scheduler.record(1, true, 2000, 4);
+        assertEquals(WordScheduler.BASE_WEIGHT + WordScheduler.BASE_WEIGHT / 2, scheduler.getWeight(1));
+        scheduler.record(2, true, 400, 4);
+        assertEquals(WordScheduler.BASE_WEIGHT, scheduler.getWeight(2));
+    }
+
+    @Test
+    void recentWordsAreNotPickedAgain() {
+        int recentLimit = 4;
+        WordScheduler scheduler = new WordScheduler(10, recentLimit);
+        scheduler.record(3, false, 0, 4);
+        scheduler.record(3, false, 0, 4);
+        Random random = new Random(43);
+        Deque<Integer> recent = new ArrayDeque<>();
+        for (int k = 0; k < 20_000; k++) {
+            int id = scheduler.next(random);
+            assertFalse(recent.contains(id), "picked again within " + recentLimit + ": " + id);
+            recent.addLast(id);
+            if (recent.size() > recentLimit) recent.removeFirst();
+            for (int other = 0; other < 10; other++) {
+                assertEquals(recent.contains(other), scheduler.isRecent(other));
+            }
+        }
+        // Suppression hides the weight, it does not change it
+        assertEquals(4000, scheduler.getWeight(3));
+    }
+
+    @Test
+    void wordsShownElsewhereAreSuppressedToo() {
+        WordScheduler scheduler = new WordScheduler(3, 2);
+        scheduler.markShown(0);
+        scheduler.markShown(1);
+        Random random = new Random(1);
+        // With two of three words in the window, the draw has a single choice
+        for (int k = 0; k < 100; k++) {
+            assertEquals((k + 2) % 3, scheduler.next(random, new int[] {0, 3}));
+        }
+    }
+
+    @Test
+    void emptyOrFullySuppressedRanges() {
+        WordScheduler scheduler = new WordScheduler(10, 3);
+        Random random = new Random(2);
+        assertEquals(-1, scheduler.next(random, new int[0]));
+        assertEquals(-1, scheduler.next(random, new int[] {4, 4}));
+
+        // Every allowed word is recent: a uniform pick among them instead of nothing
+        scheduler.markShown(0);
+        scheduler.markShown(1);
+        for (int k = 0; k < 100; k++) {
+            int id = scheduler.next(random, new int[] {0, 2});
+            assertTrue(id == 0 || id == 1);
+        }
+    }
+
+    private static void assertFrequencies(WordScheduler scheduler, int[] ranges, int[] weights) {
+        Random random = new Random(ranges == null ? 3 : 4);
+        int[] hits = new int[weights.length];
+        for (int k = 0; k < DRAWS; k++) {
+            hits[ranges == null ? scheduler.next(random) : scheduler.next(random, ranges)]++;
+        }
+        double total = 0;
+        for (int w : weights) total += w;
+        for (int id = 0; id < weights.length; id++) {
+            double expected = weights[id] / total;
+            double observed = (double) hits[id] / DRAWS;
+            // About five standard deviations of a binomial share
+            double tolerance = 5 * Math.sqrt(expected * (1 - expected) / DRAWS) + 1e-9;
+            assertEquals(expected, observed, tolerance, "id " + id);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.proyecto.EscrituraRapida.model.scoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class EditScorerTest {
+
+    // Includes a supplementary code point, counted as one character
+    private static final int[] ALPHABET = {'a', 'b', 'c', 'ñ', 'á', 0x1F600};
+
+    @Test
+    void smallCases() {
+        EditScorer scorer = new EditScorer();
+        assertEquals(0, scorer.score("", ""));
+        assertEquals(1.0, scorer.getAccuracy());
+        assertEquals(4, scorer.score("", "casa"));
+        assertEquals(4, scorer.score("casa", ""));
+        assertEquals(0, scorer.score("  casa ", "casa"));
+        assertEquals(1, scorer.score("caza", "casa"));
+        assertEquals("MMSM", scorer.appendAlignment(new StringBuilder()).toString());
+        assertEquals(3, scorer.score("kitten", "sitting"));
+    }
+
+    @Test
+    void matchesPlainLevenshteinOnLongRandomTexts() {
+        Random random = new Random(45);
+        EditScorer scorer = new EditScorer();
+        for (int round = 0; round < 400; round++) {
+            // Targets from 65 to 300 code points: more than one 64-row block
+            int[] target = randomText(random, 65 + random.nextInt(236));
+            int[] typed = random.nextBoolean()
+                    ? mutate(random, target, random.nextInt(20))
+                    : randomText(random, random.nextInt(300));
+            String objetivo = new String(target, 0, target.length);
+            String escrito = new String(typed, 0, typed.length);
+
+            int expected = levenshtein(typed, target);
+            assertEquals(expected, scorer.score(escrito, objetivo), "round " + round);
+            assertAlignment(scorer, typed, target);
+        }
+    }
+
+    @Test
+    void reusedInstanceGivesTheSameResults() {
+        Random random = new Random(46);
+        EditScorer reused = new EditScorer();
+        for (int round = 0; round < 200; round++) {
+            int[] target = randomText(random, random.nextInt(200));
+            int[] typed = mutate(random, target, random.nextInt(10));
+            String objetivo = new String(target, 0, target.length);
+            String escrito = new String(typed, 0, typed.length);
+            assertEquals(new EditScorer().score(escrito, objetivo), reused.score(escrito, objetivo));
+        }
+    }
+
+    /** Checks that the alignment is valid and costs exactly the distance. */
+    private static void assertAlignment(EditScorer scorer, int[] typed, int[] target) {
+        int i = 0;
+        int j = 0;
+        int cost = 0;
+        for (int k = 0; k < scorer.getAlignmentLength(); k++) {
+            switch (scorer.getAlignmentOp(k)) {
+                case EditScorer.MATCH -> assertEquals(target[i++], typed[j++]);
+                case EditScorer.SUBSTITUTION -> {
+                    assertNotEquals(target[i++], typed[j++]);
+                    cost++;
+                }
+                case EditScorer.INSERTION -> {
+                    j++;
+                    cost++;
+                }
+                case EditScorer.DELETION -> {
+                    i++;
+                    cost++;
+                }
+                default -> throw new AssertionError("operación desconocida");
+            }
+        }
+        assertEquals(target.length, i);
+        assertEquals(typed.length, j);
+        assertEquals(scorer.getDistance(), cost);
+        assertEquals(cost, scorer.getSubstitutions() + scorer.getInsertions() + scorer.getDeletions());
+    }
+
+    private static int levenshtein(int[] a, int[] b) {
+        int[] previous = new int[b.length + 1];
+        int[] current = new int[b.length + 1];
+        for (int j = 0; j <= b.length; j++) previous[j] = j;
+        for (int i = 1; i <= a.length; i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length; j++) {
+                int substitution = previous[j - 1] + (a[i - 1] == b[j - 1] ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length];
+    }
+
+    private static int[] randomText(Random random, int length) {
+        int[] text = new int[length];
+        for (int k = 0; k < length; k++) text[k] = ALPHABET[random.nextInt(ALPHABET.length)];
+        return text;
+    }
+
+    /** Applies random substitutions, insertions and deletions. */
+    private static int[] mutate(Random random, int[] text, int edits) {
+        int[] out = text.clone();
+        for (int e = 0; e < edits; e++) {
+            int kind = random.nextInt(3);
+            if (kind == 0 && out.length > 0) {
+                out[random.nextInt(out.length)] = ALPHABET[random.nextInt(ALPHABET.length)];
+            } else if (kind == 1) {
+                int at = random.nextInt(out.length + 1);
+                int[] grown = new int[out.length + 1];
+                System.arraycopy(out, 0, grown, 0, at);
+                grown[at] = ALPHABET[random.nextInt(ALPHABET.length)];
+                System.arraycopy(out, at, grown, at + 1, out.length - at);
+                out = grown;
+            } else if (out.length > 0) {
+                int at = random.nextInt(out.length);
+                int[] shrunk = new int[out.length - 1];
+                System.arraycopy(out, 0, shrunk, 0, at);
+                System.arraycopy(out, at + 1, shrunk, at, out.length - at - 1);
+                out = shrunk;
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,83 @@
+package com.proyecto.EscrituraRapida.model.stats;
+
+import com.proyecto.EscrituraRapida.model.corpus.BigramIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BigramStatsTest {
+
+    private static final String LETTERS = "abcdefghijklmnñopqrstuvwxyzáéó";
+
+    @Test
+    void fewAttemptsAreNotTrusted() {
+        BigramStats stats = new BigramStats();
+        int key = BigramIndex.key('q', 'u');
+        stats.record(key, true, -1);
+        stats.record(key, true, -1);
+        assertEquals(0, stats.getWeakness(key));
+        assertEquals(0, stats.weakest(new int[3], new double[3]));
+
+        stats.record(BigramIndex.NONE, true, -1);
+        assertEquals(2, stats.getAttempts());
+    }
+
+    @Test
+    void slowAndWrongBigramsComeFirst() {
+        BigramStats stats = new BigramStats();
+        int fast = BigramIndex.key('e', 'n');
+        int slow = BigramIndex.key('q', 'u');
+        int wrong = BigramIndex.key('r', 'r');
+        for (int k = 0; k < 20; k++) {
+            stats.record(fast, false, 100_000_000L);
+            stats.record(slow, false, 400_000_000L);
+            stats.record(wrong, k % 2 == 0, 100_000_000L);
+        }
+        int[] keys = new int[3];
+        double[] weakness = new double[3];
+        int n = stats.weakest(keys, weakness);
+        // The fast bigram is better than average and is left out
+        assertEquals(2, n);
+        assertTrue(stats.getWeakness(fast) < 1);
+        assertEquals(wrong, keys[0]);
+        assertEquals(slow, keys[1]);
+        assertTrue(weakness[0] >= weakness[1]);
+    }
+
+    @Test
+    void weakestMatchesAFullSort() {
+        Random random = new Random(50);
+        BigramStats stats = new BigramStats();
+        List<Integer> keys = new ArrayList<>();
+        for (int k = 0; k < 300; k++) {
+            int key = BigramIndex.key(LETTERS.charAt(random.nextInt(LETTERS.length())),
+                    LETTERS.charAt(random.nextInt(LETTERS.length())));
+            if (!keys.contains(key)) keys.add(key);
+        }
+        for (int k = 0; k < 20_000; k++) {
+            int key = keys.get(random.nextInt(keys.size()));
+            stats.record(key, random.nextInt(10) == 0, 50_000_000L + random.nextInt(300_000_000));
+        }
+
+        List<Integer> weak = new ArrayList<>();
+        for (int key : keys) if (stats.getWeakness(key) > 1) weak.add(key);
+        weak.sort(Comparator.comparingDouble(stats::getWeakness).reversed());
+
+        for (int size : new int[] {1, 5, 20, weak.size() + 10}) {
+            int[] keysOut = new int[size];
+            double[] weaknessOut = new double[size];
+            int n = stats.weakest(keysOut, weaknessOut);
+            assertEquals(Math.min(size, weak.size()), n);
+            for (int k = 0; k < n; k++) {
+                assertEquals(stats.getWeakness(weak.get(k)), weaknessOut[k], "position " + k);
+                assertEquals(stats.getWeakness(keysOut[k]), weaknessOut[k]);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.proyecto.EscrituraRapida.model.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KeystrokeStatsTest {
+
+    private static final long MS = 1_000_000L;
+    private static final long SECOND = 1000 * MS;
+
+    @Test
+    void fullRingDropsTheOldestKeystrokesFromTheWindow() {
+        KeystrokeStats stats = new KeystrokeStats();
+        // 5000 keystrokes 1 ms apart, all inside the 30 s window; the first 904 are wrong
+        for (int k = 0; k < 5000; k++) {
+            stats.record(k * MS, (char) ('a' + k % 26), k >= 904);
+        }
+        long now = 4999 * MS;
+        // Only the last 4096 fit in the ring, and they are all correct
+        assertEquals(1.0, stats.getRollingAccuracy(now));
+        assertEquals(4096.0 / 5000, stats.getAccuracy(), 1e-12);
+        assertEquals(5000, stats.getTyped());
+
+        assertEquals((char) ('a' + 4999 % 26), stats.getRecentChar(0));
+        assertEquals((char) ('a' + 904 % 26), stats.getRecentChar(4095));
+        assertEquals(0, stats.getRecentChar(4096));
+    }
+
+    @Test
+    void keystrokesExpireAfterThirtySeconds() {
+        KeystrokeStats stats = new KeystrokeStats();
+        for (int k = 0; k < 10; k++) stats.record(k * MS, 'a', true);
+        assertEquals(1.0, stats.getRollingAccuracy(30 * SECOND));
+        // 31 s after the first keystrokes they have all left the window
+        assertEquals(0, stats.getRollingWpm(31 * SECOND));
+
+        for (int k = 0; k < 10; k++) stats.record(40 * SECOND + k * MS, 'b', false);
+        assertEquals(0.0, stats.getRollingAccuracy(40 * SECOND + 10 * MS));
+        assertEquals(0.5, stats.getAccuracy());
+        // With nothing left in the window the rolling accuracy falls back to 1
+        assertEquals(1.0, stats.getRollingAccuracy(100 * SECOND));
+    }
+
+    @Test
+    void wpmCountsCorrectCharsOverTheWindow() {
+        KeystrokeStats stats = new KeystrokeStats();
+        // 101 correct chars 600 ms apart: one minute of typing at 20.2 wpm
+        for (int k = 0; k <= 100; k++) stats.record(k * 600 * MS, 'a', true);
+        assertEquals(20.2, stats.getSessionWpm(), 1e-9);
+        // The window holds the 51 chars of the last 30 s
+        assertEquals(51 / 5.0 / 0.5, stats.getRollingWpm(60 * SECOND), 1e-9);
+    }
+
+    @Test
+    void deletionsOnlyCountForLatency() {
+        KeystrokeStats plain = new KeystrokeStats();
+        KeystrokeStats corrected = new KeystrokeStats();
+        for (int k = 0; k < 50; k++) {
+            plain.record(k * 200 * MS, 'a', true);
+            corrected.record(k * 200 * MS, 'a', true);
+            if (k % 5 == 4 && k < 49) corrected.record(k * 200 * MS + 100 * MS, KeystrokeStats.DELETE, false);
+        }
+        long now = 49 * 200 * MS;
+        assertEquals(9, corrected.getDeletions());
+        assertEquals(plain.getTyped(), corrected.getTyped());
+        assertEquals(1.0, corrected.getAccuracy());
+        assertEquals(1.0, corrected.getRollingAccuracy(now));
+        assertEquals(plain.getRollingWpm(now), corrected.getRollingWpm(now), 1e-9);
+        assertEquals(plain.getSessionWpm(), corrected.getSessionWpm(), 1e-9);
+
+        // Each deletion splits a 200 ms gap in two: 58 gaps over the same 9.8 s
+        long[] histogram = corrected.getLatencyHistogram(new long[KeystrokeStats.LATENCY_BUCKETS]);
+        assertEquals(18, histogram[7]);
+        assertEquals(40, histogram[8]);
+        assertEquals(49 * 200.0 / 58, corrected.getMeanLatencyMillis(), 1e-9);
+    }
+
+    @Test
+    void latencyBucketsArePowersOfTwoMilliseconds() {
+        KeystrokeStats stats = new KeystrokeStats();
+        // Gap in ms -> bucket: k holds gaps below 2^k ms, the last one everything longer
+        long[][] gaps = {
+                {0, 0}, {1, 1}, {2, 2}, {3, 2}, {4, 3}, {1023, 10}, {1024, 11},
+                {16_383, 14}, {16_384, 15}, {600_000, 15}};
+        long time = 0;
+        stats.record(time, 'a', true);
+        long[] expected = new long[KeystrokeStats.LATENCY_BUCKETS];
+        for (long[] gap : gaps) {
+            time += gap[0] * MS;
+            stats.record(time, 'a', true);
+            expected[(int) gap[1]]++;
+        }
+        assertEquals(Arrays.toString(expected),
+                Arrays.toString(stats.getLatencyHistogram(new long[KeystrokeStats.LATENCY_BUCKETS])));
+
+        // A clock going backwards counts as a zero gap
+        stats.record(time - SECOND, 'a', true);
+        assertEquals(2, stats.getLatencyHistogram(new long[KeystrokeStats.LATENCY_BUCKETS])[0]);
+    }
+}
@@ -0,0 +1,108 @@
+package com.proyecto.EscrituraRapida.race;
+
+import com.proyecto.EscrituraRapida.metrics.TypingMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RaceServerTest {
+
+    /** A raw protocol client: one line out, one line in. */
+    private static final class Player implements Closeable {
+        final Socket socket;
+        final BufferedReader in;
+        final OutputStream out;
+
+        Player(RaceServer server) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+            socket.setSoTimeout(5000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = socket.getOutputStream();
+        }
+
+        void send(String line) throws IOException {
+            out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+
+        String read() throws IOException {
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Test
+    void twoPlayersRaceInOneRoom() throws Exception {
+        try (RaceServer server = RaceServer.start(0, 20, 47)) {
+            Player ana = new Player(server);
+            ana.send(RaceProtocol.JOIN + "sala ana");
+            String[] welcome = ana.read().split(" ");
+            assertEquals(RaceProtocol.WELCOME, welcome[0]);
+            assertEquals("0", welcome[1]);
+            assertEquals(String.valueOf(RaceServer.RACE_WORDS), welcome[3]);
+            // Nobody else is in the room yet: an empty progress line
+            assertEquals(RaceProtocol.BATCH, ana.read());
+            // Its own join comes back in the next batch
+            assertEquals("JOINED 0 ana", ana.read());
+
+            try (Player beto = new Player(server)) {
+                beto.send(RaceProtocol.JOIN + "sala beto");
+                // Same room, same race: the same seed
+                assertEquals("WELCOME 1 " + welcome[2] + " " + RaceServer.RACE_WORDS, beto.read());
+                assertEquals("JOINED 0 ana", beto.read());
+                assertEquals("B 0 0", beto.read());
+                assertEquals("JOINED 1 beto", beto.read());
+                assertEquals("JOINED 1 beto", ana.read());
+                assertEquals(2, TypingMetrics.RACE_PLAYERS.get());
+
+                ana.send(RaceProtocol.PROGRESS + 5);
+                assertEquals("B 0 5", ana.read());
+                assertEquals("B 0 5", beto.read());
+
+                beto.send(RaceProtocol.DONE);
+                assertEquals("FIN 1 1", ana.read());
+                assertEquals("FIN 1 1", beto.read());
+
+                beto.send("HOLA");
+                assertEquals("ERR comando desconocido", beto.read());
+            }
+            assertEquals("LEFT 1", ana.read());
+
+            ana.close();
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (TypingMetrics.RACE_PLAYERS.get() != 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(0, TypingMetrics.RACE_PLAYERS.get());
+        }
+    }
+
+    @Test
+    void badJoinIsRejectedAndClosingStopsEveryConnection() throws Exception {
+        Player player;
+        try (RaceServer server = RaceServer.start(0, 20, 48)) {
+            player = new Player(server);
+            player.send(RaceProtocol.JOIN + "sala nombre con espacios");
+            assertTrue(player.read().startsWith(RaceProtocol.ERROR + " "));
+            // Not in a room, so progress is ignored and nothing else arrives before the close
+            player.send(RaceProtocol.PROGRESS + 3);
+        }
+        assertNull(player.read());
+        player.close();
+    }
+}
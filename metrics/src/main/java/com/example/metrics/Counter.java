@@ -0,0 +1,53 @@
+package com.example.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Monotonic counter.
+ * <p>
+ * Increments go to a {@link LongAdder}, whose cells are striped across threads,
+ * so recording never takes a lock and rarely contends; the cells are only summed
+ * when the endpoint is scraped. A counter can also read a total that another
+ * object already keeps (e.g. cache lookups) from a supplier at scrape time.
+ */
+public final class Counter extends Metric {
+
+    private final LongAdder value = new LongAdder();
+    private final LongSupplier supplier;
+
+    Counter(String name, String help, LongSupplier supplier) {
+        super(name, help);
+        this.supplier = supplier;
+    }
+
+    /** Adds one. */
+    public void inc() {
+        value.increment();
+    }
+
+    /**
+     * Adds a non-negative amount.
+     *
+     * @param amount the amount to add.
+     */
+    public void add(long amount) {
+        if (amount < 0) throw new IllegalArgumentException("Counters only go up");
+        value.add(amount);
+    }
+
+    /** @return the current total. */
+    public long get() {
+        return supplier != null ? supplier.getAsLong() : value.sum();
+    }
+
+    @Override
+    String type() {
+        return "counter";
+    }
+
+    @Override
+    void writeSamples(StringBuilder out) {
+        out.append(getName()).append(' ').append(get()).append('\n');
+    }
+}
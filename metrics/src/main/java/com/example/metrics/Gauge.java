@@ -0,0 +1,47 @@
+package com.example.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Value that can go up and down.
+ * <p>
+ * A gauge either tracks a striped value changed with {@link #inc()} and
+ * {@link #dec()} (e.g. open sessions) or reads a supplier at scrape time
+ * (e.g. heap use), so nothing is recorded between scrapes.
+ */
+public final class Gauge extends Metric {
+
+    private final LongAdder value = new LongAdder();
+    private final DoubleSupplier supplier;
+
+    Gauge(String name, String help, DoubleSupplier supplier) {
+        super(name, help);
+        this.supplier = supplier;
+    }
+
+    /** Adds one. */
+    public void inc() {
+        value.increment();
+    }
+
+    /** Subtracts one. */
+    public void dec() {
+        value.decrement();
+    }
+
+    /** @return the current value. */
+    public double get() {
+        return supplier != null ? supplier.getAsDouble() : value.sum();
+    }
+
+    @Override
+    String type() {
+        return "gauge";
+    }
+
+    @Override
+    void writeSamples(StringBuilder out) {
+        out.append(getName()).append(' ').append(format(get())).append('\n');
+    }
+}
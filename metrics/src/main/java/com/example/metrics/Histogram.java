@@ -0,0 +1,89 @@
+package com.example.metrics;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations with fixed buckets.
+ * <p>
+ * Bucket bounds are converted to nanoseconds once, so recording a duration is a
+ * short scan over a small {@code long[]} and two striped increments: no locks,
+ * no boxing and no floating point on the hot path. Cumulative counts are built
+ * when the endpoint is scraped.
+ */
+public final class Histogram extends Metric {
+
+    /** Default bounds in seconds, from 10 µs to 5 s. */
+    public static final double[] DEFAULT_BUCKETS = {
+            0.00001, 0.00005, 0.0001, 0.0005, 0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1, 5
+    };
+
+    private final double[] boundsSeconds;
+    private final long[] boundsNanos;
+
+    /** One count per bucket plus the +Inf bucket (not cumulative). */
+    private final LongAdder[] counts;
+    private final LongAdder sumNanos = new LongAdder();
+
+    Histogram(String name, String help, double[] boundsSeconds) {
+        super(name, help);
+        this.boundsSeconds = boundsSeconds.clone();
+        this.boundsNanos = new long[boundsSeconds.length];
+        for (int i = 0; i < boundsSeconds.length; i++) {
+            if (i > 0 && boundsSeconds[i] <= boundsSeconds[i - 1]) {
+                throw new IllegalArgumentException("Bucket bounds must be increasing");
+            }
+            boundsNanos[i] = (long) (boundsSeconds[i] * 1e9);
+        }
+        counts = new LongAdder[boundsSeconds.length + 1];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos duration in nanoseconds, usually the difference of two {@link System#nanoTime()} calls.
+     */
+    public void observeNanos(long nanos) {
+        int bucket = 0;
+        while (bucket < boundsNanos.length && nanos > boundsNanos[bucket]) {
+            bucket++;
+        }
+        counts[bucket].increment();
+        sumNanos.add(nanos);
+    }
+
+    /** @return number of recorded durations. */
+    public long getCount() {
+        long total = 0;
+        for (LongAdder count : counts) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    @Override
+    String type() {
+        return "histogram";
+    }
+
+    @Override
+    void writeSamples(StringBuilder out) {
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i].sum();
+            String le = i < boundsSeconds.length ? formatBound(boundsSeconds[i]) : "+Inf";
+            out.append(getName()).append("_bucket{le=\"").append(le).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        out.append(getName()).append("_sum ").append(format(sumNanos.sum() / 1e9)).append('\n');
+        out.append(getName()).append("_count ").append(cumulative).append('\n');
+    }
+
+    /** Writes bounds without exponent ({@code 0.00001} rather than {@code 1.0E-5}). */
+    private static String formatBound(double bound) {
+        return BigDecimal.valueOf(bound).stripTrailingZeros().toPlainString();
+    }
+}
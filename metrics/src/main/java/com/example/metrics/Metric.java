@@ -0,0 +1,50 @@
+package com.example.metrics;
+
+import java.util.regex.Pattern;
+
+/**
+ * Base class of the metrics kept by {@link MetricsRegistry}.
+ * Each metric knows how to write itself in the Prometheus text format.
+ */
+public abstract class Metric {
+
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+    private final String name;
+    private final String help;
+
+    Metric(String name, String help) {
+        if (!NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+        this.name = name;
+        this.help = help;
+    }
+
+    /** @return the metric name as exposed to Prometheus. */
+    public String getName() {
+        return name;
+    }
+
+    /** @return the Prometheus type: counter, gauge or histogram. */
+    abstract String type();
+
+    /** Appends the sample lines of this metric. */
+    abstract void writeSamples(StringBuilder out);
+
+    /** Appends the HELP and TYPE lines followed by the samples. */
+    final void writeTo(StringBuilder out) {
+        out.append("# HELP ").append(name).append(' ')
+                .append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type()).append('\n');
+        writeSamples(out);
+    }
+
+    /** Formats a sample value the way Prometheus expects it. */
+    static String format(double value) {
+        if (Double.isNaN(value)) return "NaN";
+        if (Double.isInfinite(value)) return value > 0 ? "+Inf" : "-Inf";
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) return Long.toString((long) value);
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds the metrics of the application and renders them in the Prometheus
+ * text exposition format (version 0.0.4).
+ * <p>
+ * Metrics are registered once, usually in static fields, and then updated
+ * without touching the registry. Registering a name twice returns the existing
+ * metric if it has the same type.
+ */
+public final class MetricsRegistry {
+
+    private static final MetricsRegistry DEFAULT = createDefault();
+
+    private final Map<String, Metric> metrics = new LinkedHashMap<>();
+
+    /**
+     * Returns the registry shared by the whole application.
+     * It already contains the JVM heap gauges.
+     *
+     * @return the default registry.
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Registers a counter.
+     *
+     * @param name metric name, e.g. {@code sudoku_games_started_total}.
+     * @param help one-line description.
+     * @return the counter.
+     */
+    public Counter counter(String name, String help) {
+        return register(new Counter(name, help, null), Counter.class);
+    }
+
+    /**
+     * Registers a counter whose total is read when the metrics are scraped.
+     * The supplier must never decrease.
+     *
+     * @param name     metric name, ending in {@code _total}.
+     * @param help     one-line description.
+     * @param supplier returns the current total.
+     * @return the counter.
+     */
+    public Counter counter(String name, String help, LongSupplier supplier) {
+        return register(new Counter(name, help, supplier), Counter.class);
+    }
+
+    /**
+     * Registers a gauge changed with {@link Gauge#inc()} and {@link Gauge#dec()}.
+     *
+     * @param name metric name.
+     * @param help one-line description.
+     * @return the gauge.
+     */
+    public Gauge gauge(String name, String help) {
+        return register(new Gauge(name, help, null), Gauge.class);
+    }
+
+    /**
+     * Registers a gauge whose value is read when the metrics are scraped.
+     *
+     * @param name     metric name.
+     * @param help     one-line description.
+     * @param supplier returns the current value.
+     * @return the gauge.
+     */
+    public Gauge gauge(String name, String help, DoubleSupplier supplier) {
+        return register(new Gauge(name, help, supplier), Gauge.class);
+    }
+
+    /**
+     * Registers a duration histogram with the {@link Histogram#DEFAULT_BUCKETS default buckets}.
+     *
+     * @param name metric name, e.g. {@code sudoku_generation_seconds}.
+     * @param help one-line description.
+     * @return the histogram.
+     */
+    public Histogram histogram(String name, String help) {
+        return histogram(name, help, Histogram.DEFAULT_BUCKETS);
+    }
+
+    /**
+     * Registers a duration histogram.
+     *
+     * @param name          metric name.
+     * @param help          one-line description.
+     * @param boundsSeconds increasing upper bounds of the buckets, in seconds.
+     * @return the histogram.
+     */
+    public Histogram histogram(String name, String help, double[] boundsSeconds) {
+        return register(new Histogram(name, help, boundsSeconds), Histogram.class);
+    }
+
+    /**
+     * Renders every metric in the Prometheus text format.
+     *
+     * @return the exposition text.
+     */
+    public String scrape() {
+        List<Metric> snapshot;
+        synchronized (metrics) {
+            snapshot = new ArrayList<>(metrics.values());
+        }
+        StringBuilder out = new StringBuilder(snapshot.size() * 128);
+        for (Metric metric : snapshot) {
+            metric.writeTo(out);
+        }
+        return out.toString();
+    }
+
+    private <M extends Metric> M register(M metric, Class<M> type) {
+        synchronized (metrics) {
+            Metric existing = metrics.putIfAbsent(metric.getName(), metric);
+            if (existing == null) return metric;
+            if (!type.isInstance(existing)) {
+                throw new IllegalArgumentException("Metric " + metric.getName() + " is already registered as "
+                        + existing.type());
+            }
+            return type.cast(existing);
+        }
+    }
+
+    private static MetricsRegistry createDefault() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        registry.gauge("jvm_memory_heap_used_bytes", "Used heap memory.",
+                () -> memory.getHeapMemoryUsage().getUsed());
+        registry.gauge("jvm_memory_heap_committed_bytes", "Heap memory committed by the JVM.",
+                () -> memory.getHeapMemoryUsage().getCommitted());
+        return registry;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves a {@link MetricsRegistry} at {@code http://127.0.0.1:<port>/metrics}
+ * using the HTTP server built into the JDK.
+ * <p>
+ * The server only listens on the loopback interface and handles requests on a
+ * single daemon thread, so it never keeps the application alive.
+ */
+public final class MetricsServer {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private MetricsServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts the endpoint if a port is configured.
+     *
+     * @param registry     the metrics to serve.
+     * @param portProperty system property with the port, e.g. {@code sudoku.metrics.port};
+     *                     the server is not started without it.
+     * @param threadName   name of the request thread, e.g. {@code sudoku-metrics}.
+     * @return the running server, or null if no port was configured.
+     * @throws IOException if the port cannot be bound.
+     */
+    public static MetricsServer startFromProperty(MetricsRegistry registry, String portProperty, String threadName)
+            throws IOException {
+        Integer port = Integer.getInteger(portProperty);
+        return port == null ? null : start(registry, port, threadName);
+    }
+
+    /**
+     * Starts the endpoint.
+     *
+     * @param registry   the metrics to serve.
+     * @param port       local port (0 picks a free one).
+     * @param threadName name of the request thread.
+     * @return the running server.
+     * @throws IOException if the port cannot be bound.
+     */
+    public static MetricsServer start(MetricsRegistry registry, int port, String threadName) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/metrics", exchange -> handle(exchange, registry));
+        server.setExecutor(executor);
+        server.start();
+        return new MetricsServer(server, executor);
+    }
+
+    /** @return the port the endpoint listens on. */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** Stops the endpoint. */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void handle(HttpExchange exchange, MetricsRegistry registry) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
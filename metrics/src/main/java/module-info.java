@@ -0,0 +1,10 @@
+/**
+ * Prometheus metrics shared by the games: counters, gauges and histograms kept in a
+ * registry, and a local HTTP endpoint that serves them.
+ */
+module com.example.metrics {
+    requires java.management;
+    requires jdk.httpserver;
+
+    exports com.example.metrics;
+}
@@ -1,8 +1,14 @@
 package com.example.demosudoku;
 
+import com.example.demosudoku.metrics.SudokuMetrics;
 import com.example.demosudoku.utils.AlertBox;
+import com.example.demosudoku.utils.StartupTimer;
+import com.example.demosudoku.view.GameViewPreloader;
 import com.example.demosudoku.view.SudokuWelcomeStage;
+import com.example.metrics.MetricsRegistry;
+import com.example.metrics.MetricsServer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 
 import java.io.IOException;
@@ -13,6 +19,9 @@ import java.io.IOException;
  */
 public class Main extends Application {
 
+    /** Local Prometheus endpoint, running only when a metrics port is configured. */
+    private MetricsServer metricsServer;
+
     /**
      * Launches the JavaFX application.
      *
@@ -25,15 +34,32 @@ public class Main extends Application {
     /**
      * Initializes and displays the welcome screen of the Sudoku game.
      * <p>
-     * If the FXML file cannot be loaded, an alert message is shown to the user.
+     * While the welcome screen is up, the game view and its first puzzle are
+     * preloaded in the background. If the FXML file cannot be loaded, an alert
+     * message is shown to the user. When {@code -Dsudoku.metrics.port} is set, the
+     * metrics endpoint is started as well.
      *
      * @param primaryStage the primary stage provided by JavaFX (not used here, since we manage custom stages).
      */
     @Override
     public void start(Stage primaryStage) {
+        try {
+            metricsServer = MetricsServer.startFromProperty(MetricsRegistry.getDefault(),
+                    SudokuMetrics.PORT_PROPERTY, "sudoku-metrics");
+        } catch (IOException e) {
+            System.err.println("No se pudo iniciar el endpoint de métricas: " + e.getMessage());
+        }
+
         try {
             // Launch the initial welcome screen
-            SudokuWelcomeStage.getInstance();
+            SudokuWelcomeStage welcomeStage = SudokuWelcomeStage.getInstance();
+            GameViewPreloader.start();
+
+            StartupTimer.onFirstFrame(welcomeStage.getScene(), () -> {
+                if (StartupTimer.isExitAfterFirstFrame()) {
+                    GameViewPreloader.whenLoaded(() -> Platform.runLater(Platform::exit));
+                }
+            });
         } catch (IOException e) {
             // Show a friendly error alert instead of a raw stack trace
             new AlertBox().showError("No se pudo cargar la pantalla de bienvenida.\n" +
@@ -48,6 +74,9 @@ public class Main extends Application {
      */
     @Override
     public void stop() {
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
         System.out.println("Aplicación Sudoku finalizada correctamente.");
     }
 }
@@ -1,5 +1,7 @@
 package com.example.demosudoku.controller;
 
+import com.example.demosudoku.model.board.Feasibility;
+import com.example.demosudoku.model.board.Geometry;
 import com.example.demosudoku.model.game.Game;
 import com.example.demosudoku.model.user.User;
 import com.example.demosudoku.utils.AlertBox;
@@ -7,15 +9,21 @@ import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.scene.layout.GridPane;
+import javafx.stage.FileChooser;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.Random;
 import java.util.ResourceBundle;
 
 /**
  * Controller for the main Sudoku game view (sudoku-game-view.fxml).
- * Manages board initialization, user data, and UI actions (Hint / Reset).
+ * Manages board initialization, user data, and UI actions (Hint / Check / Reset).
  */
 public class SudokuGameController implements Initializable {
 
@@ -27,14 +35,34 @@ public class SudokuGameController implements Initializable {
     @FXML
     private Label playerNameLbl;
 
+    /** Label that warns when the board can no longer be solved. */
+    @FXML
+    private Label feasibilityLbl;
+
     /** Button for requesting a hint. */
     @FXML
     private Button btnHint;
 
+    /** Button for checking the board against the solution. */
+    @FXML
+    private Button btnCheck;
+
+    /** Toggles strict checking of each digit against the solution. */
+    @FXML
+    private CheckBox strictModeChk;
+
     /** Button for resetting the game. */
     @FXML
     private Button btnReset;
 
+    /** Button for playing the puzzles of a file. */
+    @FXML
+    private Button btnImport;
+
+    /** Button for saving the current puzzle to a file. */
+    @FXML
+    private Button btnExport;
+
     /** The current game logic instance. */
     private Game game;
 
@@ -44,6 +72,10 @@ public class SudokuGameController implements Initializable {
     /**
      * Initializes the controller class after the FXML has been loaded.
      * Creates a new game instance and starts it.
+     * <p>
+     * The view is normally loaded by {@code GameViewPreloader} while the welcome
+     * screen is shown, so this runs off the JavaFX thread before the nodes are
+     * attached to a scene.
      *
      * @param url The location used to resolve relative paths for the root object, or null if unknown.
      * @param resourceBundle The resources used to localize the root object, or null if not localized.
@@ -51,10 +83,51 @@ public class SudokuGameController implements Initializable {
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         // Initialize game logic and display board
-        game = new Game(boardGridPane);
+        // A fixed seed (-Dsudoku.seed=...) makes the boards reproducible for replays
+        Long seed = Long.getLong(Game.SEED_PROPERTY);
+        game = new Game(boardGridPane, layout(), seed != null ? new Random(seed) : new Random());
+        game.setFeasibilityListener(this::showFeasibility);
+        String puzzles = System.getProperty(Game.PUZZLES_PROPERTY);
+        if (puzzles != null && !puzzles.isBlank()) {
+            try {
+                game.importPuzzles(Path.of(puzzles.trim()));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("No se pudieron importar los tableros: " + e.getMessage());
+            }
+        }
         game.startGame();
     }
 
+    /**
+     * Returns the board layout chosen with {@code -Dsudoku.layout=...} (e.g. a jigsaw
+     * layout such as {@code AAABBB/AACBBB/ACCCDD/EECDDD/EECFDF/EEFFFF}).
+     *
+     * @return the parsed layout, or the classic 6x6 board if none is set or it is invalid.
+     */
+    private static Geometry layout() {
+        String layout = System.getProperty(Game.LAYOUT_PROPERTY);
+        if (layout == null || layout.isBlank()) return Geometry.STANDARD_6X6;
+        try {
+            return Geometry.parse(layout.trim());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Distribución de regiones no válida (" + e.getMessage() + "), se usa la clásica.");
+            return Geometry.STANDARD_6X6;
+        }
+    }
+
+    /**
+     * Shows the result of the latest feasibility check under the board.
+     *
+     * @param result whether the current board can still be solved.
+     */
+    private void showFeasibility(Feasibility result) {
+        switch (result) {
+            case NO_CANDIDATES -> feasibilityLbl.setText("Hay una casilla sin números posibles.");
+            case UNSOLVABLE -> feasibilityLbl.setText("El tablero ya no tiene solución.");
+            default -> feasibilityLbl.setText("");
+        }
+    }
+
     /**
      * Sets the current user for this game session.
      * Called from the welcome controller after login.
@@ -87,6 +160,81 @@ public class SudokuGameController implements Initializable {
         }
     }
 
+    /**
+     * Handles the "Check" button action.
+     * Highlights every cell that does not match the solution.
+     *
+     * @param event The action event triggered by clicking the Check button.
+     */
+    @FXML
+    private void handleCheck(ActionEvent event) {
+        int[] wrong = game.checkBoard();
+        if (wrong.length == 0) {
+            new AlertBox().showInfo("No hay errores en el tablero.");
+        } else {
+            new AlertBox().showWarning("Hay " + wrong.length + " casilla(s) incorrecta(s).");
+        }
+    }
+
+    /**
+     * Handles the "Strict mode" check box.
+     * When enabled, digits that are legal but wrong for the solution are rejected.
+     *
+     * @param event The action event triggered by toggling the check box.
+     */
+    @FXML
+    private void handleStrictMode(ActionEvent event) {
+        game.setStrictMode(strictModeChk.isSelected());
+    }
+
+    /**
+     * Handles the "Import" button action.
+     * Plays the puzzles of the chosen file from the next game on, starting now.
+     *
+     * @param event The action event triggered by clicking the Import button.
+     */
+    @FXML
+    private void handleImport(ActionEvent event) {
+        File file = puzzleChooser("Importar tableros").showOpenDialog(btnImport.getScene().getWindow());
+        if (file == null) return;
+        try {
+            game.importPuzzles(file.toPath());
+            feasibilityLbl.setText("");
+            game.startGame();
+        } catch (IOException | IllegalArgumentException e) {
+            new AlertBox().showError("No se pudieron importar los tableros: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the "Export" button action.
+     * Saves the givens of the current puzzle to the chosen file.
+     *
+     * @param event The action event triggered by clicking the Export button.
+     */
+    @FXML
+    private void handleExport(ActionEvent event) {
+        File file = puzzleChooser("Exportar tablero").showSaveDialog(btnExport.getScene().getWindow());
+        if (file == null) return;
+        try {
+            game.exportPuzzle(file.toPath());
+            new AlertBox().showInfo("Tablero guardado en " + file.getName() + ".");
+        } catch (IOException | IllegalArgumentException e) {
+            new AlertBox().showError("No se pudo guardar el tablero: " + e.getMessage());
+        }
+    }
+
+    /** File chooser for the puzzle formats; the extension picks the format. */
+    private static FileChooser puzzleChooser(String title) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Un tablero por línea", "*.txt"),
+                new FileChooser.ExtensionFilter("Cuadrícula", "*.grid"),
+                new FileChooser.ExtensionFilter("Binario", "*.sdkb"));
+        return chooser;
+    }
+
     /**
      * Handles the "Reset" button action.
      * Clears the board and starts a new game (HU-5).
@@ -95,8 +243,9 @@ public class SudokuGameController implements Initializable {
      */
     @FXML
     private void handleReset(ActionEvent event) {
+        feasibilityLbl.setText("");
+        // resetBoard() already starts the new game
         game.resetBoard();
-        game.startGame();
         new AlertBox().showAlert(
                 "Reinicio",
                 "Se ha iniciado una nueva partida.",
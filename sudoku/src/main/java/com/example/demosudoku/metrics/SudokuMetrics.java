@@ -0,0 +1,68 @@
+package com.example.demosudoku.metrics;
+
+import com.example.demosudoku.model.board.TranspositionCache;
+import com.example.metrics.Counter;
+import com.example.metrics.Gauge;
+import com.example.metrics.Histogram;
+import com.example.metrics.MetricsRegistry;
+
+/**
+ * Metrics recorded by the Sudoku game, registered in {@link MetricsRegistry#getDefault()}.
+ */
+public final class SudokuMetrics {
+
+    /** System property with the port of the metrics endpoint; it is not started without it. */
+    public static final String PORT_PROPERTY = "sudoku.metrics.port";
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getDefault();
+
+    /** Games started, including resets. */
+    public static final Counter GAMES_STARTED = REGISTRY.counter(
+            "sudoku_games_started_total", "Sudoku games started, including resets.");
+
+    /** Hints requested with the Ayuda button. */
+    public static final Counter HINTS_REQUESTED = REGISTRY.counter(
+            "sudoku_hints_requested_total", "Hints requested by the player.");
+
+    /** Hints computed on the FX thread because the background one was not ready. */
+    public static final Counter HINTS_COMPUTED_ON_REQUEST = REGISTRY.counter(
+            "sudoku_hints_computed_on_request_total",
+            "Hints computed on the UI thread because the precomputed one was not ready.");
+
+    /** Time from a hint request to the model and cell style updated (lookup or fallback included). */
+    public static final Histogram HINT_LATENCY = REGISTRY.histogram(
+            "sudoku_hint_seconds", "Time to look up or compute a hint and apply it to the board.");
+
+    /** Time to generate a puzzle (solution and unique givens). */
+    public static final Histogram GENERATION_TIME = REGISTRY.histogram(
+            "sudoku_generation_seconds", "Time to generate a new puzzle.");
+
+    /** Time to validate and apply a digit typed into a cell. */
+    public static final Histogram VALIDATION_LATENCY = REGISTRY.histogram(
+            "sudoku_validation_seconds", "Time to validate and apply a digit typed into a cell.");
+
+    /** Open game windows. */
+    public static final Gauge ACTIVE_SESSIONS = REGISTRY.gauge(
+            "sudoku_active_sessions", "Open Sudoku game windows.");
+
+    /**
+     * Exposes the hit rate, lookups, evictions and size of an analysis cache, read at scrape time.
+     * Lookups and evictions are counters, so rates can be taken over them.
+     *
+     * @param name  cache name used in the metric names, e.g. {@code hint}.
+     * @param cache the cache.
+     */
+    public static void registerCache(String name, TranspositionCache<?> cache) {
+        String prefix = "sudoku_" + name + "_cache_";
+        REGISTRY.gauge(prefix + "hit_ratio", "Lookups in the " + name + " cache that found a result.",
+                cache::getHitRate);
+        REGISTRY.counter(prefix + "lookups_total", "Lookups in the " + name + " cache.",
+                () -> cache.getHits() + cache.getMisses());
+        REGISTRY.counter(prefix + "evictions_total", "Entries evicted from the " + name + " cache.",
+                cache::getEvictions);
+        REGISTRY.gauge(prefix + "entries", "Entries in the " + name + " cache.", cache::size);
+    }
+
+    private SudokuMetrics() {
+    }
+}
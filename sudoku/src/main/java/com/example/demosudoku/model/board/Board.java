@@ -4,36 +4,74 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * Represents a 6x6 Sudoku board divided into 2x3 blocks.
+ * Represents a Sudoku board whose regions are described by a {@link Geometry}
+ * (by default a 6x6 board divided into 2x3 blocks).
  * Provides methods to generate, validate, and manage Sudoku logic.
  * <p>
- * Each cell may contain a number between 1 and 6 (0 means empty).
- * The board ensures that numbers do not repeat in rows, columns, or 2x3 blocks.
+ * Each cell may contain a number between 1 and the board size (0 means empty).
+ * The board ensures that numbers do not repeat in rows, columns, or regions.
+ * <p>
+ * The board keeps a Zobrist hash of its content, updated incrementally on every
+ * change, which identifies a position in O(1) for caches of analysis results.
+ * Every change also publishes a new immutable {@link BoardSnapshot}, which other
+ * threads read through {@link #snapshot()} instead of the live lists, and is
+ * reported to the registered {@link BoardListener}s.
+ * Writes made directly through the list returned by {@link #getBoard()} bypass
+ * the hash and the snapshot and must be avoided.
  * <p>
  * Java JDK 17.
  */
 public class Board implements IBoard {
 
-    private static final int SIZE = 6;
-    private static final int BLOCK_ROWS = 2;
-    private static final int BLOCK_COLS = 3;
+    private final Geometry geometry;
+    private final int size;
 
     private final List<List<Integer>> board;
-    private final Random random = new Random();
+    private final Random random;
+
+    /** Immutable copy of the current content, replaced on every change. */
+    private volatile BoardSnapshot snapshot;
+
+    /** Observers notified after each cell change. */
+    private final List<BoardListener> listeners = new CopyOnWriteArrayList<>();
 
     /**
-     * Initializes a new Sudoku board and generates an initial valid configuration.
+     * Initializes a new, empty 6x6 Sudoku board with 2x3 blocks.
      */
     public Board() {
+        this(Geometry.STANDARD_6X6);
+    }
+
+    /**
+     * Initializes a new, empty Sudoku board with the given geometry.
+     *
+     * @param geometry size and region layout of the board
+     */
+    public Board(Geometry geometry) {
+        this(geometry, new Random());
+    }
+
+    /**
+     * Initializes a new, empty Sudoku board whose random choices come from the given source.
+     * A seeded {@link Random} makes the generated boards reproducible.
+     * The board is filled later with {@link #fillSolution()} or {@link #fillBlocks(int)}.
+     *
+     * @param geometry size and region layout of the board
+     * @param random   source of the random choices
+     */
+    public Board(Geometry geometry, Random random) {
+        this.geometry = geometry;
+        this.random = random;
+        this.size = geometry.getSize();
+        this.snapshot = BoardSnapshot.empty(geometry);
         board = new ArrayList<>();
-        for (int i = 0; i < SIZE; i++) {
-            List<Integer> row = new ArrayList<>(Collections.nCopies(SIZE, 0));
+        for (int i = 0; i < size; i++) {
+            List<Integer> row = new ArrayList<>(Collections.nCopies(size, 0));
             board.add(row);
         }
-        // Fill each 2x3 block with one number randomly
-        fillBlocks(0);
     }
 
     // ------------------------------------------------------------------------
@@ -42,32 +80,39 @@ public class Board implements IBoard {
 
     @Override
     public boolean fillBlocks(int blockIndex) {
-        int totalBlocks = (SIZE / BLOCK_ROWS) * (SIZE / BLOCK_COLS);
-        if (blockIndex == totalBlocks) return true;
-
-        int blockRow = blockIndex / (SIZE / BLOCK_COLS);
-        int blockCol = blockIndex % (SIZE / BLOCK_COLS);
-        int startRow = blockRow * BLOCK_ROWS;
-        int startCol = blockCol * BLOCK_COLS;
+        if (blockIndex == size) return true;
 
         List<Integer> numbers = new ArrayList<>();
-        for (int i = 1; i <= SIZE; i++) numbers.add(i);
+        for (int i = 1; i <= size; i++) numbers.add(i);
         Collections.shuffle(numbers, random);
 
-        for (int i = startRow; i < startRow + BLOCK_ROWS; i++) {
-            for (int j = startCol; j < startCol + BLOCK_COLS; j++) {
-                for (Integer number : numbers) {
-                    if (isValidMove(i, j, number)) {
-                        board.get(i).set(j, number);
-                        if (fillBlocks(blockIndex + 1)) return true;
-                        board.get(i).set(j, 0); // backtrack
-                    }
+        for (int k = 0; k < size; k++) {
+            int cell = geometry.regionCell(blockIndex, k);
+            int i = cell / size;
+            int j = cell % size;
+            for (Integer number : numbers) {
+                if (isValidMove(i, j, number)) {
+                    setCellValue(i, j, number);
+                    if (fillBlocks(blockIndex + 1)) return true;
+                    setCellValue(i, j, 0); // backtrack
                 }
             }
         }
         return false;
     }
 
+    /**
+     * Replaces the board content with a random, completely solved grid.
+     */
+    public void fillSolution() {
+        int[] solved = SudokuSolver.randomSolution(geometry, random);
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                setCellValue(r, c, solved[r * size + c]);
+            }
+        }
+    }
+
     // ------------------------------------------------------------------------
     // -------------------- Validation Logic ----------------------------------
     // ------------------------------------------------------------------------
@@ -86,28 +131,16 @@ public class Board implements IBoard {
     }
 
     /**
-     * Validates a move according to Sudoku rules (no repetition in row, column, block).
+     * Validates a move according to Sudoku rules (no repetition in row, column, region).
+     * Only the cell's precomputed peers are visited, whatever the region shape.
      */
     public boolean isValidMove(int row, int col, int value) {
-        if (value < 1 || value > SIZE) return false;
+        if (value < 1 || value > size) return false;
 
-        // Row check
-        for (int j = 0; j < SIZE; j++) {
-            if (j != col && board.get(row).get(j) == value) return false;
-        }
-        // Column check
-        for (int i = 0; i < SIZE; i++) {
-            if (i != row && board.get(i).get(col) == value) return false;
-        }
-        // Block check
-        int blockRow = (row / BLOCK_ROWS) * BLOCK_ROWS;
-        int blockCol = (col / BLOCK_COLS) * BLOCK_COLS;
-        for (int i = blockRow; i < blockRow + BLOCK_ROWS; i++) {
-            for (int j = blockCol; j < blockCol + BLOCK_COLS; j++) {
-                if (!(i == row && j == col) && board.get(i).get(j) == value) {
-                    return false;
-                }
-            }
+        int cell = row * size + col;
+        for (int i = geometry.peerStart(cell), end = geometry.peerEnd(cell); i < end; i++) {
+            int peer = geometry.peer(i);
+            if (board.get(peer / size).get(peer % size) == value) return false;
         }
         return true;
     }
@@ -118,8 +151,8 @@ public class Board implements IBoard {
      * @return true if the board is currently valid.
      */
     public boolean isBoardValid() {
-        for (int r = 0; r < SIZE; r++) {
-            for (int c = 0; c < SIZE; c++) {
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
                 int v = board.get(r).get(c);
                 if (v != 0 && !isValidMove(r, c, v)) {
                     return false;
@@ -133,8 +166,8 @@ public class Board implements IBoard {
      * Returns true if the board is fully filled and valid.
      */
     public boolean isComplete() {
-        for (int r = 0; r < SIZE; r++) {
-            for (int c = 0; c < SIZE; c++) {
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
                 int v = board.get(r).get(c);
                 if (v == 0 || !isValidMove(r, c, v)) return false;
             }
@@ -156,7 +189,7 @@ public class Board implements IBoard {
     public List<Integer> getValidCandidates(int row, int col) {
         List<Integer> candidates = new ArrayList<>();
         if (board.get(row).get(col) != 0) return candidates;
-        for (int v = 1; v <= SIZE; v++) {
+        for (int v = 1; v <= size; v++) {
             if (isValidMove(row, col, v)) candidates.add(v);
         }
         return candidates;
@@ -170,11 +203,34 @@ public class Board implements IBoard {
      * @param value value to place (0 clears the cell)
      */
     public void setCellValue(int row, int col, int value) {
-        if (row >= 0 && row < SIZE && col >= 0 && col < SIZE) {
-            board.get(row).set(col, value);
+        if (row >= 0 && row < size && col >= 0 && col < size) {
+            int old = board.get(row).set(col, value);
+            if (old == value) return;
+            snapshot = snapshot.with(row, col, value);
+            for (BoardListener listener : listeners) {
+                listener.cellChanged(row, col, old, value);
+            }
         }
     }
 
+    /**
+     * Registers a listener notified after every cell change.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(BoardListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(BoardListener listener) {
+        listeners.remove(listener);
+    }
+
     /**
      * Returns the value in the specified cell.
      *
@@ -186,19 +242,103 @@ public class Board implements IBoard {
         return board.get(row).get(col);
     }
 
+    /**
+     * Returns the number of rows (and columns) of the board.
+     *
+     * @return board size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the size and region layout of the board.
+     *
+     * @return board geometry
+     */
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
     /**
      * Returns the internal 6x6 board representation.
+     * This is the live model: only read it from the JavaFX thread and use
+     * {@link #snapshot()} from any other thread.
      */
     public List<List<Integer>> getBoard() {
         return board;
     }
 
+    /**
+     * Returns a row-major copy of the cell values.
+     *
+     * @return array of {@code size * size} values (0 for empty cells)
+     */
+    public int[] toCellArray() {
+        int[] cells = new int[size * size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                cells[r * size + c] = board.get(r).get(c);
+            }
+        }
+        return cells;
+    }
+
     /**
      * Clears the entire board (sets all cells to 0).
      */
     public void clearBoard() {
-        for (List<Integer> row : board) {
-            Collections.fill(row, 0);
+        if (listeners.isEmpty()) {
+            for (List<Integer> row : board) {
+                Collections.fill(row, 0);
+            }
+            snapshot = BoardSnapshot.empty(geometry);
+            return;
+        }
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                setCellValue(r, c, 0);
+            }
+        }
+    }
+
+    /**
+     * Returns an immutable view of the current content in O(1).
+     * Safe to hand to other threads while the board keeps changing.
+     *
+     * @return the latest snapshot
+     */
+    public BoardSnapshot snapshot() {
+        return snapshot;
+    }
+
+    // ------------------------------------------------------------------------
+    // -------------------- Hashing -------------------------------------------
+    // ------------------------------------------------------------------------
+
+    /**
+     * Returns the Zobrist hash of the current content.
+     * Two boards with the same values in every cell have the same hash.
+     *
+     * @return 64-bit position hash (0 for an empty board)
+     */
+    public long getHash() {
+        return snapshot.getHash();
+    }
+
+    /**
+     * Computes the Zobrist hash of a row-major cell array from scratch.
+     * Gives the same value as {@link #getHash()} for a board with that content.
+     *
+     * @param geometry geometry of the board the cells belong to
+     * @param cells    row-major values (0 = empty)
+     * @return 64-bit position hash
+     */
+    public static long hashOf(Geometry geometry, int[] cells) {
+        long h = 0;
+        for (int i = 0; i < cells.length; i++) {
+            h ^= geometry.zobristKey(i, cells[i]);
         }
+        return h;
     }
 }
@@ -0,0 +1,18 @@
+package com.example.demosudoku.model.board;
+
+/**
+ * Receives change notifications from a {@link Board}.
+ * Notifications are delivered synchronously on the thread that changed the board.
+ */
+public interface BoardListener {
+
+    /**
+     * Called after the value of a cell changed.
+     *
+     * @param row      row index
+     * @param col      column index
+     * @param oldValue previous value (0 if it was empty)
+     * @param newValue new value (0 if it was cleared)
+     */
+    void cellChanged(int row, int col, int oldValue, int newValue);
+}
@@ -0,0 +1,115 @@
+package com.example.demosudoku.model.board;
+
+/**
+ * Immutable version of a {@link Board}'s content.
+ * <p>
+ * The cells are packed a few bits each into {@code long} words (3 bits per cell:
+ * a 6x6 board fits in two words), so deriving the next version after an edit
+ * copies a couple of words and is O(1), and the Zobrist hash is carried along
+ * incrementally. Background
+ * work (feasibility checks, hints, autosave) reads a snapshot without locks and
+ * without copying the board's nested lists, while the player keeps editing.
+ */
+public final class BoardSnapshot {
+
+    private final Geometry geometry;
+    private final int size;
+    private final int bits;
+    private final int cellsPerWord;
+    private final long mask;
+    private final long[] words;
+    private final long hash;
+    private final long version;
+
+    private BoardSnapshot(Geometry geometry, long[] words, long hash, long version) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.bits = 32 - Integer.numberOfLeadingZeros(size);
+        this.cellsPerWord = 64 / bits;
+        this.mask = (1L << bits) - 1;
+        this.words = words;
+        this.hash = hash;
+        this.version = version;
+    }
+
+    /**
+     * Returns the snapshot of an empty board.
+     *
+     * @param geometry size and region layout of the board.
+     * @return an empty snapshot with hash 0 and version 0.
+     */
+    public static BoardSnapshot empty(Geometry geometry) {
+        int bits = 32 - Integer.numberOfLeadingZeros(geometry.getSize());
+        int cellsPerWord = 64 / bits;
+        int cells = geometry.getCellCount();
+        return new BoardSnapshot(geometry, new long[(cells + cellsPerWord - 1) / cellsPerWord], 0L, 0L);
+    }
+
+    /**
+     * Returns a new version with one cell changed; this snapshot is left untouched.
+     *
+     * @param row   row index
+     * @param col   column index
+     * @param value new value (0 clears the cell)
+     * @return the next version.
+     */
+    public BoardSnapshot with(int row, int col, int value) {
+        int cell = row * size + col;
+        int old = get(cell);
+        if (old == value) return this;
+        long[] next = words.clone();
+        int word = cell / cellsPerWord;
+        int shift = (cell % cellsPerWord) * bits;
+        next[word] = (next[word] & ~(mask << shift)) | ((long) value << shift);
+        long nextHash = hash ^ geometry.zobristKey(cell, old) ^ geometry.zobristKey(cell, value);
+        return new BoardSnapshot(geometry, next, nextHash, version + 1);
+    }
+
+    /**
+     * Returns the value of a cell.
+     *
+     * @param row row index
+     * @param col column index
+     * @return integer value (0 if empty)
+     */
+    public int get(int row, int col) {
+        return get(row * size + col);
+    }
+
+    private int get(int cell) {
+        return (int) ((words[cell / cellsPerWord] >>> ((cell % cellsPerWord) * bits)) & mask);
+    }
+
+    /**
+     * Returns a row-major copy of the cell values.
+     *
+     * @return array of {@code size * size} values (0 for empty cells)
+     */
+    public int[] toCellArray() {
+        int[] cells = new int[size * size];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = get(i);
+        }
+        return cells;
+    }
+
+    /** @return the Zobrist hash of this version (same as {@link Board#getHash()} when it was taken). */
+    public long getHash() {
+        return hash;
+    }
+
+    /** @return number of edits since the board was last cleared. */
+    public long getVersion() {
+        return version;
+    }
+
+    /** @return size and region layout of the board. */
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    /** @return number of rows (and columns). */
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.demosudoku.model.board;
+
+import com.example.demosudoku.model.io.PuzzleFormat;
+import com.example.demosudoku.model.io.PuzzleWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Searches for puzzles with as few clues as possible for a given solved grid.
+ * <p>
+ * Each worker takes a random elimination order, removes clues one by one and
+ * keeps a removal only if the puzzle still has a unique solution (the solver
+ * stops as soon as it finds a second solution, so failing checks are cheap).
+ * The result is a locally minimal puzzle; workers keep trying new orders on
+ * every core until the time budget runs out, and the smallest puzzle wins.
+ * <p>
+ * Hard puzzle sets are generated offline with {@link #main(String[])} (see the
+ * {@code minimize} profile in pom.xml):
+ * <pre>
+ * mvn -Pminimize compile exec:exec -Dminimize.args="--count 100 --budget 500 --out hard.txt"
+ * </pre>
+ * Options: {@code --count N} puzzles, {@code --budget MILLIS} per puzzle,
+ * {@code --seed N}, {@code --layout L} (a {@link Geometry#parse(String)} layout),
+ * {@code --format LINE|GRID|BINARY} (by default from the file name) and
+ * {@code --out FILE}. The game plays the file with {@code -Dsudoku.puzzles=FILE}.
+ */
+public class ClueMinimizer {
+
+    /**
+     * Outcome of a minimization run.
+     *
+     * @param puzzle       row-major givens of the smallest unique puzzle found (0 = empty).
+     * @param clues        number of givens in {@code puzzle}.
+     * @param ordersTried  number of elimination orders completed.
+     * @param wallMillis   elapsed wall-clock time.
+     */
+    public record Result(int[] puzzle, int clues, int ordersTried, long wallMillis) { }
+
+    private final Geometry geometry;
+    private final int threads;
+
+    /**
+     * Creates a minimizer that uses every available core.
+     *
+     * @param geometry size and region layout of the board.
+     */
+    public ClueMinimizer(Geometry geometry) {
+        this(geometry, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a minimizer.
+     *
+     * @param geometry size and region layout of the board.
+     * @param threads  number of elimination orders tried in parallel.
+     */
+    public ClueMinimizer(Geometry geometry, int threads) {
+        this.geometry = geometry;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Generates minimal puzzles from random solved grids and writes them to a file.
+     *
+     * @param args command line options, see the class description.
+     * @throws IOException if the output cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        int count = 10;
+        long budget = 1000;
+        long seed = 42;
+        Geometry geometry = Geometry.STANDARD_6X6;
+        PuzzleFormat format = null;
+        Path out = Path.of("puzzles.txt");
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--count" -> count = Integer.parseInt(args[++i]);
+                case "--budget" -> budget = Long.parseLong(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--layout" -> geometry = Geometry.parse(args[++i]);
+                case "--format" -> format = PuzzleFormat.valueOf(args[++i]);
+                case "--out" -> out = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        if (format == null) format = PuzzleFormat.forPath(out);
+
+        ClueMinimizer minimizer = new ClueMinimizer(geometry);
+        Random random = new Random(seed);
+        int minClues = Integer.MAX_VALUE;
+        long totalClues = 0;
+        try (PuzzleWriter writer = format.openWriter(out, geometry.getSize())) {
+            for (int n = 0; n < count; n++) {
+                int[] solution = SudokuSolver.randomSolution(geometry, random);
+                Result result = minimizer.minimize(solution, budget, random.nextLong());
+                writer.write(result.puzzle());
+                minClues = Math.min(minClues, result.clues());
+                totalClues += result.clues();
+                System.out.printf("%d/%d: %d clues (%d orders, %d ms)%n",
+                        n + 1, count, result.clues(), result.ordersTried(), result.wallMillis());
+            }
+        }
+        if (count > 0) {
+            System.out.printf("%d puzzles in %s: fewest %d clues, mean %.1f%n",
+                    count, out, minClues, (double) totalClues / count);
+        }
+    }
+
+    /**
+     * Removes clues from a solved grid within a time budget.
+     *
+     * @param solution     row-major solved grid.
+     * @param budgetMillis wall-clock budget for the whole search.
+     * @param seed         seed of the elimination orders (same seed, same orders per worker).
+     * @return the smallest unique puzzle found; at worst the full grid.
+     */
+    public Result minimize(int[] solution, long budgetMillis, long seed) {
+        long start = System.nanoTime();
+        long deadline = start + budgetMillis * 1_000_000L;
+        AtomicReference<int[]> best = new AtomicReference<>(solution.clone());
+        AtomicInteger bestClues = new AtomicInteger(solution.length);
+        AtomicInteger orders = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "sudoku-minimizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            SplittableRandom root = new SplittableRandom(seed);
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                SplittableRandom random = root.split();
+                workers.add(pool.submit(() -> {
+                    while (System.nanoTime() - deadline < 0) {
+                        int[] puzzle = eliminate(solution, random, deadline);
+                        if (puzzle == null) continue;
+                        orders.incrementAndGet();
+                        int clues = countClues(puzzle);
+                        synchronized (best) {
+                            if (clues < bestClues.get()) {
+                                bestClues.set(clues);
+                                best.set(puzzle);
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Clue minimization failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long wallMillis = (System.nanoTime() - start) / 1_000_000L;
+        return new Result(best.get(), bestClues.get(), orders.get(), wallMillis);
+    }
+
+    /**
+     * Runs one elimination order.
+     *
+     * @return the locally minimal puzzle, or null if the deadline passed first.
+     */
+    private int[] eliminate(int[] solution, SplittableRandom random, long deadline) {
+        int[] puzzle = solution.clone();
+        int[] order = shuffledCells(random);
+        for (int cell : order) {
+            if (System.nanoTime() - deadline > 0) return null;
+            int value = puzzle[cell];
+            puzzle[cell] = 0;
+            int count = SudokuSolver.countSolutions(geometry, puzzle, 2, deadline, () -> false);
+            if (count != 1) {
+                puzzle[cell] = value;
+                if (count == SudokuSolver.ABORTED) return null;
+            }
+        }
+        return puzzle;
+    }
+
+    private int[] shuffledCells(SplittableRandom random) {
+        int[] order = new int[geometry.getCellCount()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    private static int countClues(int[] puzzle) {
+        int clues = 0;
+        for (int v : puzzle) {
+            if (v != 0) clues++;
+        }
+        return clues;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demosudoku.model.board;
+
+/**
+ * Outcome of a feasibility check on a partially filled board.
+ */
+public enum Feasibility {
+
+    /** A solution that extends the current board exists. */
+    SOLVABLE,
+
+    /** Some empty cell has no candidate left. */
+    NO_CANDIDATES,
+
+    /** Every cell has candidates, but no solution exists any more. */
+    UNSOLVABLE,
+
+    /** The time budget ran out before an answer was found. */
+    UNKNOWN
+}
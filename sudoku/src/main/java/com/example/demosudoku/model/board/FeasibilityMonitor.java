@@ -0,0 +1,195 @@
+package com.example.demosudoku.model.board;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Checks in the background whether the current board can still be solved.
+ * <p>
+ * Each call to {@link #submit(BoardSnapshot)} starts a new check on a snapshot of the
+ * board and makes every previous check stale: stale checks are dropped before
+ * they start, and a running solver notices it was superseded and stops.
+ * A check first runs cheap constraint propagation (empty candidate sets,
+ * digits with no place left in a row, column or region, naked singles) and only
+ * then falls back to a solver bounded by the time budget.
+ * <p>
+ * Definitive results are stored in a {@link TranspositionCache} keyed by the
+ * board hash, so positions seen again (undo, reset, same puzzle) are answered
+ * without running a check.
+ * <p>
+ * Results are handed to the listener through the callback executor
+ * ({@code Platform::runLater} for the UI), so the caller never blocks.
+ */
+public class FeasibilityMonitor {
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sudoku-feasibility");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong generation = new AtomicLong();
+    private final long budgetNanos;
+    private final Executor callbackExecutor;
+    private final Consumer<Feasibility> listener;
+    private final TranspositionCache<Feasibility> cache;
+
+    /**
+     * Creates a monitor.
+     *
+     * @param budgetMillis     maximum time spent on a single check.
+     * @param callbackExecutor executor used to deliver results.
+     * @param listener         receives the result of every check that is not stale.
+     * @param cache            cache of results by board hash, may be shared between monitors.
+     */
+    public FeasibilityMonitor(long budgetMillis, Executor callbackExecutor, Consumer<Feasibility> listener,
+                              TranspositionCache<Feasibility> cache) {
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.callbackExecutor = callbackExecutor;
+        this.listener = listener;
+        this.cache = cache;
+    }
+
+    /**
+     * Schedules a check of the given board snapshot, superseding older checks.
+     *
+     * @param snapshot immutable board version to check.
+     */
+    public void submit(BoardSnapshot snapshot) {
+        long id = generation.incrementAndGet();
+        long hash = snapshot.getHash();
+        Feasibility cached = cache.get(hash);
+        if (cached != null) {
+            deliver(id, cached);
+            return;
+        }
+        worker.execute(() -> {
+            if (generation.get() != id) return;
+            Feasibility result = check(snapshot.getGeometry(), snapshot.toCellArray(),
+                    System.nanoTime() + budgetNanos, id);
+            if (result != null && result != Feasibility.UNKNOWN) {
+                cache.put(hash, result);
+            }
+            if (result != null) {
+                deliver(id, result);
+            }
+        });
+    }
+
+    private void deliver(long id, Feasibility result) {
+        if (generation.get() != id) return;
+        callbackExecutor.execute(() -> {
+            if (generation.get() == id) listener.accept(result);
+        });
+    }
+
+    /**
+     * Makes every pending or running check stale.
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Runs a check synchronously on the calling thread.
+     *
+     * @param geometry     size and region layout of the board.
+     * @param cells        row-major cell values (0 = empty).
+     * @param budgetMillis maximum time spent in the solver.
+     * @return the feasibility of the board.
+     */
+    public static Feasibility checkNow(Geometry geometry, int[] cells, long budgetMillis) {
+        Feasibility result = propagate(geometry, cells.clone());
+        if (result != null) return result;
+        int found = SudokuSolver.countSolutions(geometry, cells, 1,
+                System.nanoTime() + budgetMillis * 1_000_000L, () -> false);
+        return toFeasibility(found);
+    }
+
+    private Feasibility check(Geometry geometry, int[] cells, long deadline, long id) {
+        Feasibility result = propagate(geometry, cells.clone());
+        if (result != null) return result;
+        int found = SudokuSolver.countSolutions(geometry, cells, 1, deadline, () -> generation.get() != id);
+        if (found == SudokuSolver.ABORTED && generation.get() != id) return null;
+        return toFeasibility(found);
+    }
+
+    private static Feasibility toFeasibility(int found) {
+        if (found == SudokuSolver.ABORTED) return Feasibility.UNKNOWN;
+        return found > 0 ? Feasibility.SOLVABLE : Feasibility.UNSOLVABLE;
+    }
+
+    /**
+     * Cheap checks that settle most boards without search.
+     *
+     * @param geometry size and region layout of the board.
+     * @param cells    working copy, filled in place by naked singles.
+     * @return the result if propagation decides it, or null if a search is needed.
+     */
+    private static Feasibility propagate(Geometry geometry, int[] cells) {
+        int size = geometry.getSize();
+        int all = (1 << (size + 1)) - 2;
+        int[] rows = new int[size];
+        int[] cols = new int[size];
+        int[] blocks = new int[size];
+        for (int i = 0; i < cells.length; i++) {
+            int v = cells[i];
+            if (v == 0) continue;
+            int bit = 1 << v;
+            int r = i / size, c = i % size, b = geometry.regionOf(i);
+            if (((rows[r] | cols[c] | blocks[b]) & bit) != 0) return Feasibility.UNSOLVABLE;
+            rows[r] |= bit;
+            cols[c] |= bit;
+            blocks[b] |= bit;
+        }
+
+        // An empty cell of the board as given: reported before propagation fills anything
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == 0 && (all & ~(rows[i / size] | cols[i % size] | blocks[geometry.regionOf(i)])) == 0) {
+                return Feasibility.NO_CANDIDATES;
+            }
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] rowCover = new int[size];
+            int[] colCover = new int[size];
+            int[] blockCover = new int[size];
+            boolean empty = false;
+            for (int i = 0; i < cells.length; i++) {
+                if (cells[i] != 0) continue;
+                empty = true;
+                int r = i / size, c = i % size, b = geometry.regionOf(i);
+                int candidates = all & ~(rows[r] | cols[c] | blocks[b]);
+                // Emptied by a naked single: the board has no solution, but no cell shows it yet
+                if (candidates == 0) return Feasibility.UNSOLVABLE;
+                if (Integer.bitCount(candidates) == 1) {
+                    cells[i] = Integer.numberOfTrailingZeros(candidates);
+                    rows[r] |= candidates;
+                    cols[c] |= candidates;
+                    blocks[b] |= candidates;
+                    changed = true;
+                    continue;
+                }
+                rowCover[r] |= candidates;
+                colCover[c] |= candidates;
+                blockCover[b] |= candidates;
+            }
+            if (!empty) return Feasibility.SOLVABLE;
+            if (!changed) {
+                for (int u = 0; u < size; u++) {
+                    if ((rows[u] | rowCover[u]) != all
+                            || (cols[u] | colCover[u]) != all
+                            || (blocks[u] | blockCover[u]) != all) {
+                        return Feasibility.UNSOLVABLE;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.demosudoku.model.board;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Describes the shape of a Sudoku board: its size and how cells are grouped into
+ * regions. Regions may be rectangular blocks (the classic 6x6 with 2x3 blocks) or
+ * arbitrary connected shapes (jigsaw Sudoku).
+ * <p>
+ * A geometry is compiled once into flat tables indexed by cell
+ * ({@code row * size + col}): the region of each cell, the cells of each region
+ * and the peers of each cell (cells sharing a row, column or region). Validation,
+ * propagation and solving only read these tables, so they cost the same for any
+ * region shape.
+ */
+public final class Geometry {
+
+    /** The classic 6x6 board with 2x3 blocks. */
+    public static final Geometry STANDARD_6X6 = blocks(6, 2, 3);
+
+    private final int size;
+    private final int[] regionOf;
+    private final int[] regionCells;
+    private final int[] peerStart;
+    private final int[] peers;
+    private final long[] zobrist;
+
+    private Geometry(int size, int[] regionOf) {
+        this.size = size;
+        this.regionOf = regionOf;
+        int cells = size * size;
+
+        regionCells = new int[cells];
+        int[] filled = new int[size];
+        for (int cell = 0; cell < cells; cell++) {
+            int region = regionOf[cell];
+            if (region < 0 || region >= size || filled[region] == size) {
+                throw new IllegalArgumentException("Every region must have exactly " + size + " cells");
+            }
+            regionCells[region * size + filled[region]++] = cell;
+        }
+
+        peerStart = new int[cells + 1];
+        int[] buffer = new int[cells * 3 * size];
+        int count = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            peerStart[cell] = count;
+            int row = cell / size, col = cell % size;
+            for (int other = 0; other < cells; other++) {
+                if (other == cell) continue;
+                if (other / size == row || other % size == col || regionOf[other] == regionOf[cell]) {
+                    buffer[count++] = other;
+                }
+            }
+        }
+        peerStart[cells] = count;
+        peers = Arrays.copyOf(buffer, count);
+
+        // Fixed seed mixed with the layout: hashes are stable across runs and
+        // differ between geometries that share the same cell values.
+        SplittableRandom keys = new SplittableRandom(0x5EED_50D0L ^ Arrays.hashCode(regionOf));
+        zobrist = new long[cells * (size + 1)];
+        for (int i = 0; i < zobrist.length; i++) {
+            zobrist[i] = (i % (size + 1) == 0) ? 0 : keys.nextLong();
+        }
+    }
+
+    /**
+     * Creates a geometry with rectangular blocks.
+     *
+     * @param size      number of rows (and columns).
+     * @param blockRows rows per block.
+     * @param blockCols columns per block.
+     * @return the compiled geometry.
+     */
+    public static Geometry blocks(int size, int blockRows, int blockCols) {
+        if (blockRows * blockCols != size || size % blockRows != 0 || size % blockCols != 0) {
+            throw new IllegalArgumentException("Blocks of " + blockRows + "x" + blockCols
+                    + " do not tile a " + size + "x" + size + " board");
+        }
+        int[] regionOf = new int[size * size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                regionOf[row * size + col] = (row / blockRows) * (size / blockCols) + col / blockCols;
+            }
+        }
+        return new Geometry(size, regionOf);
+    }
+
+    /**
+     * Parses a layout written with one character per cell, rows separated by '/'.
+     * Cells with the same character belong to the same region, for example
+     * {@code "AAABBB/AACBBB/ACCCDD/EECDDD/EECFDF/EEFFFF"} is a 6x6 jigsaw layout.
+     *
+     * @param layout the region layout.
+     * @return the compiled geometry.
+     */
+    public static Geometry parse(String layout) {
+        String[] rows = layout.split("/");
+        int size = rows.length;
+        int[] regionOf = new int[size * size];
+        char[] names = new char[size];
+        int known = 0;
+        for (int row = 0; row < size; row++) {
+            if (rows[row].length() != size) {
+                throw new IllegalArgumentException("Row " + row + " must have " + size + " cells");
+            }
+            for (int col = 0; col < size; col++) {
+                char name = rows[row].charAt(col);
+                int region = 0;
+                while (region < known && names[region] != name) region++;
+                if (region == known) {
+                    if (known == size) throw new IllegalArgumentException("More than " + size + " regions");
+                    names[known++] = name;
+                }
+                regionOf[row * size + col] = region;
+            }
+        }
+        return new Geometry(size, regionOf);
+    }
+
+    /** @return number of rows, columns, regions and digits. */
+    public int getSize() {
+        return size;
+    }
+
+    /** @return number of cells ({@code size * size}). */
+    public int getCellCount() {
+        return size * size;
+    }
+
+    /**
+     * @param cell row-major cell index.
+     * @return region index of the cell.
+     */
+    public int regionOf(int cell) {
+        return regionOf[cell];
+    }
+
+    /**
+     * @param region region index.
+     * @param k      position inside the region (0..size-1).
+     * @return row-major index of the k-th cell of the region.
+     */
+    public int regionCell(int region, int k) {
+        return regionCells[region * size + k];
+    }
+
+    /**
+     * @param cell row-major cell index.
+     * @return start of the cell's peers in the table read by {@link #peer(int)}.
+     */
+    public int peerStart(int cell) {
+        return peerStart[cell];
+    }
+
+    /**
+     * @param cell row-major cell index.
+     * @return end (exclusive) of the cell's peers in the table read by {@link #peer(int)}.
+     */
+    public int peerEnd(int cell) {
+        return peerStart[cell + 1];
+    }
+
+    /**
+     * @param i position in the flat peer table.
+     * @return row-major index of the peer.
+     */
+    public int peer(int i) {
+        return peers[i];
+    }
+
+    /**
+     * Returns true if the cell above belongs to another region (or there is none).
+     *
+     * @param cell row-major cell index.
+     * @return true if a region border runs along the top of the cell.
+     */
+    public boolean isRegionBorderTop(int cell) {
+        return cell < size || regionOf[cell - size] != regionOf[cell];
+    }
+
+    /**
+     * Returns true if the cell on the left belongs to another region (or there is none).
+     *
+     * @param cell row-major cell index.
+     * @return true if a region border runs along the left of the cell.
+     */
+    public boolean isRegionBorderLeft(int cell) {
+        return cell % size == 0 || regionOf[cell - 1] != regionOf[cell];
+    }
+
+    /**
+     * Returns the Zobrist key of a value in a cell (0 for an empty cell).
+     */
+    long zobristKey(int cell, int value) {
+        return zobrist[cell * (size + 1) + value];
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demosudoku.model.board;
+
+/**
+ * A suggested move: place {@code value} in ({@code row}, {@code col}).
+ *
+ * @param row    row index
+ * @param col    column index
+ * @param value  value to place
+ * @param reason how the value was deduced
+ */
+public record Hint(int row, int col, int value, Reason reason) {
+
+    /** Deduction used to find a hint. */
+    public enum Reason {
+        /** The cell has a single candidate left. */
+        NAKED_SINGLE,
+        /** The digit fits in only one cell of a row, column or region. */
+        HIDDEN_SINGLE,
+        /** No logical step was found; the value comes from the stored solution. */
+        SOLUTION
+    }
+}
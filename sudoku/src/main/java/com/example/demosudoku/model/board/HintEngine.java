@@ -0,0 +1,110 @@
+package com.example.demosudoku.model.board;
+
+/**
+ * Finds the next hint for a position by logic, the way a player would.
+ * <p>
+ * Naked singles are tried first, then hidden singles in every row, column and
+ * region. A deduction is only returned if it agrees with the stored solution
+ * (a wrong entry by the player can make logic point at a wrong value); if no
+ * logical step is available the first empty cell is filled from the solution.
+ */
+public final class HintEngine {
+
+    private HintEngine() {
+    }
+
+    /**
+     * Computes the hint for a board position.
+     *
+     * @param snapshot position to analyse.
+     * @param solution solution of the puzzle being played.
+     * @return the hint, or null if the board is full.
+     */
+    public static Hint find(BoardSnapshot snapshot, Solution solution) {
+        Geometry geometry = snapshot.getGeometry();
+        int size = geometry.getSize();
+        int all = (1 << (size + 1)) - 2;
+        int[] cells = snapshot.toCellArray();
+
+        int[] rows = new int[size];
+        int[] cols = new int[size];
+        int[] regions = new int[size];
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == 0) continue;
+            int bit = 1 << cells[i];
+            rows[i / size] |= bit;
+            cols[i % size] |= bit;
+            regions[geometry.regionOf(i)] |= bit;
+        }
+
+        int[] candidates = new int[cells.length];
+        int firstEmpty = -1;
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != 0) continue;
+            if (firstEmpty < 0) firstEmpty = i;
+            candidates[i] = all & ~(rows[i / size] | cols[i % size] | regions[geometry.regionOf(i)]);
+            if (Integer.bitCount(candidates[i]) == 1) {
+                Hint hint = verified(i, Integer.numberOfTrailingZeros(candidates[i]), Hint.Reason.NAKED_SINGLE,
+                        size, solution);
+                if (hint != null) return hint;
+            }
+        }
+        if (firstEmpty < 0) return null;
+
+        for (int unit = 0; unit < size; unit++) {
+            Hint hint = hiddenSingle(geometry, candidates, solution, unit, 0);
+            if (hint == null) hint = hiddenSingle(geometry, candidates, solution, unit, 1);
+            if (hint == null) hint = hiddenSingle(geometry, candidates, solution, unit, 2);
+            if (hint != null) return hint;
+        }
+
+        return new Hint(firstEmpty / size, firstEmpty % size,
+                solution.get(firstEmpty / size, firstEmpty % size), Hint.Reason.SOLUTION);
+    }
+
+    /**
+     * Looks for a digit that fits in exactly one cell of a unit.
+     *
+     * @param kind 0 = row, 1 = column, 2 = region
+     */
+    private static Hint hiddenSingle(Geometry geometry, int[] candidates, Solution solution, int unit, int kind) {
+        int size = geometry.getSize();
+        int once = 0;
+        int twice = 0;
+        for (int k = 0; k < size; k++) {
+            int mask = candidates[unitCell(geometry, unit, kind, k)];
+            twice |= once & mask;
+            once |= mask;
+        }
+        int single = once & ~twice;
+        while (single != 0) {
+            int bit = Integer.lowestOneBit(single);
+            single &= ~bit;
+            for (int k = 0; k < size; k++) {
+                int cell = unitCell(geometry, unit, kind, k);
+                if ((candidates[cell] & bit) != 0) {
+                    Hint hint = verified(cell, Integer.numberOfTrailingZeros(bit), Hint.Reason.HIDDEN_SINGLE,
+                            size, solution);
+                    if (hint != null) return hint;
+                    break;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int unitCell(Geometry geometry, int unit, int kind, int k) {
+        int size = geometry.getSize();
+        return switch (kind) {
+            case 0 -> unit * size + k;
+            case 1 -> k * size + unit;
+            default -> geometry.regionCell(unit, k);
+        };
+    }
+
+    private static Hint verified(int cell, int value, Hint.Reason reason, int size, Solution solution) {
+        int row = cell / size;
+        int col = cell % size;
+        return solution.isCorrect(row, col, value) ? new Hint(row, col, value, reason) : null;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demosudoku.model.board;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Computes the next hint speculatively in the background after every move.
+ * <p>
+ * Each {@link #submit} supersedes the previous one: queued work for an older
+ * position is skipped. Results go to a {@link TranspositionCache} keyed by the
+ * position, so when the player asks for help the hint is usually a cache hit
+ * and {@link #getIfReady} returns without any computation on the caller's thread.
+ * <p>
+ * When the player asks right after a move, before the worker has finished,
+ * {@link #compute} runs {@link HintEngine#find} on the caller's thread (the FX
+ * thread in the game): one candidate pass plus the hidden-single scan, O(cells * size).
+ * <p>
+ * The worker checks the cache with {@link TranspositionCache#containsKey}, so the
+ * hit rate of the cache only reflects the hints the player asked for.
+ */
+public class HintPrecomputer {
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sudoku-hints");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong generation = new AtomicLong();
+    private final TranspositionCache<Hint> cache;
+
+    /**
+     * Creates a precomputer.
+     *
+     * @param cache cache of hints by position key, may be shared.
+     */
+    public HintPrecomputer(TranspositionCache<Hint> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Schedules the hint computation for a position, superseding older ones.
+     *
+     * @param snapshot position after the latest move.
+     * @param solution solution of the puzzle being played.
+     */
+    public void submit(BoardSnapshot snapshot, Solution solution) {
+        long id = generation.incrementAndGet();
+        long key = key(snapshot, solution);
+        worker.execute(() -> {
+            if (generation.get() != id || cache.containsKey(key)) return;
+            Hint hint = HintEngine.find(snapshot, solution);
+            if (hint != null) cache.put(key, hint);
+        });
+    }
+
+    /**
+     * Returns the hint for a position if it is already computed.
+     *
+     * @param snapshot current position.
+     * @param solution solution of the puzzle being played.
+     * @return the cached hint, or null if the speculative computation has not finished
+     *         (or the board is full).
+     */
+    public Hint getIfReady(BoardSnapshot snapshot, Solution solution) {
+        return cache.get(key(snapshot, solution));
+    }
+
+    /**
+     * Computes the hint for a position on the calling thread and caches it.
+     * Used when {@link #getIfReady} finds nothing; see the class description for its cost.
+     *
+     * @param snapshot current position.
+     * @param solution solution of the puzzle being played.
+     * @return the hint, or null if the board is full.
+     */
+    public Hint compute(BoardSnapshot snapshot, Solution solution) {
+        Hint hint = HintEngine.find(snapshot, solution);
+        if (hint != null) cache.put(key(snapshot, solution), hint);
+        return hint;
+    }
+
+    /**
+     * Drops any queued speculative work.
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+
+    /** The hint depends on the position and, for the fallback, on the solution. */
+    private static long key(BoardSnapshot snapshot, Solution solution) {
+        return snapshot.getHash() ^ solution.fingerprint();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.demosudoku.model.board;
+
+import java.util.Arrays;
+
+/**
+ * Compact, immutable copy of the solved grid of a puzzle.
+ * <p>
+ * Each cell is packed in a few bits of a {@code long[]} (3 bits for a 6x6 board,
+ * so the whole solution fits in two longs). Reading a cell is O(1), which makes
+ * per-keystroke correctness checks free compared to running a solver.
+ */
+public final class Solution {
+
+    private final int size;
+    private final int bits;
+    private final int cellsPerWord;
+    private final long mask;
+    private final long[] words;
+
+    private Solution(int size, int[] cells) {
+        this.size = size;
+        this.bits = 32 - Integer.numberOfLeadingZeros(size);
+        this.cellsPerWord = 64 / bits;
+        this.mask = (1L << bits) - 1;
+        this.words = new long[(cells.length + cellsPerWord - 1) / cellsPerWord];
+        for (int i = 0; i < cells.length; i++) {
+            words[i / cellsPerWord] |= (cells[i] & mask) << ((i % cellsPerWord) * bits);
+        }
+    }
+
+    /**
+     * Packs the current content of a fully solved board.
+     *
+     * @param board a complete and valid board.
+     * @return the packed solution.
+     * @throws IllegalArgumentException if the board is not complete.
+     */
+    public static Solution of(Board board) {
+        if (!board.isComplete()) {
+            throw new IllegalArgumentException("The board is not solved");
+        }
+        return new Solution(board.getSize(), board.toCellArray());
+    }
+
+    /**
+     * Returns the solution value of a cell.
+     *
+     * @param row row index
+     * @param col column index
+     * @return value between 1 and the board size
+     */
+    public int get(int row, int col) {
+        int index = row * size + col;
+        return (int) ((words[index / cellsPerWord] >>> ((index % cellsPerWord) * bits)) & mask);
+    }
+
+    /**
+     * Checks a value against the solution in O(1).
+     *
+     * @param row   row index
+     * @param col   column index
+     * @param value value typed by the player
+     * @return true if the value is the one of the solution
+     */
+    public boolean isCorrect(int row, int col, int value) {
+        return get(row, col) == value;
+    }
+
+    /**
+     * Finds every filled cell whose value differs from the solution, in one pass.
+     *
+     * @param board the board being played.
+     * @return indices ({@code row * size + col}) of the wrong cells, in row-major order.
+     */
+    public int[] findWrongCells(Board board) {
+        int[] wrong = new int[size * size];
+        int count = 0;
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int v = board.getCellValue(r, c);
+                if (v != 0 && v != get(r, c)) {
+                    wrong[count++] = r * size + c;
+                }
+            }
+        }
+        return Arrays.copyOf(wrong, count);
+    }
+
+    /**
+     * Returns a 64-bit fingerprint of the solved grid, used to tell puzzles apart in caches.
+     *
+     * @return hash of the packed cells
+     */
+    public long fingerprint() {
+        long h = 0x9E3779B97F4A7C15L;
+        for (long word : words) {
+            h = (h ^ word) * 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+        }
+        return h;
+    }
+
+    /**
+     * Returns the board size this solution belongs to.
+     *
+     * @return number of rows (and columns)
+     */
+    public int getSize() {
+        return size;
+    }
+}
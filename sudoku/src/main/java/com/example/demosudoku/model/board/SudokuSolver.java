@@ -0,0 +1,192 @@
+package com.example.demosudoku.model.board;
+
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Backtracking solver for any {@link Geometry} (rectangular blocks or jigsaw regions).
+ * <p>
+ * Rows, columns and regions are tracked as bitmasks of used digits, and the
+ * search always branches on the empty cell with the fewest candidates.
+ * It is used during puzzle generation to check that the givens have a
+ * unique solution and to build random solved grids; it is never run on player input.
+ */
+public final class SudokuSolver {
+
+    /** Returned by the budgeted search when it runs out of time or is cancelled. */
+    public static final int ABORTED = -1;
+
+    /** Number of search nodes between two checks of the deadline and the cancel flag. */
+    private static final int CHECK_INTERVAL = 256;
+
+    private final Geometry geometry;
+    private final int size;
+    private final int all;
+    private final int[] cells;
+    private final int[] rows;
+    private final int[] cols;
+    private final int[] regions;
+
+    /** When not null, candidates are tried in random order. */
+    private final Random random;
+
+    /** First solution found by the search. */
+    private int[] firstSolution;
+
+    private long deadlineNanos = Long.MAX_VALUE;
+    private BooleanSupplier cancelled = () -> false;
+    private int nodes;
+    private boolean aborted;
+
+    private SudokuSolver(Geometry geometry, int[] givens, Random random) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.all = (1 << (size + 1)) - 2;
+        this.cells = givens.clone();
+        this.rows = new int[size];
+        this.cols = new int[size];
+        this.regions = new int[size];
+        this.random = random;
+    }
+
+    /**
+     * Counts the solutions of a puzzle, stopping once {@code limit} is reached.
+     *
+     * @param geometry size and region layout of the board.
+     * @param givens   row-major cell values (0 = empty).
+     * @param limit    maximum number of solutions to look for (2 is enough for a uniqueness test).
+     * @return number of solutions found, at most {@code limit}.
+     */
+    public static int countSolutions(Geometry geometry, int[] givens, int limit) {
+        SudokuSolver solver = new SudokuSolver(geometry, givens, null);
+        if (!solver.init()) return 0;
+        return solver.search(limit);
+    }
+
+    /**
+     * Counts solutions like {@link #countSolutions(Geometry, int[], int)}, but gives up when
+     * the deadline passes or {@code cancelled} returns true.
+     *
+     * @param geometry      size and region layout of the board.
+     * @param givens        row-major cell values (0 = empty).
+     * @param limit         maximum number of solutions to look for.
+     * @param deadlineNanos {@link System#nanoTime()} value after which the search stops.
+     * @param cancelled     polled regularly; returning true stops the search.
+     * @return number of solutions found, or {@link #ABORTED}.
+     */
+    public static int countSolutions(Geometry geometry, int[] givens, int limit,
+                                     long deadlineNanos, BooleanSupplier cancelled) {
+        SudokuSolver solver = new SudokuSolver(geometry, givens, null);
+        if (!solver.init()) return 0;
+        solver.deadlineNanos = deadlineNanos;
+        solver.cancelled = cancelled;
+        int found = solver.search(limit);
+        return solver.aborted ? ABORTED : found;
+    }
+
+    /**
+     * Returns true if the puzzle has exactly one solution.
+     *
+     * @param geometry size and region layout of the board.
+     * @param givens   row-major cell values (0 = empty).
+     * @return true if the solution is unique.
+     */
+    public static boolean hasUniqueSolution(Geometry geometry, int[] givens) {
+        return countSolutions(geometry, givens, 2) == 1;
+    }
+
+    /**
+     * Solves a puzzle.
+     *
+     * @param geometry size and region layout of the board.
+     * @param givens   row-major cell values (0 = empty).
+     * @return the first solution found, row-major, or null if there is none.
+     */
+    public static int[] solve(Geometry geometry, int[] givens) {
+        SudokuSolver solver = new SudokuSolver(geometry, givens, null);
+        if (!solver.init()) return null;
+        solver.search(1);
+        return solver.firstSolution;
+    }
+
+    /**
+     * Builds a random complete grid, trying candidates in random order.
+     *
+     * @param geometry size and region layout of the board.
+     * @param random   source of randomness.
+     * @return row-major solved grid.
+     */
+    public static int[] randomSolution(Geometry geometry, Random random) {
+        SudokuSolver solver = new SudokuSolver(geometry, new int[geometry.getCellCount()], random);
+        solver.init();
+        solver.search(1);
+        return solver.firstSolution;
+    }
+
+    private boolean init() {
+        for (int i = 0; i < cells.length; i++) {
+            int v = cells[i];
+            if (v == 0) continue;
+            int bit = 1 << v;
+            int r = i / size, c = i % size, g = geometry.regionOf(i);
+            if (((rows[r] | cols[c] | regions[g]) & bit) != 0) return false;
+            rows[r] |= bit;
+            cols[c] |= bit;
+            regions[g] |= bit;
+        }
+        return true;
+    }
+
+    private int search(int limit) {
+        if (aborted) return 0;
+        if (++nodes % CHECK_INTERVAL == 0
+                && (System.nanoTime() - deadlineNanos > 0 || cancelled.getAsBoolean())) {
+            aborted = true;
+            return 0;
+        }
+        int best = -1;
+        int bestCandidates = 0;
+        int bestCount = size + 1;
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != 0) continue;
+            int candidates = all & ~(rows[i / size] | cols[i % size] | regions[geometry.regionOf(i)]);
+            int count = Integer.bitCount(candidates);
+            if (count == 0) return 0;
+            if (count < bestCount) {
+                best = i;
+                bestCandidates = candidates;
+                bestCount = count;
+                if (count == 1) break;
+            }
+        }
+        if (best < 0) {
+            if (firstSolution == null) firstSolution = cells.clone();
+            return 1;
+        }
+
+        int r = best / size, c = best % size, g = geometry.regionOf(best);
+        int found = 0;
+        while (bestCandidates != 0 && found < limit) {
+            int bit = random == null ? Integer.lowestOneBit(bestCandidates) : randomBit(bestCandidates);
+            bestCandidates &= ~bit;
+            cells[best] = Integer.numberOfTrailingZeros(bit);
+            rows[r] |= bit;
+            cols[c] |= bit;
+            regions[g] |= bit;
+            found += search(limit - found);
+            rows[r] &= ~bit;
+            cols[c] &= ~bit;
+            regions[g] &= ~bit;
+        }
+        cells[best] = 0;
+        return found;
+    }
+
+    private int randomBit(int mask) {
+        int skip = random.nextInt(Integer.bitCount(mask));
+        for (int i = 0; i < skip; i++) {
+            mask &= mask - 1;
+        }
+        return Integer.lowestOneBit(mask);
+    }
+}
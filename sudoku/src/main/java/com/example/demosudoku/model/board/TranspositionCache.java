@@ -0,0 +1,230 @@
+package com.example.demosudoku.model.board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe cache from a board hash ({@link Board#getHash()}) to an
+ * analysis result such as a solver outcome, the next hint or a rating.
+ * <p>
+ * The cache is split into segments selected by the hash bits, each with its own
+ * lock, an open-addressing index and a CLOCK ring: a hit sets the entry's
+ * reference bit and the eviction hand skips (and clears) referenced entries,
+ * which approximates LRU without reordering anything on reads.
+ *
+ * @param <V> type of the cached result.
+ */
+public class TranspositionCache<V> {
+
+    private static final int SEGMENTS = 16;
+
+    private final List<Segment<V>> segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache.
+     *
+     * @param capacity maximum number of entries (rounded up to a multiple of the segment count).
+     */
+    public TranspositionCache(int capacity) {
+        int perSegment = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+        List<Segment<V>> list = new ArrayList<>(SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            list.add(new Segment<>(perSegment));
+        }
+        segments = List.copyOf(list);
+    }
+
+    /**
+     * Returns the cached result for a position.
+     *
+     * @param hash board hash.
+     * @return the cached value, or null if absent.
+     */
+    public V get(long hash) {
+        V value = segmentFor(hash).get(hash);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Tells whether a position is cached without counting a lookup or marking the
+     * entry as used, for background work that only checks before computing.
+     *
+     * @param hash board hash.
+     * @return true if a value is cached.
+     */
+    public boolean containsKey(long hash) {
+        return segmentFor(hash).containsKey(hash);
+    }
+
+    /**
+     * Stores a result, evicting an unreferenced entry if the segment is full.
+     *
+     * @param hash  board hash.
+     * @param value result to cache (not null).
+     */
+    public void put(long hash, V value) {
+        if (segmentFor(hash).put(hash, value)) {
+            evictions.increment();
+        }
+    }
+
+    /** @return number of lookups that found a value. */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /** @return number of lookups that found nothing. */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /** @return number of entries evicted to make room. */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /** @return hits divided by lookups, or 0 before the first lookup. */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /** @return current number of entries. */
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TranspositionCache{size=%d, hitRate=%.3f, evictions=%d}",
+                size(), getHitRate(), getEvictions());
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        return segments.get((int) (hash >>> 60) & (SEGMENTS - 1));
+    }
+
+    /**
+     * One lock-protected part of the cache.
+     * Slots hold the entries; the index maps hashes to slots with linear probing.
+     */
+    private static final class Segment<V> {
+
+        private static final int EMPTY = -1;
+
+        private final long[] keys;
+        private final Object[] values;
+        private final boolean[] referenced;
+        private final int[] index;
+        private final int indexMask;
+        private int size;
+        private int hand;
+
+        Segment(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+            referenced = new boolean[capacity];
+            int indexSize = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+            index = new int[indexSize];
+            indexMask = indexSize - 1;
+            Arrays.fill(index, EMPTY);
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized V get(long hash) {
+            int slot = find(hash);
+            if (slot == EMPTY) return null;
+            referenced[slot] = true;
+            return (V) values[slot];
+        }
+
+        synchronized boolean containsKey(long hash) {
+            return find(hash) != EMPTY;
+        }
+
+        /** @return true if an entry was evicted. */
+        synchronized boolean put(long hash, V value) {
+            int slot = find(hash);
+            if (slot != EMPTY) {
+                values[slot] = value;
+                referenced[slot] = true;
+                return false;
+            }
+            boolean evicted = false;
+            if (size < keys.length) {
+                slot = size++;
+            } else {
+                while (referenced[hand]) {
+                    referenced[hand] = false;
+                    hand = (hand + 1) % keys.length;
+                }
+                slot = hand;
+                hand = (hand + 1) % keys.length;
+                removeFromIndex(keys[slot]);
+                evicted = true;
+            }
+            keys[slot] = hash;
+            values[slot] = value;
+            referenced[slot] = false;
+            insertIntoIndex(hash, slot);
+            return evicted;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private int find(long hash) {
+            int i = mix(hash) & indexMask;
+            while (index[i] != EMPTY) {
+                if (keys[index[i]] == hash) return index[i];
+                i = (i + 1) & indexMask;
+            }
+            return EMPTY;
+        }
+
+        private void insertIntoIndex(long hash, int slot) {
+            int i = mix(hash) & indexMask;
+            while (index[i] != EMPTY) {
+                i = (i + 1) & indexMask;
+            }
+            index[i] = slot;
+        }
+
+        /** Removes a key and re-inserts the rest of its probe run (backward-shift deletion). */
+        private void removeFromIndex(long hash) {
+            int i = mix(hash) & indexMask;
+            while (keys[index[i]] != hash) {
+                i = (i + 1) & indexMask;
+            }
+            index[i] = EMPTY;
+            int j = (i + 1) & indexMask;
+            while (index[j] != EMPTY) {
+                int slot = index[j];
+                index[j] = EMPTY;
+                insertIntoIndex(keys[slot], slot);
+                j = (j + 1) & indexMask;
+            }
+        }
+
+        private static int mix(long hash) {
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demosudoku.model.game;
+
+import com.example.demosudoku.model.board.BoardListener;
+import javafx.application.Platform;
+import javafx.scene.control.TextField;
+
+/**
+ * Mirrors board changes into the cell text fields with at most one
+ * {@link Platform#runLater} per pulse.
+ * <p>
+ * Changes are only marked as dirty when they happen; the scheduled flush then
+ * writes the latest value of each dirty cell. Bulk operations (several hints,
+ * undoing many moves, loading or replaying a game) touch each changed cell
+ * once instead of flooding the FX queue with one task per change.
+ */
+public class BoardViewAdapter implements BoardListener {
+
+    private final int size;
+    private final String[] digits;
+
+    private TextField[] fields;
+
+    /** Latest value of each dirty cell; guarded by {@code this}. */
+    private final int[] values;
+    private final boolean[] dirty;
+    private final int[] dirtyCells;
+    private int dirtyCount;
+    private boolean flushScheduled;
+
+    private final Runnable flushTask = this::flush;
+
+    /**
+     * Creates an adapter for a board of the given size.
+     *
+     * @param size number of rows (and columns).
+     */
+    public BoardViewAdapter(int size) {
+        this.size = size;
+        this.values = new int[size * size];
+        this.dirty = new boolean[size * size];
+        this.dirtyCells = new int[size * size];
+        this.digits = new String[size + 1];
+        digits[0] = "";
+        for (int v = 1; v <= size; v++) {
+            digits[v] = String.valueOf(v);
+        }
+    }
+
+    /**
+     * Sets the text fields that display the board, in row-major order.
+     * Pending changes for the previous fields are dropped.
+     *
+     * @param fields one text field per cell.
+     */
+    public synchronized void bind(TextField[] fields) {
+        this.fields = fields;
+        for (int k = 0; k < dirtyCount; k++) {
+            dirty[dirtyCells[k]] = false;
+        }
+        dirtyCount = 0;
+    }
+
+    @Override
+    public synchronized void cellChanged(int row, int col, int oldValue, int newValue) {
+        int cell = row * size + col;
+        values[cell] = newValue;
+        if (!dirty[cell]) {
+            dirty[cell] = true;
+            dirtyCells[dirtyCount++] = cell;
+        }
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Platform.runLater(flushTask);
+        }
+    }
+
+    private void flush() {
+        TextField[] target;
+        int[] cells;
+        int[] latest;
+        int count;
+        synchronized (this) {
+            flushScheduled = false;
+            target = fields;
+            count = dirtyCount;
+            cells = new int[count];
+            latest = new int[count];
+            for (int k = 0; k < count; k++) {
+                int cell = dirtyCells[k];
+                cells[k] = cell;
+                latest[k] = values[cell];
+                dirty[cell] = false;
+            }
+            dirtyCount = 0;
+        }
+        if (target == null) return;
+        for (int k = 0; k < count; k++) {
+            TextField txt = target[cells[k]];
+            String text = digits[latest[k]];
+            if (txt != null && !text.equals(txt.getText())) {
+                txt.setText(text);
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.demosudoku.model.game;
+
+import com.example.demosudoku.metrics.SudokuMetrics;
+import com.example.demosudoku.model.board.Board;
+import javafx.application.Platform;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TextFormatter;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.function.UnaryOperator;
+
+/**
+ * Input pipeline that connects the editable Sudoku cells with the board model.
+ * <p>
+ * A {@link TextFormatter} filter rejects any key that is not a valid digit before
+ * it reaches the field, so the cell text is always empty or a single digit.
+ * Accepted edits are queued per cell and applied to the model once per pulse:
+ * rapid typing on the same cell results in a single validation and style update.
+ */
+public class CellInputPipeline {
+
+    /** Style of an editable cell with no value. */
+    public static final String STYLE_EMPTY = "-fx-background-color: white; -fx-font-size: 16px;";
+
+    /** Style of a cell whose value follows the Sudoku rules. */
+    public static final String STYLE_VALID =
+            "-fx-background-color: #b3ffb3; -fx-border-color: #00cc00; -fx-border-width: 1;";
+
+    /** Style of a cell whose last value was rejected. */
+    public static final String STYLE_INVALID =
+            "-fx-background-color: #ffcccc; -fx-border-color: red; -fx-border-width: 2;";
+
+    /** Marker for "no digit" / "no pending edit". */
+    private static final int NONE = -1;
+
+    private final GameAbstract game;
+    private final int size;
+
+    /** Runs the flush on the next pulse. */
+    private final Executor pulse;
+
+    /** Cell fields indexed by {@code row * size + col}. */
+    private final TextField[] fields;
+
+    /** Last value typed in each cell and not yet applied, or {@link #NONE}. */
+    private final int[] pending;
+
+    /** Indices of the cells with a pending edit, in arrival order. */
+    private final int[] dirty;
+    private int dirtyCount;
+
+    private boolean flushScheduled;
+    private boolean applying;
+
+    private final Runnable flushTask = this::flush;
+    private final UnaryOperator<TextFormatter.Change> filter = this::filter;
+
+    /**
+     * Creates a pipeline for the board of the given game.
+     *
+     * @param game the game whose board receives the edits.
+     */
+    public CellInputPipeline(GameAbstract game) {
+        this(game, Platform::runLater);
+    }
+
+    /**
+     * Creates a pipeline whose flushes are scheduled on the given executor.
+     *
+     * @param game  the game whose board receives the edits.
+     * @param pulse runs the flush once the current burst of edits is over.
+     */
+    CellInputPipeline(GameAbstract game, Executor pulse) {
+        this.game = game;
+        this.pulse = pulse;
+        this.size = game.getBoard().getSize();
+        this.fields = new TextField[size * size];
+        this.pending = new int[size * size];
+        this.dirty = new int[size * size];
+        Arrays.fill(pending, NONE);
+    }
+
+    /**
+     * Maps a typed character to a digit without allocating.
+     *
+     * @param c   the typed character.
+     * @param max the largest digit allowed on the board.
+     * @return the digit (1..max), or -1 if the character is not a valid digit.
+     */
+    public static int toDigit(char c, int max) {
+        int digit = c - '0';
+        return (digit >= 1 && digit <= max) ? digit : NONE;
+    }
+
+    /**
+     * Attaches the input filter and the model listener to a cell.
+     *
+     * @param txt the cell text field.
+     * @param row row index of the cell.
+     * @param col column index of the cell.
+     */
+    public void attach(TextField txt, int row, int col) {
+        int index = row * size + col;
+        fields[index] = txt;
+        txt.setTextFormatter(new TextFormatter<>(filter));
+        txt.textProperty().addListener((obs, oldText, newText) -> {
+            if (applying || !txt.isEditable()) return;
+            edited(index, newText.isEmpty() ? 0 : toDigit(newText.charAt(0), size));
+        });
+    }
+
+    /**
+     * Queues the value now shown in a cell.
+     *
+     * @param index cell index, {@code row * size + col}.
+     * @param value the digit in the cell, or 0 if it was cleared.
+     */
+    void edited(int index, int value) {
+        // Text written by the view adapter already matches the model: nothing to apply.
+        // A pending edit is still overwritten, so typing and deleting within one pulse is a no-op.
+        if (pending[index] == NONE && value == game.getBoard().getCellValue(index / size, index % size)) return;
+        enqueue(index, value);
+    }
+
+    /**
+     * Returns the edit waiting for the next pulse in a cell.
+     *
+     * @param index cell index, {@code row * size + col}.
+     * @return the queued value (0 for a deletion), or -1 if nothing is pending.
+     */
+    int pendingValue(int index) {
+        return pending[index];
+    }
+
+    /**
+     * Drops all pending edits and detaches the previous cells.
+     * Called when the board is redrawn.
+     */
+    public void reset() {
+        for (int k = 0; k < dirtyCount; k++) {
+            pending[dirty[k]] = NONE;
+        }
+        dirtyCount = 0;
+        Arrays.fill(fields, null);
+    }
+
+    /**
+     * Accepts deletions and a single valid digit; any other change is rejected.
+     * A digit typed into a filled cell replaces its current value.
+     */
+    private TextFormatter.Change filter(TextFormatter.Change change) {
+        if (!change.isContentChange()) return change;
+
+        String added = change.getText();
+        if (added.isEmpty()) return change;
+        if (added.length() != 1 || toDigit(added.charAt(0), size) == NONE) return null;
+
+        change.setRange(0, change.getControlText().length());
+        change.setCaretPosition(1);
+        change.setAnchor(1);
+        return change;
+    }
+
+    private void enqueue(int index, int value) {
+        if (pending[index] == NONE) {
+            dirty[dirtyCount++] = index;
+        }
+        pending[index] = value;
+        if (!flushScheduled) {
+            flushScheduled = true;
+            pulse.execute(flushTask);
+        }
+    }
+
+    /**
+     * Applies every pending edit to the board model and updates the cell styles.
+     */
+    private void flush() {
+        flushScheduled = false;
+        Board board = game.getBoard();
+        applying = true;
+        try {
+            for (int k = 0; k < dirtyCount; k++) {
+                int index = dirty[k];
+                int value = pending[index];
+                pending[index] = NONE;
+                TextField txt = fields[index];
+                if (txt != null && value != NONE) {
+                    apply(board, txt, index / size, index % size, value);
+                }
+            }
+            dirtyCount = 0;
+        } finally {
+            applying = false;
+        }
+        game.onBoardChanged();
+    }
+
+    private void apply(Board board, TextField txt, int row, int col, int value) {
+        long start = System.nanoTime();
+        if (value == 0) {
+            board.setCellValue(row, col, 0);
+            txt.setStyle(STYLE_EMPTY);
+        } else if (game.isAcceptable(row, col, value)) {
+            board.setCellValue(row, col, value);
+            txt.setStyle(STYLE_VALID);
+        } else {
+            board.setCellValue(row, col, 0);
+            txt.setStyle(STYLE_INVALID);
+            txt.clear();
+        }
+        SudokuMetrics.VALIDATION_LATENCY.observeNanos(System.nanoTime() - start);
+    }
+}
@@ -1,11 +1,28 @@
 package com.example.demosudoku.model.game;
 
+import com.example.demosudoku.metrics.SudokuMetrics;
 import com.example.demosudoku.model.board.Board;
+import com.example.demosudoku.model.board.BoardSnapshot;
+import com.example.demosudoku.model.board.Feasibility;
+import com.example.demosudoku.model.board.FeasibilityMonitor;
+import com.example.demosudoku.model.board.Geometry;
+import com.example.demosudoku.model.board.Hint;
+import com.example.demosudoku.model.board.HintPrecomputer;
+import com.example.demosudoku.model.board.Solution;
+import com.example.demosudoku.model.board.SudokuSolver;
+import com.example.demosudoku.model.board.TranspositionCache;
+import com.example.demosudoku.model.io.PuzzleFormat;
+import com.example.demosudoku.model.io.PuzzleReader;
+import com.example.demosudoku.model.io.PuzzleWriter;
+import javafx.application.Platform;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.GridPane;
+
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Random;
+import java.util.function.Consumer;
 
 /**
  * Represents the concrete implementation of the Sudoku game logic.
@@ -13,64 +30,156 @@ import java.util.Random;
  */
 public class Game extends GameAbstract {
 
-    private final Random random = new Random();
+    /** Number of random 12-given layouts tried before adding extra givens. */
+    private static final int MAX_GIVEN_ATTEMPTS = 50;
+
+    /** Time budget of a single feasibility check. */
+    private static final long FEASIBILITY_BUDGET_MILLIS = 50;
+
+    /** Feasibility results by board hash, shared by every game in the process. */
+    private static final TranspositionCache<Feasibility> FEASIBILITY_CACHE = new TranspositionCache<>(4096);
+
+    /** Hints by position, shared by every game in the process. */
+    private static final TranspositionCache<Hint> HINT_CACHE = new TranspositionCache<>(4096);
+
+    static {
+        SudokuMetrics.registerCache("feasibility", FEASIBILITY_CACHE);
+        SudokuMetrics.registerCache("hint", HINT_CACHE);
+    }
+
+    /** System property with a fixed seed for every game created by the controller. */
+    public static final String SEED_PROPERTY = "sudoku.seed";
+
+    /**
+     * System property with a region layout for every game created by the controller,
+     * in the format of {@link Geometry#parse(String)}; the classic 6x6 board if absent.
+     */
+    public static final String LAYOUT_PROPERTY = "sudoku.layout";
+
+    /** System property with a puzzle file played first, e.g. one written by the clue minimizer. */
+    public static final String PUZZLES_PROPERTY = "sudoku.puzzles";
+
+    private final Random random;
+
+    /** Computes the next hint in the background after every move. */
+    private final HintPrecomputer hintPrecomputer = new HintPrecomputer(HINT_CACHE);
+
+    /** Puzzles imported from a file, played in order before generating new ones; null if none. */
+    private PuzzleReader importedPuzzles;
+
+    /** Next imported puzzle with a unique solution, read ahead so format errors show up early. */
+    private int[] nextImported;
+
+    /** Givens of the current puzzle, as exported. */
+    private int[] givens;
+
+    /** Receives the result of each feasibility check on the FX thread. */
+    private Consumer<Feasibility> feasibilityListener = result -> { };
+
+    /** Checks after every move whether the board can still be solved. */
+    private final FeasibilityMonitor feasibilityMonitor = new FeasibilityMonitor(
+            FEASIBILITY_BUDGET_MILLIS, Platform::runLater, result -> feasibilityListener.accept(result),
+            FEASIBILITY_CACHE);
+
+    /** Size and region layout of the boards created by this game. */
+    private final Geometry geometry;
+
+    /** Filters cell input and applies it to the board model. */
+    private final CellInputPipeline inputPipeline;
+
+    /** Applies model changes to the cells, batched once per pulse. */
+    private final BoardViewAdapter viewAdapter;
 
     public Game(GridPane boardGridpane) {
+        this(boardGridpane, Geometry.STANDARD_6X6);
+    }
+
+    /**
+     * Creates a game whose boards use the given geometry (e.g. a jigsaw layout).
+     *
+     * @param boardGridpane the grid where the board is drawn.
+     * @param geometry      size and region layout of the board.
+     */
+    public Game(GridPane boardGridpane, Geometry geometry) {
+        this(boardGridpane, geometry, new Random());
+    }
+
+    /**
+     * Creates a game whose boards and givens come from the given random source.
+     * Two games created with the same seed produce the same sequence of boards.
+     *
+     * @param boardGridpane the grid where the board is drawn.
+     * @param geometry      size and region layout of the board.
+     * @param random        source of the random choices.
+     */
+    public Game(GridPane boardGridpane, Geometry geometry, Random random) {
         super(boardGridpane);
+        this.geometry = geometry;
+        this.random = random;
+        this.board = new Board(geometry, random);
+        inputPipeline = new CellInputPipeline(this);
+        viewAdapter = new BoardViewAdapter(geometry.getSize());
     }
 
     @Override
     public void startGame() {
         boardGridpane.getChildren().clear(); // limpia tablero antes de iniciar
+        inputPipeline.reset();
+        feasibilityMonitor.cancel();
+        hintPrecomputer.cancel();
+        numberFields.clear();
+
+        // Crear un nuevo tablero lógico y llenarlo con una solución completa
+        long generationStart = System.nanoTime();
+        board = new Board(geometry, random);
+        int[] imported = takeImportedPuzzle();
+        if (imported != null) {
+            // Puzzle importado: la solución es la única que tiene
+            int[] solved = SudokuSolver.solve(geometry, imported);
+            fillCells(solved);
+            solution = Solution.of(board);
+            fillCells(imported);
+        } else {
+            board.fillSolution();
 
-        // Crear un nuevo tablero lógico
-        board = new Board();
+            // Guardar la solución antes de vaciar el tablero
+            solution = Solution.of(board);
 
-        // Asegurarnos de partir de un tablero vacío (todos ceros)
-        clearBoardModel();
+            // Generar 2 números por región tomados de la solución (12 números en 6x6)
+            generateInitialNumbers();
+            SudokuMetrics.GENERATION_TIME.observeNanos(System.nanoTime() - generationStart);
+        }
+        givens = board.toCellArray();
+        SudokuMetrics.GAMES_STARTED.inc();
 
-        // Generar 2 números válidos por bloque 2x3 (total 12 números)
-        generateInitialNumbers();
+        // Preparar la primera pista en segundo plano
+        hintPrecomputer.submit(board.snapshot(), solution);
 
-        // Dibujar tablero con bordes personalizados según bloque
-        for (int i = 0; i < board.getBoard().size(); i++) {
-            for (int j = 0; j < board.getBoard().get(i).size(); j++) {
-                int number = board.getBoard().get(i).get(j);
+        // Dibujar tablero con bordes según las regiones de la geometría
+        int size = geometry.getSize();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int cell = i * size + j;
+                int number = board.getCellValue(i, j);
                 TextField textField = new TextField();
 
                 textField.setAlignment(Pos.CENTER);
                 textField.setPrefSize(60, 60);
 
-                // 🔹 Determinar bloque (2x3)
-                int blockRow = i / 2;  // 0..2
-                int blockCol = j / 3;  // 0..1
-                int blockIndex = blockRow * 2 + blockCol + 1; // numeración 1..6
-
-                // 🔹 Colores base alternos por bloque
-                boolean bloquePar = (blockRow + blockCol) % 2 == 0;
-                String colorBase = bloquePar ? "#f2faff" : "#dff3ff";
-
-                // 🔹 Bordes básicos
-                String borderColor = "#888888";
-                int top = (i % 2 == 0) ? 3 : 1;
-                int left = (j % 3 == 0) ? 3 : 1;
-                int bottom = (i == 5) ? 3 : 1;
-                int right = (j == 5) ? 3 : 1;
-
-                // 🔹 Aplicar borde más fuerte a los bloques 1, 4 y 5
-                boolean bloqueFuerte = (blockIndex == 1 || blockIndex == 4 || blockIndex == 5);
-                if (bloqueFuerte) {
-                    borderColor = "#444444"; // más oscuro
-                    top = Math.max(top, 4);
-                    left = Math.max(left, 4);
-                    bottom = Math.max(bottom, 4);
-                    right = Math.max(right, 4);
-                }
+                // 🔹 Colores base alternos por región
+                boolean regionPar = geometry.regionOf(cell) % 2 == 0;
+                String colorBase = regionPar ? "#f2faff" : "#dff3ff";
+
+                // 🔹 Bordes: gruesos donde empieza otra región y en el contorno
+                int top = geometry.isRegionBorderTop(cell) ? 3 : 1;
+                int left = geometry.isRegionBorderLeft(cell) ? 3 : 1;
+                int bottom = (i == size - 1) ? 3 : 1;
+                int right = (j == size - 1) ? 3 : 1;
 
                 // 🔹 Estilo de borde
                 String borderStyle = String.format(
-                        "-fx-border-color: %s; -fx-border-width: %d %d %d %d;",
-                        borderColor, top, right, bottom, left
+                        "-fx-border-color: #888888; -fx-border-width: %d %d %d %d;",
+                        top, right, bottom, left
                 );
 
                 // 🔹 Aplicar estilo general
@@ -89,109 +198,187 @@ public class Game extends GameAbstract {
                     );
                 }
 
-                handleNumberField(textField, i, j);
+                inputPipeline.attach(textField, i, j);
+                numberFields.add(textField);
                 boardGridpane.add(textField, j, i);
             }
         }
+
+        // A partir de aquí, los cambios del modelo llegan a la vista por el adaptador
+        viewAdapter.bind(numberFields.toArray(new TextField[0]));
+        board.addListener(viewAdapter);
+    }
+
+    private void fillCells(int[] cells) {
+        int size = geometry.getSize();
+        for (int i = 0; i < cells.length; i++) {
+            board.setCellValue(i / size, i % size, cells[i]);
+        }
+    }
+
+    /**
+     * Plays the puzzles of a file, in order, in the next games; once they run out
+     * new puzzles are generated again. Puzzles without a unique solution are skipped.
+     * The format comes from the file name ({@link PuzzleFormat#forPath(Path)}).
+     *
+     * @param file puzzle file for boards of this game's size.
+     * @throws IOException if the file cannot be read, is malformed or has no playable puzzle.
+     */
+    public void importPuzzles(Path file) throws IOException {
+        closeImport();
+        nextImported = null;
+        importedPuzzles = PuzzleFormat.forPath(file).openReader(file, geometry.getSize());
+        readAhead();
+        if (nextImported == null) {
+            throw new IOException("No puzzle with a unique solution in " + file.getFileName());
+        }
     }
 
     /**
-     * Limpia el modelo del tablero poniéndolo todo a 0.
-     * Esto evita duplicar números si el constructor de Board ya prellenó algo.
+     * Writes the givens of the current puzzle, replacing the file.
+     * The format comes from the file name ({@link PuzzleFormat#forPath(Path)}).
+     *
+     * @param file destination file.
+     * @throws IOException if the file cannot be written.
      */
-    private void clearBoardModel() {
-        for (int i = 0; i < board.getBoard().size(); i++) {
-            for (int j = 0; j < board.getBoard().get(i).size(); j++) {
-                board.getBoard().get(i).set(j, 0);
+    public void exportPuzzle(Path file) throws IOException {
+        if (givens == null) throw new IllegalStateException("No game started");
+        try (PuzzleWriter writer = PuzzleFormat.forPath(file).openWriter(file, geometry.getSize())) {
+            writer.write(givens);
+        }
+    }
+
+    /** @return the next imported puzzle, or null to generate one. */
+    private int[] takeImportedPuzzle() {
+        int[] puzzle = nextImported;
+        nextImported = null;
+        if (puzzle != null) {
+            try {
+                readAhead();
+            } catch (IOException e) {
+                // El resto del archivo no se puede leer: se vuelve a generar tableros
+                System.err.println("No se pudieron leer más tableros importados: " + e.getMessage());
+                closeImport();
+            }
+        }
+        return puzzle;
+    }
+
+    private void readAhead() throws IOException {
+        int[] cells = new int[geometry.getCellCount()];
+        while (importedPuzzles.next(cells)) {
+            if (SudokuSolver.hasUniqueSolution(geometry, cells)) {
+                nextImported = cells;
+                return;
             }
         }
+        closeImport();
+    }
+
+    private void closeImport() {
+        if (importedPuzzles == null) return;
+        try {
+            importedPuzzles.close();
+        } catch (IOException ignored) {
+            // Solo se leía
+        }
+        importedPuzzles = null;
     }
 
     /**
-     * Genera 2 números válidos en cada bloque 2x3 del tablero (6 bloques → 12 números en total).
+     * Coloca 2 números de la solución en cada región (6 regiones → 12 números en total).
+     * Se repite la selección hasta que el puzzle tenga solución única; si no se logra
+     * en {@link #MAX_GIVEN_ATTEMPTS} intentos, se agregan pistas hasta que la tenga.
      */
     private void generateInitialNumbers() {
-        for (int blockRow = 0; blockRow < 3; blockRow++) {      // 3 bloques de alto
-            for (int blockCol = 0; blockCol < 2; blockCol++) {  // 2 bloques de ancho
+        int size = geometry.getSize();
+        for (int attempt = 0; attempt < MAX_GIVEN_ATTEMPTS; attempt++) {
+            board.clearBoard();
+            for (int region = 0; region < size; region++) {
                 int placed = 0;
-                int attempts = 0;
-                while (placed < 2 && attempts < 100) {
-                    int row = blockRow * 2 + random.nextInt(2);
-                    int col = blockCol * 3 + random.nextInt(3);
-                    int num = random.nextInt(6) + 1;
-                    attempts++;
-
-                    if (board.getBoard().get(row).get(col) == 0 && board.isValid(row, col, num)) {
-                        board.getBoard().get(row).set(col, num);
+                while (placed < 2) {
+                    int cell = geometry.regionCell(region, random.nextInt(size));
+                    int row = cell / size;
+                    int col = cell % size;
+                    if (board.getCellValue(row, col) == 0) {
+                        board.setCellValue(row, col, solution.get(row, col));
                         placed++;
                     }
                 }
             }
+            if (SudokuSolver.hasUniqueSolution(geometry, board.toCellArray())) return;
         }
-    }
-
-    private void handleNumberField(TextField txt, int row, int col) {
-        txt.setOnKeyReleased(event -> {
-            String input = txt.getText().trim();
 
-            if (input.isEmpty()) {
-                board.getBoard().get(row).set(col, 0);
-                txt.setStyle("-fx-background-color: white; -fx-font-size: 16px;");
-                return;
+        while (!SudokuSolver.hasUniqueSolution(geometry, board.toCellArray())) {
+            int row = random.nextInt(size);
+            int col = random.nextInt(size);
+            if (board.getCellValue(row, col) == 0) {
+                board.setCellValue(row, col, solution.get(row, col));
             }
+        }
+    }
 
-            if (!input.matches("[1-6]")) {
-                txt.clear();
-                board.getBoard().get(row).set(col, 0);
-                txt.setStyle("-fx-background-color: white; -fx-font-size: 16px;");
-                return;
-            }
+    /**
+     * Fills a cell with the next hint.
+     * The hint is normally precomputed in the background after the last move,
+     * so this only reads it from the cache and updates the model.
+     */
+    @Override
+    public void requestHint() {
+        long start = System.nanoTime();
+        BoardSnapshot snapshot = board.snapshot();
+        Hint hint = hintPrecomputer.getIfReady(snapshot, solution);
+        if (hint == null) {
+            // La pista de fondo aún no está lista: se calcula aquí, en el hilo de JavaFX
+            hint = hintPrecomputer.compute(snapshot, solution);
+            if (hint == null) return;
+            SudokuMetrics.HINTS_COMPUTED_ON_REQUEST.inc();
+        }
 
-            int number = Integer.parseInt(input);
+        board.setCellValue(hint.row(), hint.col(), hint.value());
 
-            if (board.isValid(row, col, number)) {
-                board.getBoard().get(row).set(col, number);
-                txt.setStyle("-fx-background-color: #b3ffb3; -fx-border-color: #00cc00; -fx-border-width: 1;");
-            } else {
-                board.getBoard().get(row).set(col, 0);
-                txt.setStyle("-fx-background-color: #ffcccc; -fx-border-color: red; -fx-border-width: 2;");
-                txt.clear();
-            }
-        });
+        // The text itself is written by the view adapter on the next pulse
+        TextField txt = numberFields.get(hint.row() * board.getSize() + hint.col());
+        txt.setEditable(false);
+        txt.setStyle("-fx-background-color: #b3ffb3; -fx-font-weight: bold;");
+        onBoardChanged();
+
+        SudokuMetrics.HINTS_REQUESTED.inc();
+        SudokuMetrics.HINT_LATENCY.observeNanos(System.nanoTime() - start);
     }
 
+    /**
+     * Checks the board against the solution and highlights every wrong cell.
+     *
+     * @return indices ({@code row * size + col}) of the wrong cells.
+     */
     @Override
-    public void requestHint() {
-        for (int i = 0; i < board.getBoard().size(); i++) {
-            for (int j = 0; j < board.getBoard().get(i).size(); j++) {
-                int value = board.getBoard().get(i).get(j);
-                if (value == 0) {
-                    for (int candidate = 1; candidate <= 6; candidate++) {
-                        if (board.isValid(i, j, candidate)) {
-                            board.getBoard().get(i).set(j, candidate);
-
-                            for (Node node : boardGridpane.getChildren()) {
-                                Integer r = GridPane.getRowIndex(node);
-                                Integer c = GridPane.getColumnIndex(node);
-                                if ((r != null && r == i) && (c != null && c == j) && node instanceof TextField) {
-                                    TextField txt = (TextField) node;
-                                    txt.setText(String.valueOf(candidate));
-                                    txt.setStyle("-fx-background-color: #b3ffb3; -fx-font-weight: bold;");
-                                    txt.setEditable(false);
-                                    break;
-                                }
-                            }
-                            return;
-                        }
-                    }
-                }
-            }
+    public int[] checkBoard() {
+        int[] wrong = super.checkBoard();
+        for (int index : wrong) {
+            numberFields.get(index).setStyle(CellInputPipeline.STYLE_INVALID);
         }
+        return wrong;
+    }
+
+    /**
+     * Sets the listener notified (on the FX thread) after each feasibility check.
+     *
+     * @param listener receives whether the board can still be solved.
+     */
+    public void setFeasibilityListener(Consumer<Feasibility> listener) {
+        this.feasibilityListener = listener != null ? listener : result -> { };
+    }
+
+    @Override
+    protected void onBoardChanged() {
+        BoardSnapshot snapshot = board.snapshot();
+        feasibilityMonitor.submit(snapshot);
+        hintPrecomputer.submit(snapshot, solution);
     }
 
     public void resetBoard() {
         boardGridpane.getChildren().clear();
-        board = new Board();
         startGame();
     }
 }
@@ -1,6 +1,7 @@
 package com.example.demosudoku.model.game;
 
 import com.example.demosudoku.model.board.Board;
+import com.example.demosudoku.model.board.Solution;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.GridPane;
 
@@ -21,7 +22,13 @@ public abstract class GameAbstract implements IGame {
     /** The Sudoku board model that holds logic and data. */
     protected Board board;
 
-    /** List of TextFields representing interactive cells on the board. */
+    /** The solved grid of the current puzzle, or null before the first game starts. */
+    protected Solution solution;
+
+    /** When true, a digit is only accepted if it matches the solution. */
+    protected boolean strictMode;
+
+    /** List of TextFields representing interactive cells on the board, in row-major order. */
     protected final List<TextField> numberFields;
 
     /**
@@ -57,6 +64,13 @@ public abstract class GameAbstract implements IGame {
         numberFields.clear();
     }
 
+    /**
+     * Called after the board model changes because of a player move or a hint.
+     * Subclasses use it to start background analysis of the new position.
+     */
+    protected void onBoardChanged() {
+    }
+
     /**
      * Returns the underlying Sudoku board model.
      *
@@ -66,6 +80,62 @@ public abstract class GameAbstract implements IGame {
         return board;
     }
 
+    /**
+     * Returns the solution of the current puzzle.
+     *
+     * @return The current {@link Solution}, or null if no game has started.
+     */
+    public Solution getSolution() {
+        return solution;
+    }
+
+    /**
+     * Returns whether strict checking against the solution is enabled.
+     *
+     * @return true if strict mode is on.
+     */
+    public boolean isStrictMode() {
+        return strictMode;
+    }
+
+    /**
+     * Enables or disables strict checking against the solution.
+     *
+     * @param strictMode true to reject digits that are legal but wrong.
+     */
+    public void setStrictMode(boolean strictMode) {
+        this.strictMode = strictMode;
+    }
+
+    /**
+     * Decides whether a digit typed by the player is accepted.
+     * In strict mode the value must match the solution (O(1) lookup);
+     * otherwise it only has to follow the Sudoku rules.
+     *
+     * @param row   row index
+     * @param col   column index
+     * @param value typed digit
+     * @return true if the value is accepted.
+     */
+    public boolean isAcceptable(int row, int col, int value) {
+        if (strictMode && solution != null) {
+            return solution.isCorrect(row, col, value);
+        }
+        return board.isValid(row, col, value);
+    }
+
+    /**
+     * Compares the whole board against the solution in a single pass.
+     *
+     * @return indices ({@code row * size + col}) of the filled cells that are wrong.
+     */
+    public int[] checkBoard() {
+        if (solution == null) {
+            return new int[0];
+        }
+        return solution.findWrongCells(board);
+    }
+
     /**
      * Returns all text fields that represent Sudoku cells.
      *
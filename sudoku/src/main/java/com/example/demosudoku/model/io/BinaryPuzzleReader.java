@@ -0,0 +1,81 @@
+package com.example.demosudoku.model.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Reader for the {@link PuzzleFormat#BINARY} format.
+ * <p>
+ * Layout: the magic bytes {@code "SDKB"}, a version byte, the board size, then
+ * one record per puzzle with two cells per byte (high nibble first).
+ */
+class BinaryPuzzleReader implements PuzzleReader {
+
+    static final byte[] MAGIC = {'S', 'D', 'K', 'B'};
+    static final int VERSION = 1;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(PuzzleFormat.BUFFER_SIZE);
+    private final int size;
+    private final int recordSize;
+    private boolean eof;
+
+    BinaryPuzzleReader(ReadableByteChannel channel, int size) throws IOException {
+        this.channel = channel;
+        this.size = size;
+        this.recordSize = recordSize(size);
+        buffer.flip();
+        if (!fill(MAGIC.length + 2)) {
+            throw new EOFException("Missing header");
+        }
+        for (byte m : MAGIC) {
+            if (buffer.get() != m) throw new IOException("Not a binary puzzle file");
+        }
+        int version = buffer.get();
+        int fileSize = buffer.get();
+        if (version != VERSION) throw new IOException("Unsupported version " + version);
+        if (fileSize != size) throw new IOException("File holds " + fileSize + "x" + fileSize + " puzzles, expected " + size);
+    }
+
+    static int recordSize(int size) {
+        return (size * size + 1) / 2;
+    }
+
+    @Override
+    public boolean next(int[] cells) throws IOException {
+        if (!fill(recordSize)) {
+            if (buffer.hasRemaining()) throw new EOFException("Truncated record");
+            return false;
+        }
+        for (int i = 0; i < cells.length; i += 2) {
+            int b = buffer.get() & 0xFF;
+            cells[i] = cell(i, b >>> 4);
+            if (i + 1 < cells.length) cells[i + 1] = cell(i + 1, b & 0x0F);
+        }
+        return true;
+    }
+
+    /** A nibble can hold up to 15, more than the digits of a smaller board. */
+    private int cell(int index, int value) throws IOException {
+        if (value > size) throw new IOException("Cell " + index + ": value " + value + " out of range 0.." + size);
+        return value;
+    }
+
+    /** Makes sure at least {@code needed} bytes are buffered; false at end of input. */
+    private boolean fill(int needed) throws IOException {
+        if (buffer.remaining() >= needed) return true;
+        buffer.compact();
+        while (buffer.position() < needed && !eof) {
+            if (channel.read(buffer) < 0) eof = true;
+        }
+        buffer.flip();
+        return buffer.remaining() >= needed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demosudoku.model.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writer for the {@link PuzzleFormat#BINARY} format (see {@link BinaryPuzzleReader}).
+ */
+class BinaryPuzzleWriter implements PuzzleWriter {
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(PuzzleFormat.BUFFER_SIZE);
+    private final int size;
+    private final int recordSize;
+
+    BinaryPuzzleWriter(WritableByteChannel channel, int size) {
+        if (size > 15) throw new IllegalArgumentException("Binary format supports up to 15x15 boards");
+        this.channel = channel;
+        this.size = size;
+        this.recordSize = BinaryPuzzleReader.recordSize(size);
+        buffer.put(BinaryPuzzleReader.MAGIC);
+        buffer.put((byte) BinaryPuzzleReader.VERSION);
+        buffer.put((byte) size);
+    }
+
+    @Override
+    public void write(int[] cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] < 0 || cells[i] > size) {
+                throw new IllegalArgumentException("Cell " + i + ": value " + cells[i] + " out of range 0.." + size);
+            }
+        }
+        if (buffer.remaining() < recordSize) {
+            flush();
+        }
+        for (int i = 0; i < cells.length; i += 2) {
+            int high = cells[i];
+            int low = i + 1 < cells.length ? cells[i + 1] : 0;
+            buffer.put((byte) ((high << 4) | low));
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
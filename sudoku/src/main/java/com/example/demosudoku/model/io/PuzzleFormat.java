@@ -0,0 +1,105 @@
+package com.example.demosudoku.model.io;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Puzzle file formats supported for import and export.
+ * <ul>
+ *     <li>{@link #LINE}: one puzzle per line, {@code size * size} characters, '.' or '0' for empty cells.</li>
+ *     <li>{@link #GRID}: one row per line, puzzles separated by a blank line; spaces and
+ *     the separators '|', '-' and '+' are ignored.</li>
+ *     <li>{@link #BINARY}: our compact format, a 6-byte header followed by fixed-size
+ *     records with one 4-bit nibble per cell.</li>
+ * </ul>
+ * Lines starting with '#' are comments in both text formats, which hold boards
+ * of up to 9x9 (one digit per cell); the binary format holds up to 15x15.
+ */
+public enum PuzzleFormat {
+
+    LINE,
+    GRID,
+    BINARY;
+
+    /** Size of the direct buffers used for channel I/O. */
+    static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Chooses a format from a file name: {@code .sdkb} is binary, {@code .grid} is the
+     * grid format and anything else is the line format.
+     *
+     * @param path a puzzle file.
+     * @return the format of the file.
+     */
+    public static PuzzleFormat forPath(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".sdkb")) return BINARY;
+        if (name.endsWith(".grid")) return GRID;
+        return LINE;
+    }
+
+    /**
+     * Opens a streaming reader.
+     *
+     * @param path file to read.
+     * @param size number of rows (and columns) of the puzzles.
+     * @return the reader; close it when done.
+     * @throws IOException if the file cannot be opened or its header is invalid.
+     */
+    public PuzzleReader openReader(Path path, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return this == BINARY ? new BinaryPuzzleReader(channel, size) : new TextPuzzleReader(channel, size, this == GRID);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a streaming writer, replacing the file if it exists.
+     *
+     * @param path file to write.
+     * @param size number of rows (and columns) of the puzzles.
+     * @return the writer; close it to flush the last buffer.
+     * @throws IOException if the file cannot be created.
+     */
+    public PuzzleWriter openWriter(Path path, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            return this == BINARY ? new BinaryPuzzleWriter(channel, size) : new TextPuzzleWriter(channel, size, this == GRID);
+        } catch (RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Copies every puzzle from one file and format to another.
+     *
+     * @param source       input file.
+     * @param sourceFormat format of the input.
+     * @param target       output file (replaced).
+     * @param targetFormat format of the output.
+     * @param size         number of rows (and columns) of the puzzles.
+     * @return number of puzzles copied.
+     * @throws IOException if reading or writing fails.
+     */
+    public static long transcode(Path source, PuzzleFormat sourceFormat,
+                                 Path target, PuzzleFormat targetFormat, int size) throws IOException {
+        int[] cells = new int[size * size];
+        long count = 0;
+        try (PuzzleReader reader = sourceFormat.openReader(source, size);
+             PuzzleWriter writer = targetFormat.openWriter(target, size)) {
+            while (reader.next(cells)) {
+                writer.write(cells);
+                count++;
+            }
+        }
+        return count;
+    }
+}
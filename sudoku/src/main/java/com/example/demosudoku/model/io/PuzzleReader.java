@@ -0,0 +1,20 @@
+package com.example.demosudoku.model.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Streams puzzles from a source one at a time into a caller-provided array,
+ * so reading millions of puzzles allocates nothing per puzzle or per cell.
+ */
+public interface PuzzleReader extends Closeable {
+
+    /**
+     * Reads the next puzzle.
+     *
+     * @param cells array of {@code size * size} values filled row-major (0 = empty).
+     * @return true if a puzzle was read, false at end of input.
+     * @throws IOException if the input cannot be read or is malformed.
+     */
+    boolean next(int[] cells) throws IOException;
+}
@@ -0,0 +1,18 @@
+package com.example.demosudoku.model.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Streams puzzles to a destination one at a time.
+ */
+public interface PuzzleWriter extends Closeable {
+
+    /**
+     * Writes one puzzle.
+     *
+     * @param cells row-major values of {@code size * size} cells (0 = empty).
+     * @throws IOException if the output cannot be written.
+     */
+    void write(int[] cells) throws IOException;
+}
@@ -0,0 +1,119 @@
+package com.example.demosudoku.model.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Reader for the {@link PuzzleFormat#LINE} and {@link PuzzleFormat#GRID} formats.
+ * <p>
+ * Bytes are decoded straight from a direct buffer: digits and '.' fill cells in
+ * order, so both text formats share the same loop. In the line format, anything
+ * after the last cell of a line (such as a rating column) is skipped. A line that
+ * ends before its puzzle (line format) or row (grid format) is complete, or any
+ * character that is not a cell or a separator of the format, is an error, so a
+ * corrupt line never merges with the next puzzle.
+ */
+class TextPuzzleReader implements PuzzleReader {
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(PuzzleFormat.BUFFER_SIZE);
+    private final int size;
+    private final boolean grid;
+    private boolean eof;
+    private long line = 1;
+
+    TextPuzzleReader(ReadableByteChannel channel, int size, boolean grid) {
+        if (size > 9) throw new IllegalArgumentException("Text formats support up to 9x9 boards");
+        this.channel = channel;
+        this.size = size;
+        this.grid = grid;
+        buffer.flip();
+    }
+
+    @Override
+    public boolean next(int[] cells) throws IOException {
+        int count = cells.length;
+        int pos = 0;
+        int inLine = 0;
+        boolean lineStart = true;
+        int b;
+        while ((b = read()) >= 0) {
+            if (b == '\r') continue;
+            if (b == '\n') {
+                // Line format: one puzzle per line; grid format: whole rows, no blank line inside a puzzle
+                boolean cut = grid ? inLine != 0 && inLine != size : pos != 0;
+                if (cut || grid && lineStart && pos != 0) throw incomplete(pos, count);
+                line++;
+                lineStart = true;
+                inLine = 0;
+                continue;
+            }
+            if (lineStart && b == '#') {
+                skipLine();
+                continue;
+            }
+            lineStart = false;
+            int value;
+            if (b == '.') {
+                value = 0;
+            } else if (b >= '0' && b <= '9') {
+                value = b - '0';
+                if (value > size) {
+                    throw new IOException("Line " + line + ": digit " + value + " out of range 1.." + size);
+                }
+            } else if (grid && (b == ' ' || b == '\t' || b == '|' || b == '-' || b == '+')) {
+                continue;
+            } else {
+                throw new IOException("Line " + line + ": unexpected character '" + (char) b + "'");
+            }
+            if (grid && inLine == size) {
+                throw new IOException("Line " + line + ": more than " + size + " cells in a row");
+            }
+            inLine++;
+            cells[pos++] = value;
+            if (pos == count) {
+                skipLine();
+                return true;
+            }
+        }
+        if (pos != 0) throw incomplete(pos, count);
+        return false;
+    }
+
+    private IOException incomplete(int pos, int count) {
+        return new IOException("Line " + line + ": incomplete puzzle (" + pos + " of " + count + " cells)");
+    }
+
+    private void skipLine() throws IOException {
+        int b;
+        while ((b = read()) >= 0) {
+            if (b == '\n') {
+                line++;
+                return;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (!buffer.hasRemaining()) {
+            if (eof) return -1;
+            buffer.clear();
+            int n;
+            do {
+                n = channel.read(buffer);
+            } while (n == 0);
+            buffer.flip();
+            if (n < 0) {
+                eof = true;
+                return -1;
+            }
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demosudoku.model.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writer for the {@link PuzzleFormat#LINE} and {@link PuzzleFormat#GRID} formats.
+ * Empty cells are written as '.'.
+ */
+class TextPuzzleWriter implements PuzzleWriter {
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(PuzzleFormat.BUFFER_SIZE);
+    private final int size;
+    private final boolean grid;
+
+    TextPuzzleWriter(WritableByteChannel channel, int size, boolean grid) {
+        // One character per cell: values above 9 have no digit
+        if (size > 9) throw new IllegalArgumentException("Text formats support up to 9x9 boards");
+        this.channel = channel;
+        this.size = size;
+        this.grid = grid;
+    }
+
+    @Override
+    public void write(int[] cells) throws IOException {
+        // Worst case: every cell plus one newline per row and the blank separator line.
+        if (buffer.remaining() < cells.length + size + 1) {
+            flush();
+        }
+        for (int i = 0; i < cells.length; i++) {
+            int v = cells[i];
+            buffer.put(v == 0 ? (byte) '.' : (byte) ('0' + v));
+            if (grid && i % size == size - 1) {
+                buffer.put((byte) '\n');
+            }
+        }
+        buffer.put((byte) '\n');
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
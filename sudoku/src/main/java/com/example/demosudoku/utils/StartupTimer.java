@@ -0,0 +1,60 @@
+package com.example.demosudoku.utils;
+
+import javafx.scene.Scene;
+
+import java.time.Instant;
+
+/**
+ * Measures the time from JVM start to the first frame of a scene.
+ * <p>
+ * The time is only printed when the system property {@value #REPORT_PROPERTY} is
+ * {@code true}, as the startup benchmark sets it, so normal runs stay quiet.
+ * When the system property {@value #EXIT_PROPERTY} is {@code true} the given
+ * action is run after the first frame; the startup benchmark and the CDS
+ * training run use it to close the application automatically.
+ */
+public final class StartupTimer {
+
+    /** System property that makes the application exit after its first frame. */
+    public static final String EXIT_PROPERTY = "sudoku.startup.exitAfterFirstFrame";
+
+    /** System property that prints the time to first frame on standard output. */
+    public static final String REPORT_PROPERTY = "sudoku.startup.report";
+
+    private static final long JVM_START_MILLIS = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElse(System.currentTimeMillis());
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Returns true if the application was asked to exit after its first frame.
+     *
+     * @return the value of {@value #EXIT_PROPERTY}.
+     */
+    public static boolean isExitAfterFirstFrame() {
+        return Boolean.getBoolean(EXIT_PROPERTY);
+    }
+
+    /**
+     * Prints the time to first frame once the scene completes its first pulse,
+     * if {@value #REPORT_PROPERTY} is set.
+     *
+     * @param scene        the scene being shown.
+     * @param afterMeasure action run right after the measurement.
+     */
+    public static void onFirstFrame(Scene scene, Runnable afterMeasure) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                if (Boolean.getBoolean(REPORT_PROPERTY)) {
+                    long elapsed = System.currentTimeMillis() - JVM_START_MILLIS;
+                    System.out.println("time-to-first-frame-ms=" + elapsed);
+                }
+                afterMeasure.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demosudoku.view;
+
+import javafx.scene.image.Image;
+
+/**
+ * Shared application icon.
+ * The image is decoded once, in the background, and reused by every stage.
+ */
+public final class AppIcon {
+
+    private static Image icon;
+
+    private AppIcon() {
+    }
+
+    /**
+     * Returns the application icon, starting its background load on first use.
+     *
+     * @return the favicon image.
+     */
+    public static synchronized Image get() {
+        if (icon == null) {
+            icon = new Image(String.valueOf(
+                    AppIcon.class.getResource("/com/example/demosudoku/favicon.png")
+            ), true);
+        }
+        return icon;
+    }
+}
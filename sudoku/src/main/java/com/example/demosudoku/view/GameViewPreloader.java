@@ -0,0 +1,91 @@
+package com.example.demosudoku.view;
+
+import com.example.demosudoku.controller.SudokuGameController;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads the game view in the background while the welcome screen is displayed.
+ * <p>
+ * Loading the FXML also runs {@link SudokuGameController#initialize}, so the first
+ * puzzle is generated off the JavaFX thread. The nodes are not attached to any
+ * scene until {@link SudokuGameStage} takes them, which keeps this safe.
+ */
+public final class GameViewPreloader {
+
+    /** Result of loading the game view: its root node and controller. */
+    public record LoadedView(Parent root, SudokuGameController controller) { }
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sudoku-preloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static CompletableFuture<LoadedView> pending;
+
+    private GameViewPreloader() {
+    }
+
+    /**
+     * Starts loading the game view if it is not already being loaded.
+     */
+    public static synchronized void start() {
+        if (pending == null) {
+            pending = CompletableFuture.supplyAsync(GameViewPreloader::load, EXECUTOR);
+        }
+    }
+
+    /**
+     * Runs an action once the current preload finishes (successfully or not).
+     *
+     * @param action the action to run on the preloader thread.
+     */
+    public static synchronized void whenLoaded(Runnable action) {
+        start();
+        pending.whenComplete((view, error) -> action.run());
+    }
+
+    /**
+     * Returns the preloaded game view, waiting for it if needed.
+     * The next call starts a fresh load.
+     *
+     * @return the loaded root node and controller.
+     * @throws IOException if the FXML file cannot be loaded.
+     */
+    public static LoadedView take() throws IOException {
+        CompletableFuture<LoadedView> future;
+        synchronized (GameViewPreloader.class) {
+            start();
+            future = pending;
+            pending = null;
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IOException("No se pudo precargar la vista del juego", e.getCause());
+        }
+    }
+
+    private static LoadedView load() {
+        FXMLLoader loader = new FXMLLoader(
+                GameViewPreloader.class.getResource("/com/example/demosudoku/sudoku-game-view.fxml")
+        );
+        try {
+            Parent root = loader.load();
+            return new LoadedView(root, loader.getController());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
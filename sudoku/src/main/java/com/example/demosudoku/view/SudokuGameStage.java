@@ -1,10 +1,8 @@
 package com.example.demosudoku.view;
 
 import com.example.demosudoku.controller.SudokuGameController;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
+import com.example.demosudoku.metrics.SudokuMetrics;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
 import javafx.stage.Stage;
 
 import java.io.IOException;
@@ -19,27 +17,25 @@ public class SudokuGameStage extends Stage {
 
     /**
      * Private constructor to enforce the singleton pattern.
-     * Loads the FXML view, sets up the scene, and configures the stage properties.
+     * Takes the view preloaded by {@link GameViewPreloader}, sets up the scene,
+     * and configures the stage properties.
      *
      * @throws IOException if the FXML file cannot be loaded.
      */
     private SudokuGameStage() throws IOException {
-        FXMLLoader loader = new FXMLLoader(
-                getClass().getResource("/com/example/demosudoku/sudoku-game-view.fxml")
-        );
-        Parent root = loader.load();
-        controller = loader.getController();
+        GameViewPreloader.LoadedView view = GameViewPreloader.take();
+        controller = view.controller();
 
-        Scene scene = new Scene(root);
+        Scene scene = new Scene(view.root());
         setScene(scene);
         setTitle("Sudoku");
         setResizable(false);
 
         // Optional: agrega un icono si está disponible
-        Image icon = new Image(String.valueOf(
-                getClass().getResource("/com/example/demosudoku/favicon.png")
-        ));
-        getIcons().add(icon);
+        getIcons().add(AppIcon.get());
+
+        setOnShown(event -> SudokuMetrics.ACTIVE_SESSIONS.inc());
+        setOnHidden(event -> SudokuMetrics.ACTIVE_SESSIONS.dec());
 
         show();
     }
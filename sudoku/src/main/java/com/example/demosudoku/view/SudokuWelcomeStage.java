@@ -3,7 +3,6 @@ package com.example.demosudoku.view;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
 import javafx.stage.Stage;
 
 import java.io.IOException;
@@ -32,10 +31,7 @@ public class SudokuWelcomeStage extends Stage {
         setResizable(false);
 
         // Carga un ícono (opcional)
-        Image icon = new Image(String.valueOf(
-                getClass().getResource("/com/example/demosudoku/favicon.png")
-        ));
-        getIcons().add(icon);
+        getIcons().add(AppIcon.get());
 
         show();
     }
@@ -2,6 +2,7 @@ module com.example.demosudoku {
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.graphics;
+    requires com.example.metrics;
 
 
     opens com.example.demosudoku to javafx.fxml;
@@ -0,0 +1,50 @@
+package com.example.demosudoku.model.board;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class BoardHashTest {
+
+    private static void assertIncrementalMatchesFull(Geometry geometry) {
+        Board board = new Board(geometry, new Random(7));
+        Random random = new Random(30);
+        int size = geometry.getSize();
+        for (int step = 0; step < 5000; step++) {
+            int row = random.nextInt(size);
+            int col = random.nextInt(size);
+            // Roughly a third of the moves clear a cell
+            int value = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(size);
+            board.setCellValue(row, col, value);
+            assertEquals(Board.hashOf(geometry, board.toCellArray()), board.getHash(), "step " + step);
+            if (step % 1000 == 999) {
+                board.clearBoard();
+                assertEquals(0L, board.getHash());
+            }
+        }
+    }
+
+    @Test
+    void incrementalHashEqualsFullRecompute() {
+        assertIncrementalMatchesFull(Geometry.STANDARD_6X6);
+    }
+
+    @Test
+    void incrementalHashEqualsFullRecomputeOnJigsaw() {
+        assertIncrementalMatchesFull(Geometry.parse("AAABBB/AACBBB/ACCCDD/EECDDD/EECFDF/EEFFFF"));
+    }
+
+    @Test
+    void settingAndClearingACellRestoresTheHash() {
+        Board board = new Board(Geometry.STANDARD_6X6, new Random(1));
+        long before = board.getHash();
+        int old = board.getCellValue(2, 3);
+        board.setCellValue(2, 3, old == 5 ? 6 : 5);
+        assertNotEquals(before, board.getHash());
+        board.setCellValue(2, 3, old);
+        assertEquals(before, board.getHash());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demosudoku.model.board;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClueMinimizerTest {
+
+    private static void assertMinimalUnique(Geometry geometry, long seed) {
+        int[] solution = SudokuSolver.randomSolution(geometry, new Random(seed));
+        ClueMinimizer.Result result = new ClueMinimizer(geometry, 2).minimize(solution, 200, seed);
+        int[] puzzle = result.puzzle();
+
+        int clues = 0;
+        for (int i = 0; i < puzzle.length; i++) {
+            if (puzzle[i] == 0) continue;
+            clues++;
+            assertEquals(solution[i], puzzle[i], "clue " + i + " differs from the solution");
+        }
+        assertEquals(result.clues(), clues);
+        assertTrue(result.ordersTried() > 0);
+        assertTrue(SudokuSolver.hasUniqueSolution(geometry, puzzle));
+
+        // Every remaining clue is needed: removing any one allows a second solution
+        for (int i = 0; i < puzzle.length; i++) {
+            if (puzzle[i] == 0) continue;
+            int[] fewer = puzzle.clone();
+            fewer[i] = 0;
+            assertEquals(2, SudokuSolver.countSolutions(geometry, fewer, 2), "clue " + i + " is not needed");
+        }
+    }
+
+    @Test
+    void minimizedPuzzleIsUniqueAndMinimal() {
+        for (long seed = 1; seed <= 3; seed++) {
+            assertMinimalUnique(Geometry.STANDARD_6X6, seed);
+        }
+    }
+
+    @Test
+    void minimizedJigsawPuzzleIsUniqueAndMinimal() {
+        assertMinimalUnique(Geometry.parse("AAABBB/AACBBB/ACCCDD/EECDDD/EECFDF/EEFFFF"), 4);
+    }
+}
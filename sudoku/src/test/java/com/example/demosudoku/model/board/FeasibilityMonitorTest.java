@@ -0,0 +1,37 @@
+package com.example.demosudoku.model.board;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FeasibilityMonitorTest {
+
+    private static int[] board(String rows) {
+        int[] cells = new int[36];
+        String digits = rows.replace("/", "");
+        for (int i = 0; i < cells.length; i++) {
+            char c = digits.charAt(i);
+            cells[i] = c == '.' ? 0 : c - '0';
+        }
+        return cells;
+    }
+
+    @Test
+    void emptyCellIsReportedEvenAfterAnEarlierNakedSingle() {
+        // Cell 0 is a naked single (1); cell 11 has no candidate in the board as given
+        int[] cells = board(".23456/...12./.....3/....../....../......");
+        assertEquals(Feasibility.NO_CANDIDATES, FeasibilityMonitor.checkNow(Geometry.STANDARD_6X6, cells, 100));
+    }
+
+    @Test
+    void cellEmptiedByPropagationIsUnsolvable() {
+        // Cell 0 must be 1, which leaves cell 6 (whose only candidate is 1) empty
+        int[] cells = board(".23456/.4523./6...../....../....../......");
+        assertEquals(Feasibility.UNSOLVABLE, FeasibilityMonitor.checkNow(Geometry.STANDARD_6X6, cells, 100));
+    }
+
+    @Test
+    void emptyBoardIsSolvable() {
+        assertEquals(Feasibility.SOLVABLE, FeasibilityMonitor.checkNow(Geometry.STANDARD_6X6, new int[36], 1000));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demosudoku.model.board;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HintPrecomputerTest {
+
+    private static Solution solution(long seed) {
+        Board board = new Board(Geometry.STANDARD_6X6, new Random(seed));
+        board.fillSolution();
+        return Solution.of(board);
+    }
+
+    private static BoardSnapshot givens(Solution solution) {
+        BoardSnapshot snapshot = BoardSnapshot.empty(Geometry.STANDARD_6X6);
+        for (int i = 0; i < 36; i += 5) {
+            snapshot = snapshot.with(i / 6, i % 6, solution.get(i / 6, i % 6));
+        }
+        return snapshot;
+    }
+
+    @Test
+    void staleHintIsComputedOnTheCallerAndCached() {
+        HintPrecomputer precomputer = new HintPrecomputer(new TranspositionCache<>(64));
+        Solution solution = solution(1);
+        BoardSnapshot snapshot = givens(solution);
+
+        // Nothing submitted for this position: the fallback computes the same hint as the engine
+        assertNull(precomputer.getIfReady(snapshot, solution));
+        Hint hint = precomputer.compute(snapshot, solution);
+        assertEquals(HintEngine.find(snapshot, solution), hint);
+        assertEquals(solution.get(hint.row(), hint.col()), hint.value());
+        assertEquals(hint, precomputer.getIfReady(snapshot, solution));
+    }
+
+    @Test
+    void submittedHintBecomesReady() throws InterruptedException {
+        HintPrecomputer precomputer = new HintPrecomputer(new TranspositionCache<>(64));
+        Solution solution = solution(2);
+        BoardSnapshot snapshot = givens(solution);
+        precomputer.submit(snapshot, solution);
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        Hint hint;
+        while ((hint = precomputer.getIfReady(snapshot, solution)) == null && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertNotNull(hint);
+        assertEquals(HintEngine.find(snapshot, solution), hint);
+    }
+
+    @Test
+    void backgroundWorkDoesNotCountAsLookups() throws InterruptedException {
+        TranspositionCache<Hint> cache = new TranspositionCache<>(64);
+        HintPrecomputer precomputer = new HintPrecomputer(cache);
+        Solution solution = solution(4);
+        BoardSnapshot snapshot = givens(solution);
+        long key = snapshot.getHash() ^ solution.fingerprint();
+        precomputer.submit(snapshot, solution);
+
+        // The worker probes the cache before it computes, so the probe is done once the hint is in
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!cache.containsKey(key) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(cache.containsKey(key));
+        assertEquals(0, cache.getHits() + cache.getMisses());
+
+        assertNotNull(precomputer.getIfReady(snapshot, solution));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void fullBoardHasNoHint() {
+        HintPrecomputer precomputer = new HintPrecomputer(new TranspositionCache<>(64));
+        Solution solution = solution(3);
+        BoardSnapshot snapshot = BoardSnapshot.empty(Geometry.STANDARD_6X6);
+        for (int i = 0; i < 36; i++) {
+            snapshot = snapshot.with(i / 6, i % 6, solution.get(i / 6, i % 6));
+        }
+        assertNull(precomputer.compute(snapshot, solution));
+        assertNull(precomputer.getIfReady(snapshot, solution));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demosudoku.model.board;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TranspositionCacheTest {
+
+    /** 8 entries per segment; keys below 2^32 with the same low 4 bits share one segment and one probe run. */
+    private static final int CAPACITY = 128;
+    private static final int PER_SEGMENT = 8;
+
+    private static long colliding(int i) {
+        return (long) (i + 1) << 4;
+    }
+
+    @Test
+    void clockEvictsTheFirstUnreferencedEntry() {
+        TranspositionCache<Integer> cache = new TranspositionCache<>(CAPACITY);
+        for (int i = 0; i < PER_SEGMENT; i++) cache.put(colliding(i), i);
+        assertEquals(0, cache.getEvictions());
+
+        assertEquals(0, cache.get(colliding(0)));
+        cache.put(colliding(PER_SEGMENT), PER_SEGMENT);
+
+        // The hand skips the referenced entry 0 and takes entry 1
+        assertEquals(1, cache.getEvictions());
+        assertEquals(0, cache.get(colliding(0)));
+        assertNull(cache.get(colliding(1)));
+        assertEquals(PER_SEGMENT, cache.get(colliding(PER_SEGMENT)));
+    }
+
+    @Test
+    void lookupsSucceedAfterDeletionsInsideAProbeRun() {
+        TranspositionCache<Integer> cache = new TranspositionCache<>(CAPACITY);
+        Random random = new Random(30);
+        int inserted = 0;
+        for (int round = 0; round < 2000; round++) {
+            cache.put(colliding(inserted), inserted);
+            inserted++;
+            // Mark a few entries so eviction does not simply follow insertion order
+            if (random.nextInt(3) == 0) cache.get(colliding(random.nextInt(inserted)));
+
+            int found = 0;
+            for (int i = 0; i < inserted; i++) {
+                Integer value = cache.get(colliding(i));
+                if (value != null) {
+                    assertEquals(i, value);
+                    found++;
+                }
+            }
+            assertEquals(inserted - 1, cache.get(colliding(inserted - 1)));
+            assertEquals(Math.min(inserted, PER_SEGMENT), found);
+            assertEquals(found, cache.size());
+        }
+        assertEquals(inserted - PER_SEGMENT, cache.getEvictions());
+    }
+
+    @Test
+    void updatingAKeyKeepsOneEntry() {
+        TranspositionCache<String> cache = new TranspositionCache<>(CAPACITY);
+        cache.put(42L, "a");
+        cache.put(42L, "b");
+        assertEquals("b", cache.get(42L));
+        assertEquals(1, cache.size());
+        assertNull(cache.get(43L));
+        assertTrue(cache.getHitRate() > 0.49 && cache.getHitRate() < 0.51);
+    }
+}
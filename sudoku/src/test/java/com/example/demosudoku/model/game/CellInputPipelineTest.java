@@ -0,0 +1,94 @@
+package com.example.demosudoku.model.game;
+
+import com.example.demosudoku.model.board.Board;
+import com.example.demosudoku.model.board.Geometry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CellInputPipelineTest {
+
+    /** Game with an empty board and no view; counts the flushes that reach it. */
+    private static final class BareGame extends GameAbstract {
+        int changes;
+
+        BareGame() {
+            super(null);
+            board = new Board(Geometry.STANDARD_6X6, new Random(36));
+            board.clearBoard();
+        }
+
+        @Override
+        public void startGame() {
+        }
+
+        @Override
+        protected void onBoardChanged() {
+            changes++;
+        }
+    }
+
+    private final BareGame game = new BareGame();
+
+    /** Flushes scheduled for the next pulse, run by {@link #pulse()}. */
+    private final Queue<Runnable> scheduled = new ArrayDeque<>();
+
+    private final CellInputPipeline pipeline = new CellInputPipeline(game, scheduled::add);
+
+    private void pulse() {
+        while (!scheduled.isEmpty()) scheduled.remove().run();
+    }
+
+    @Test
+    void typeThenClearInOnePulseQueuesTheDeletion() {
+        // Cell 0 is empty in the model: clearing it must still replace the pending 3
+        pipeline.edited(0, 3);
+        pipeline.edited(0, 0);
+        assertEquals(0, pipeline.pendingValue(0));
+        assertEquals(1, scheduled.size());
+
+        pulse();
+        assertEquals(-1, pipeline.pendingValue(0));
+        assertEquals(0, game.getBoard().getCellValue(0, 0));
+        assertEquals(1, game.changes);
+    }
+
+    @Test
+    void typingBackTheModelValueReplacesThePendingEdit() {
+        game.getBoard().setCellValue(2, 3, 4);
+        int index = 2 * 6 + 3;
+        pipeline.edited(index, 5);
+        pipeline.edited(index, 4);
+        assertEquals(4, pipeline.pendingValue(index));
+    }
+
+    @Test
+    void textMatchingTheModelQueuesNothing() {
+        game.getBoard().setCellValue(5, 5, 2);
+        // As written by the view adapter after a hint or a redraw
+        pipeline.edited(35, 2);
+        pipeline.edited(0, 0);
+        assertEquals(-1, pipeline.pendingValue(35));
+        assertEquals(-1, pipeline.pendingValue(0));
+        assertEquals(0, scheduled.size());
+    }
+
+    @Test
+    void burstOfEditsIsFlushedOnce() {
+        pipeline.edited(0, 1);
+        pipeline.edited(35, 2);
+        pipeline.edited(0, 6);
+        assertEquals(1, scheduled.size());
+        assertEquals(6, pipeline.pendingValue(0));
+        assertEquals(2, pipeline.pendingValue(35));
+
+        pulse();
+        assertEquals(1, game.changes);
+        assertEquals(-1, pipeline.pendingValue(0));
+        assertEquals(-1, pipeline.pendingValue(35));
+    }
+}
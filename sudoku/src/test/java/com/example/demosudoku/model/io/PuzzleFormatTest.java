@@ -0,0 +1,218 @@
+package com.example.demosudoku.model.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleFormatTest {
+
+    @TempDir
+    Path dir;
+
+    private static List<int[]> randomPuzzles(int size, int count, long seed) {
+        Random random = new Random(seed);
+        List<int[]> puzzles = new ArrayList<>();
+        for (int n = 0; n < count; n++) {
+            int[] cells = new int[size * size];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(size);
+            }
+            puzzles.add(cells);
+        }
+        return puzzles;
+    }
+
+    private void assertRoundTrip(PuzzleFormat format, int size, int count) throws IOException {
+        List<int[]> puzzles = randomPuzzles(size, count, size * 31L + format.ordinal());
+        Path file = dir.resolve(format + "-" + size);
+        try (PuzzleWriter writer = format.openWriter(file, size)) {
+            for (int[] puzzle : puzzles) writer.write(puzzle);
+        }
+        int[] cells = new int[size * size];
+        try (PuzzleReader reader = format.openReader(file, size)) {
+            for (int[] puzzle : puzzles) {
+                assertTrue(reader.next(cells));
+                assertArrayEquals(puzzle, cells);
+            }
+            assertFalse(reader.next(cells));
+        }
+    }
+
+    private List<int[]> readAll(PuzzleFormat format, String text, int size) throws IOException {
+        Path file = dir.resolve("input");
+        Files.writeString(file, text, StandardCharsets.US_ASCII);
+        List<int[]> puzzles = new ArrayList<>();
+        try (PuzzleReader reader = format.openReader(file, size)) {
+            int[] cells = new int[size * size];
+            while (reader.next(cells)) puzzles.add(cells.clone());
+        }
+        return puzzles;
+    }
+
+    @Test
+    void lineRoundTrip() throws IOException {
+        assertRoundTrip(PuzzleFormat.LINE, 6, 500);
+        assertRoundTrip(PuzzleFormat.LINE, 9, 50);
+    }
+
+    @Test
+    void gridRoundTrip() throws IOException {
+        assertRoundTrip(PuzzleFormat.GRID, 6, 500);
+        assertRoundTrip(PuzzleFormat.GRID, 9, 50);
+    }
+
+    @Test
+    void binaryRoundTrip() throws IOException {
+        assertRoundTrip(PuzzleFormat.BINARY, 6, 500);
+        // Odd cell count: the last nibble of each record is padding
+        assertRoundTrip(PuzzleFormat.BINARY, 5, 50);
+        assertRoundTrip(PuzzleFormat.BINARY, 15, 20);
+    }
+
+    @Test
+    void manyPuzzlesCrossBufferBoundaries() throws IOException {
+        // More than one 1 MiB buffer of text
+        assertRoundTrip(PuzzleFormat.LINE, 6, 40_000);
+    }
+
+    @Test
+    void transcodeKeepsEveryPuzzle() throws IOException {
+        List<int[]> puzzles = randomPuzzles(6, 100, 7);
+        Path line = dir.resolve("a.txt");
+        try (PuzzleWriter writer = PuzzleFormat.LINE.openWriter(line, 6)) {
+            for (int[] puzzle : puzzles) writer.write(puzzle);
+        }
+        Path binary = dir.resolve("b.sdkb");
+        Path grid = dir.resolve("c.grid");
+        assertEquals(100, PuzzleFormat.transcode(line, PuzzleFormat.LINE, binary, PuzzleFormat.BINARY, 6));
+        assertEquals(100, PuzzleFormat.transcode(binary, PuzzleFormat.BINARY, grid, PuzzleFormat.GRID, 6));
+        try (PuzzleReader reader = PuzzleFormat.GRID.openReader(grid, 6)) {
+            int[] cells = new int[36];
+            for (int[] puzzle : puzzles) {
+                assertTrue(reader.next(cells));
+                assertArrayEquals(puzzle, cells);
+            }
+        }
+    }
+
+    @Test
+    void formatFollowsFileName() {
+        assertEquals(PuzzleFormat.BINARY, PuzzleFormat.forPath(Path.of("hard.SDKB")));
+        assertEquals(PuzzleFormat.GRID, PuzzleFormat.forPath(Path.of("dir", "set.grid")));
+        assertEquals(PuzzleFormat.LINE, PuzzleFormat.forPath(Path.of("puzzles.txt")));
+    }
+
+    @Test
+    void lineFormatSkipsCommentsAndTrailingColumns() throws IOException {
+        List<int[]> puzzles = readAll(PuzzleFormat.LINE,
+                "# rated set\r\n" + "1".repeat(36) + " 3.5\r\n\n" + ".".repeat(36) + "\n", 6);
+        assertEquals(2, puzzles.size());
+        assertEquals(1, puzzles.get(0)[35]);
+        assertEquals(0, puzzles.get(1)[0]);
+    }
+
+    @Test
+    void shortLineDoesNotMergeWithTheNextPuzzle() {
+        String text = "1".repeat(30) + "\n" + "2".repeat(36) + "\n";
+        IOException e = assertThrows(IOException.class, () -> readAll(PuzzleFormat.LINE, text, 6));
+        assertTrue(e.getMessage().startsWith("Line 1:"), e.getMessage());
+    }
+
+    @Test
+    void unexpectedCharacterIsAnError() {
+        String text = "1".repeat(10) + "x" + "1".repeat(25) + "\n";
+        assertThrows(IOException.class, () -> readAll(PuzzleFormat.LINE, text, 6));
+    }
+
+    @Test
+    void digitAboveTheSizeIsAnError() {
+        assertThrows(IOException.class, () -> readAll(PuzzleFormat.LINE, "7" + ".".repeat(35) + "\n", 6));
+    }
+
+    @Test
+    void gridFormatAcceptsSeparators() throws IOException {
+        String text = "12 3|45 6\n"
+                + ".. .|...\n"
+                + "------+------\n"
+                + "123|456\n123|456\n123|456\n123|456\n\n";
+        List<int[]> puzzles = readAll(PuzzleFormat.GRID, text, 6);
+        assertEquals(1, puzzles.size());
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6}, Arrays.copyOf(puzzles.get(0), 6));
+    }
+
+    @Test
+    void shortGridRowIsAnError() {
+        String text = "123456\n12345\n123456\n123456\n123456\n123456\n123456\n";
+        assertThrows(IOException.class, () -> readAll(PuzzleFormat.GRID, text, 6));
+    }
+
+    @Test
+    void blankLineInsideAGridPuzzleIsAnError() {
+        String text = "123456\n123456\n\n123456\n123456\n123456\n123456\n";
+        assertThrows(IOException.class, () -> readAll(PuzzleFormat.GRID, text, 6));
+    }
+
+    @Test
+    void truncatedInputIsAnError() {
+        assertThrows(IOException.class, () -> readAll(PuzzleFormat.LINE, "1".repeat(20), 6));
+    }
+
+    @Test
+    void textFormatsRejectBoardsAboveNine() {
+        Path file = dir.resolve("big.txt");
+        assertThrows(IllegalArgumentException.class, () -> PuzzleFormat.LINE.openWriter(file, 10));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleFormat.GRID.openWriter(file, 12));
+    }
+
+    @Test
+    void binaryHeaderIsChecked() throws IOException {
+        Path file = dir.resolve("six.sdkb");
+        try (PuzzleWriter writer = PuzzleFormat.BINARY.openWriter(file, 6)) {
+            writer.write(new int[36]);
+        }
+        assertThrows(IOException.class, () -> PuzzleFormat.BINARY.openReader(file, 9));
+        Path text = dir.resolve("text.sdkb");
+        Files.writeString(text, "123456\n");
+        assertThrows(IOException.class, () -> PuzzleFormat.BINARY.openReader(text, 6));
+    }
+
+    @Test
+    void binaryValueAboveTheSizeIsAnError() throws IOException {
+        Path file = dir.resolve("corrupt.sdkb");
+        try (PuzzleWriter writer = PuzzleFormat.BINARY.openWriter(file, 6)) {
+            writer.write(new int[36]);
+            writer.write(new int[36]);
+        }
+        // Second record, low nibble of its third byte: cell 5 holds 7 on a 6x6 board
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[6 + BinaryPuzzleReader.recordSize(6) + 2] = 0x07;
+        Files.write(file, bytes);
+
+        int[] cells = new int[36];
+        try (PuzzleReader reader = PuzzleFormat.BINARY.openReader(file, 6)) {
+            assertTrue(reader.next(cells));
+            IOException e = assertThrows(IOException.class, () -> reader.next(cells));
+            assertTrue(e.getMessage().contains("Cell 5"), e.getMessage());
+        }
+
+        int[] puzzle = new int[36];
+        puzzle[35] = 7;
+        try (PuzzleWriter writer = PuzzleFormat.BINARY.openWriter(dir.resolve("out.sdkb"), 6)) {
+            assertThrows(IllegalArgumentException.class, () -> writer.write(puzzle));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.demosudoku.replay;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * One user action replayed against the game view.
+ * <p>
+ * Scripts are plain text, one action per line:
+ * <pre>
+ * type 2 3 5     # types digit 5 into row 2, column 3
+ * clear 2 3      # deletes the digit of row 2, column 3
+ * hint
+ * check
+ * reset
+ * </pre>
+ * Blank lines and text after '#' are ignored.
+ *
+ * @param type  kind of action.
+ * @param row   row of the cell (TYPE and CLEAR only).
+ * @param col   column of the cell (TYPE and CLEAR only).
+ * @param value digit typed (TYPE only).
+ */
+public record ReplayAction(Type type, int row, int col, int value) {
+
+    /** Kind of replayed action, with its weight in generated scripts. */
+    public enum Type {
+        TYPE(70), CLEAR(15), HINT(10), CHECK(3), RESET(2);
+
+        private final int weight;
+
+        Type(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final int TOTAL_WEIGHT = totalWeight();
+
+    /**
+     * Generates a random script. The same seed always gives the same script.
+     *
+     * @param seed  seed of the generator.
+     * @param count number of actions.
+     * @param size  board size (rows, columns and largest digit).
+     * @return the generated actions.
+     */
+    public static List<ReplayAction> generate(long seed, int count, int size) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<ReplayAction> actions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int pick = random.nextInt(TOTAL_WEIGHT);
+            Type type = Type.TYPE;
+            for (Type candidate : Type.values()) {
+                if (pick < candidate.weight) {
+                    type = candidate;
+                    break;
+                }
+                pick -= candidate.weight;
+            }
+            int row = random.nextInt(size);
+            int col = random.nextInt(size);
+            int value = random.nextInt(size) + 1;
+            actions.add(switch (type) {
+                case TYPE -> new ReplayAction(type, row, col, value);
+                case CLEAR -> new ReplayAction(type, row, col, 0);
+                default -> new ReplayAction(type, 0, 0, 0);
+            });
+        }
+        return actions;
+    }
+
+    /**
+     * Reads a recorded script.
+     *
+     * @param path the script file.
+     * @return the actions, in file order.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if a line is not a valid action.
+     */
+    public static List<ReplayAction> read(Path path) throws IOException {
+        List<ReplayAction> actions = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                int comment = line.indexOf('#');
+                if (comment >= 0) line = line.substring(0, comment);
+                line = line.strip();
+                if (line.isEmpty()) continue;
+                try {
+                    actions.add(parse(line));
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException(path + ":" + lineNumber + ": invalid action '" + line + "'", e);
+                }
+            }
+        }
+        return actions;
+    }
+
+    /**
+     * Writes a script that {@link #read(Path)} reads back unchanged.
+     *
+     * @param path    the script file.
+     * @param actions the actions to record.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path path, List<ReplayAction> actions) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (ReplayAction action : actions) {
+                writer.write(action.toString());
+                writer.newLine();
+            }
+        }
+    }
+
+    private static ReplayAction parse(String line) {
+        String[] parts = line.split("\\s+");
+        Type type = Type.valueOf(parts[0].toUpperCase());
+        return switch (type) {
+            case TYPE -> new ReplayAction(type, Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                    Integer.parseInt(parts[3]));
+            case CLEAR -> new ReplayAction(type, Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), 0);
+            default -> new ReplayAction(type, 0, 0, 0);
+        };
+    }
+
+    private static int totalWeight() {
+        int total = 0;
+        for (Type type : Type.values()) total += type.weight;
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        String name = type.name().toLowerCase();
+        return switch (type) {
+            case TYPE -> name + " " + row + " " + col + " " + value;
+            case CLEAR -> name + " " + row + " " + col;
+            default -> name;
+        };
+    }
+}
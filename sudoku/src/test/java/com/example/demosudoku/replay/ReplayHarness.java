@@ -0,0 +1,292 @@
+package com.example.demosudoku.replay;
+
+import com.example.demosudoku.controller.SudokuGameController;
+import com.example.demosudoku.model.game.Game;
+import com.example.demosudoku.model.user.User;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.GridPane;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a sequence of user actions against the real game view without a display.
+ * <p>
+ * The harness starts JavaFX on the headless Monocle platform, loads
+ * {@code sudoku-game-view.fxml} with its {@link SudokuGameController} and feeds the
+ * actions through the same paths as a user: key events on the cells and button
+ * presses for hint, check and reset. Dialogs opened by the controller are closed
+ * automatically.
+ * <p>
+ * For each action it measures the time from the event to the end of the deferred
+ * view updates it triggers, and the bytes allocated on the JavaFX thread in that
+ * span. The board seed ({@value Game#SEED_PROPERTY}) and the script seed are fixed,
+ * so two runs of the same build replay the same games and end on the same board,
+ * which is printed to compare builds.
+ * <p>
+ * Usage (see the {@code replay} profile in pom.xml):
+ * <pre>
+ * mvn -Preplay test-compile exec:exec -Dreplay.args="--seed 42 --actions 2000"
+ * </pre>
+ * Options: {@code --seed N}, {@code --actions N}, {@code --warmup N},
+ * {@code --script FILE} (replay a recorded script instead of generating one) and
+ * {@code --record FILE} (save the replayed script).
+ */
+public final class ReplayHarness {
+
+    /** Posts after an action before it counts as finished (input flush, view batch, dialogs). */
+    private static final int SETTLE_HOPS = 3;
+
+    private static final long ACTION_TIMEOUT_SECONDS = 30;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Stage stage;
+    private GridPane grid;
+    private Button btnHint;
+    private Button btnCheck;
+    private Button btnReset;
+
+    /** Latency and FX-thread allocation of one action. */
+    private record Sample(long nanos, long bytes) { }
+
+    private ReplayHarness() {
+    }
+
+    /**
+     * Runs the harness.
+     *
+     * @param args command line options, see the class description.
+     * @throws Exception if the toolkit cannot start or an action fails.
+     */
+    public static void main(String[] args) throws Exception {
+        long seed = 42;
+        int count = 1000;
+        int warmup = 200;
+        Path script = null;
+        Path record = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--actions" -> count = Integer.parseInt(args[++i]);
+                case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+                case "--script" -> script = Path.of(args[++i]);
+                case "--record" -> record = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        setIfAbsent("glass.platform", "Monocle");
+        setIfAbsent("monocle.platform", "Headless");
+        setIfAbsent("prism.order", "sw");
+        setIfAbsent(Game.SEED_PROPERTY, Long.toString(seed));
+
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        Platform.startup(() -> started.complete(null));
+        started.get(ACTION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Platform.setImplicitExit(false);
+
+        ReplayHarness harness = new ReplayHarness();
+        try {
+            onFxThread(() -> {
+                harness.show();
+                return null;
+            });
+            int size = harness.boardSize();
+
+            List<ReplayAction> actions = script != null
+                    ? ReplayAction.read(script)
+                    : ReplayAction.generate(seed, count, size);
+            if (record != null) {
+                ReplayAction.write(record, actions);
+            }
+
+            // Warm up on a separate script, then start the measured run on a fresh board
+            for (ReplayAction action : ReplayAction.generate(seed + 1, warmup, size)) {
+                harness.run(action);
+            }
+            harness.run(new ReplayAction(ReplayAction.Type.RESET, 0, 0, 0));
+
+            Map<ReplayAction.Type, List<Sample>> samples = new EnumMap<>(ReplayAction.Type.class);
+            long start = System.nanoTime();
+            for (ReplayAction action : actions) {
+                samples.computeIfAbsent(action.type(), type -> new ArrayList<>()).add(harness.run(action));
+            }
+            long wallNanos = System.nanoTime() - start;
+
+            String board = onFxThread(harness::boardText);
+            report(seed, actions.size(), wallNanos, samples, board);
+        } finally {
+            Platform.exit();
+        }
+    }
+
+    /** Loads the game view into a stage, as {@code SudokuGameStage} does. */
+    private void show() throws Exception {
+        FXMLLoader loader = new FXMLLoader(SudokuGameController.class.getResource(
+                "/com/example/demosudoku/sudoku-game-view.fxml"));
+        Parent root = loader.load();
+        SudokuGameController controller = loader.getController();
+        controller.setUser(new User("replay"));
+
+        grid = (GridPane) root.lookup("#boardGridPane");
+        btnHint = (Button) root.lookup("#btnHint");
+        btnCheck = (Button) root.lookup("#btnCheck");
+        btnReset = (Button) root.lookup("#btnReset");
+
+        stage = new Stage();
+        stage.setScene(new Scene(root));
+        stage.show();
+    }
+
+    /**
+     * Performs one action on the FX thread and waits until its effects are settled.
+     */
+    private Sample run(ReplayAction action) throws Exception {
+        CompletableFuture<Sample> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            long bytes = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            try {
+                perform(action);
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+                return;
+            }
+            settle(SETTLE_HOPS, () -> done.complete(new Sample(
+                    System.nanoTime() - start, THREADS.getCurrentThreadAllocatedBytes() - bytes)));
+        });
+        return done.get(ACTION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void perform(ReplayAction action) {
+        switch (action.type()) {
+            case TYPE -> {
+                TextField cell = cell(action.row(), action.col());
+                String digit = String.valueOf(action.value());
+                cell.fireEvent(new KeyEvent(KeyEvent.KEY_TYPED, digit, digit, KeyCode.UNDEFINED,
+                        false, false, false, false));
+            }
+            case CLEAR -> {
+                TextField cell = cell(action.row(), action.col());
+                cell.selectAll();
+                cell.fireEvent(new KeyEvent(KeyEvent.KEY_PRESSED, KeyEvent.CHAR_UNDEFINED, "", KeyCode.BACK_SPACE,
+                        false, false, false, false));
+            }
+            case HINT -> btnHint.fire();
+            case CHECK -> btnCheck.fire();
+            case RESET -> btnReset.fire();
+        }
+    }
+
+    /**
+     * Lets the work queued by an action run (pending input, view batches, alerts)
+     * before calling {@code then}. Dialogs are closed on the way.
+     */
+    private void settle(int hops, Runnable then) {
+        Platform.runLater(() -> {
+            closeDialogs();
+            if (hops <= 1) {
+                then.run();
+            } else {
+                settle(hops - 1, then);
+            }
+        });
+    }
+
+    private void closeDialogs() {
+        for (Window window : new ArrayList<>(Window.getWindows())) {
+            if (window != stage) {
+                window.hide();
+            }
+        }
+    }
+
+    private TextField cell(int row, int col) {
+        int size = boardSizeOnFxThread();
+        return (TextField) grid.getChildren().get(row * size + col);
+    }
+
+    private int boardSize() throws Exception {
+        return onFxThread(this::boardSizeOnFxThread);
+    }
+
+    private int boardSizeOnFxThread() {
+        return (int) Math.round(Math.sqrt(grid.getChildren().size()));
+    }
+
+    /** Row-major cell texts, '.' for an empty cell. */
+    private String boardText() {
+        StringBuilder text = new StringBuilder();
+        for (Node node : grid.getChildren()) {
+            String value = ((TextField) node).getText();
+            text.append(value == null || value.isEmpty() ? "." : value);
+        }
+        return text.toString();
+    }
+
+    private static void report(long seed, int actions, long wallNanos,
+                               Map<ReplayAction.Type, List<Sample>> samples, String board) {
+        System.out.printf("replay seed=%d actions=%d wall-ms=%d%n", seed, actions, wallNanos / 1_000_000);
+        System.out.printf("%-6s %7s %10s %10s %10s %10s %12s%n",
+                "action", "count", "p50-us", "p90-us", "p99-us", "max-us", "alloc-B/op");
+        for (Map.Entry<ReplayAction.Type, List<Sample>> entry : samples.entrySet()) {
+            List<Sample> list = entry.getValue();
+            long[] nanos = new long[list.size()];
+            long bytes = 0;
+            for (int i = 0; i < nanos.length; i++) {
+                nanos[i] = list.get(i).nanos();
+                bytes += list.get(i).bytes();
+            }
+            Arrays.sort(nanos);
+            System.out.printf("%-6s %7d %10.1f %10.1f %10.1f %10.1f %12d%n",
+                    entry.getKey().name().toLowerCase(), nanos.length,
+                    percentile(nanos, 0.50) / 1e3, percentile(nanos, 0.90) / 1e3,
+                    percentile(nanos, 0.99) / 1e3, nanos[nanos.length - 1] / 1e3,
+                    bytes / nanos.length);
+        }
+        System.out.println("final-board=" + board);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    private static <T> T onFxThread(Callable<T> task) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result.get(ACTION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+}
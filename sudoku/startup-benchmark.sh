@@ -0,0 +1,30 @@
+#!/bin/sh
+# Startup benchmark: launches the jlink image several times and reports the
+# time from JVM start to the first frame of the welcome screen.
+#
+# Usage: ./startup-benchmark.sh [runs] [extra JVM options...]
+#   mvn -Pcds clean package && ./startup-benchmark.sh 10
+#   ./startup-benchmark.sh 10 -Xshare:off      (baseline without CDS)
+
+RUNS=${1:-10}
+[ $# -gt 0 ] && shift
+JAVA="$(dirname "$0")/target/app/bin/java"
+
+if [ ! -x "$JAVA" ]; then
+    echo "No se encontró $JAVA. Ejecuta primero: mvn -Pcds clean package" >&2
+    exit 1
+fi
+
+i=0
+while [ "$i" -lt "$RUNS" ]; do
+    "$JAVA" "$@" -Dsudoku.startup.exitAfterFirstFrame=true -Dsudoku.startup.report=true \
+        -m com.example.demosudoku/com.example.demosudoku.Main \
+        | sed -n 's/^time-to-first-frame-ms=//p'
+    i=$((i + 1))
+done | sort -n | awk '
+    { v[NR] = $1; sum += $1 }
+    END {
+        if (NR == 0) { print "sin mediciones"; exit 1 }
+        printf "runs=%d min=%dms median=%dms mean=%.1fms max=%dms\n",
+               NR, v[1], v[int((NR + 1) / 2)], sum / NR, v[NR]
+    }'